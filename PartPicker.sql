@@ -139,6 +139,22 @@ create table Recensioni (
     constraint chk_rating check (RatingRecensione between 1 and 10)
 );
 
+create table StatisticheAutori (
+	Username varchar(255) not null,
+	NumeroBuild int not null default 0,
+	NumeroRecensioni int not null default 0,
+	SommaRating int not null default 0,
+	constraint primary key (Username)
+);
+
+create table DistribuzioneRecensioni (
+	CodiceBuild int not null,
+	RatingRecensione int not null,
+	NumeroRecensioni int not null default 0,
+	constraint primary key (CodiceBuild, RatingRecensione),
+    constraint chk_rating_distribuzione check (RatingRecensione between 1 and 10)
+);
+
 create table `Socket` (
 	NomeSocket varchar(255) not null,
 	constraint primary key (NomeSocket)
@@ -232,6 +248,9 @@ alter table Pubblicazioni
 	add constraint foreign key (Username) references Utenti (Username),
 	add constraint foreign key (CodiceBuild) references Build (CodiceBuild);
 
+alter table DistribuzioneRecensioni
+	add constraint foreign key (CodiceBuild) references Build (CodiceBuild);
+
 alter table Ram
 	add constraint foreign key (CodiceRam) references Componenti (CodiceComponente),
 	add constraint foreign key (NomeGenerazioneRam) references GenerazioniRam (NomeGenerazioneRam);
@@ -240,6 +259,9 @@ alter table Recensioni
 	add constraint foreign key (Username) references Utenti (Username),
 	add constraint foreign key (CodiceBuild) references Build (CodiceBuild);
 
+alter table StatisticheAutori
+	add constraint foreign key (Username) references Utenti (Username);
+
 alter table `Storage`
 	add constraint foreign key (CodiceStorage) references Componenti (CodiceComponente);
 
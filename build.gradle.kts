@@ -12,6 +12,9 @@ plugins {
      * The runnable jar will be found in build/libs/projectname-all.jar
      */
     id("com.github.johnrengelman.shadow") version "8.1.1"
+
+    // Microbenchmarks in src/jmh/java, run them with the "jmh" task
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories { // Where to search for dependencies
@@ -21,6 +24,8 @@ repositories { // Where to search for dependencies
 dependencies {
     implementation("mysql:mysql-connector-java:8.0.29")
     implementation("org.jfree:jfreechart:1.5.5")
+    // In-process database for -Dpartpicker.db=embedded
+    runtimeOnly("com.h2database:h2:2.2.224")
 }
 
 application {
@@ -28,6 +33,65 @@ application {
     mainClass.set("it.unibo.application.LaunchApp")
 }
 
+// Bundle the database scripts so that the embedded mode can bootstrap itself
+tasks.processResources {
+    from(rootDir) {
+        include("PartPicker.sql", "fill.sql")
+    }
+}
+
+// Forward -Dpartpicker.* properties given to Gradle to every Java process it starts,
+// e.g. ./gradlew run -Dpartpicker.db=embedded
+tasks.withType<JavaExec>().configureEach {
+    systemProperties(System.getProperties().filterKeys { it.toString().startsWith("partpicker.") }
+        .mapKeys { it.key.toString() })
+}
+
+// Synthetic data at configurable scale, e.g.
+// ./gradlew generateData --args="--builds 1000000 --csv build/data"
+tasks.register<JavaExec>("generateData") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.unibo.application.data.generator.GenerateData")
+}
+
+// Streaming export of the catalog, builds or price history, e.g.
+// ./gradlew exportData --args="--what prices --format jsonl --out build/prices.jsonl"
+tasks.register<JavaExec>("exportData") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.unibo.application.data.export.ExportData")
+}
+
+// Batch jobs without the user interface, e.g.
+// ./gradlew headless --args="revalidate-builds"
+tasks.register<JavaExec>("headless") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.unibo.application.cli.Headless")
+}
+
+// Concurrent virtual users on one Model, e.g.
+// ./gradlew loadTest --args="--users 32 --duration 60"
+tasks.register<JavaExec>("loadTest") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.unibo.application.loadtest.LoadTest")
+}
+
+// Plays back a journal recorded with -Dpartpicker.journal=FILE, e.g.
+// ./gradlew replayJournal --args="--journal build/session.journal --speed max"
+tasks.register<JavaExec>("replayJournal") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.unibo.application.journal.JournalReplayer")
+}
+
+// Benchmarks run against the embedded database, see BenchmarkDatabase.
+// Results are written as JSON so that runs can be compared for regressions.
+jmh {
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 // Set UTF-8 encoding for Java compilation, testing, and Javadoc tasks
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
@@ -621,4 +621,15 @@ INSERT INTO PrezziComponenti (CodiceComponente, NomeRivenditore, PrezzoComponent
 (62, 'Ebay', 147.99, '2024-07-31'),
 (63, 'Ebay', 133.99, '2024-07-31'),
 (64, 'Ebay', 146.99, '2024-07-31'),
-(65, 'Ebay', 185.99, '2024-07-31');
\ No newline at end of file
+(65, 'Ebay', 185.99, '2024-07-31');
+
+-- Proiezioni sulle recensioni
+INSERT INTO StatisticheAutori (Username, NumeroBuild, NumeroRecensioni, SommaRating)
+SELECT p.Username, COUNT(DISTINCT p.CodiceBuild), COUNT(r.Username), COALESCE(SUM(r.RatingRecensione), 0)
+FROM Pubblicazioni p LEFT JOIN Recensioni r ON r.CodiceBuild = p.CodiceBuild
+GROUP BY p.Username;
+
+INSERT INTO DistribuzioneRecensioni (CodiceBuild, RatingRecensione, NumeroRecensioni)
+SELECT CodiceBuild, RatingRecensione, COUNT(*)
+FROM Recensioni
+GROUP BY CodiceBuild, RatingRecensione;
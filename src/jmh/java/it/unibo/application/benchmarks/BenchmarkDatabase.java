@@ -0,0 +1,116 @@
+package it.unibo.application.benchmarks;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import it.unibo.application.data.ConnectionFactory;
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.components.Case;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.Cooler;
+import it.unibo.application.data.entities.components.Cpu;
+import it.unibo.application.data.entities.components.Gpu;
+import it.unibo.application.data.entities.components.Motherboard;
+import it.unibo.application.data.entities.components.Psu;
+import it.unibo.application.data.entities.components.Ram;
+import it.unibo.application.data.entities.components.Storage;
+import it.unibo.application.data.entities.login.User;
+import it.unibo.application.data.generator.DataGenerator;
+import it.unibo.application.data.generator.GeneratorConfig;
+import it.unibo.application.data.generator.GeneratorStart;
+import it.unibo.application.data.generator.JdbcBatchSink;
+
+// Embedded database shared by the benchmarks of one fork. It is bootstrapped from
+// PartPicker.sql and fill.sql and then grown with the DataGenerator, so that the
+// queries run against more than the handful of sample rows.
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    private static final long SEED = 42;
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Param({ "2000" })
+    public int syntheticComponents;
+
+    @Param({ "500" })
+    public int syntheticBuilds;
+
+    public Connection connection;
+    public User author;
+    public List<Component> cpus;
+    public List<Component> gpus;
+    public List<Component> motherboards;
+    public List<Component> rams;
+    public List<Component> storage;
+    public List<Component> cases;
+    public List<Component> coolers;
+    public List<Component> psus;
+    public int lastBuildId;
+
+    private final Random random = new Random(SEED);
+    private final AtomicInteger nextBuildId = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void open() {
+        connection = ConnectionFactory.embedded("bench" + INSTANCES.incrementAndGet(), true).open();
+        final GeneratorConfig config = new GeneratorConfig()
+            .setSeed(SEED)
+            .setComponents(syntheticComponents)
+            .setUsers(Math.max(1, syntheticBuilds / 10))
+            .setBuilds(syntheticBuilds);
+        try (JdbcBatchSink sink = new JdbcBatchSink(connection, 1_000)) {
+            new DataGenerator(config).generate(sink, GeneratorStart.of(connection));
+        }
+
+        author = User.DAO.findByUsername(connection, "mario_rossi");
+        cpus = Cpu.DAO.getCpus(connection);
+        gpus = Gpu.DAO.getGpus(connection);
+        motherboards = Motherboard.DAO.getMotherboards(connection);
+        rams = Ram.DAO.getRams(connection);
+        storage = Storage.DAO.getStorage(connection);
+        cases = Case.DAO.getCases(connection);
+        coolers = Cooler.DAO.getCoolers(connection);
+        psus = Psu.DAO.getPsus(connection);
+
+        lastBuildId = Build.DAO.getLatestBuildId(connection);
+        nextBuildId.set(lastBuildId + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    // A build made of random parts with a fresh id. Compatibility is not enforced,
+    // the schema only requires the parts to exist.
+    public Build randomBuild() {
+        final List<Component> buildGpus = new ArrayList<>();
+        buildGpus.add(pick(gpus));
+        final List<Component> buildRams = new ArrayList<>();
+        final Component ram = pick(rams);
+        buildRams.add(ram);
+        buildRams.add(ram);
+        final List<Component> buildStorage = new ArrayList<>();
+        buildStorage.add(pick(storage));
+        return new Build(nextBuildId.getAndIncrement(), pick(coolers), pick(cases), pick(psus),
+            pick(cpus), pick(motherboards), buildGpus, buildRams, buildStorage, author.getUsername());
+    }
+
+    public int randomBuildId() {
+        return 1 + random.nextInt(lastBuildId);
+    }
+
+    public <T> T pick(final List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
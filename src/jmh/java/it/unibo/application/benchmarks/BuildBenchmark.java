@@ -0,0 +1,34 @@
+package it.unibo.application.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import it.unibo.application.data.entities.builds.Build;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuildBenchmark {
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Build> getBuilds(final BenchmarkDatabase db) {
+        return Build.DAO.getBuilds(db.connection);
+    }
+
+    @Benchmark
+    public Build findBuildById(final BenchmarkDatabase db) {
+        return Build.DAO.findBuildById(db.connection, db.randomBuildId());
+    }
+
+    // Every invocation adds a build, so the table keeps growing during the run; the
+    // fork's database starts from the same state each time.
+    @Benchmark
+    public void insertBuild(final BenchmarkDatabase db) {
+        Build.DAO.insertBuild(db.connection, db.randomBuild(), db.author);
+    }
+}
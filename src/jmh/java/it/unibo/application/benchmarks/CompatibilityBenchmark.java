@@ -0,0 +1,78 @@
+package it.unibo.application.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
+import it.unibo.application.data.entities.components.Component;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompatibilityBenchmark {
+
+    // Walks the catalog pairwise instead of drawing random parts, which would cost
+    // more than the in-memory checks being measured.
+    @State(Scope.Thread)
+    public static class Parts {
+        ComponentCompatibilityChecker checker;
+        Component[] cpus;
+        Component[] motherboards;
+        Component[] rams;
+        int i;
+        int j;
+
+        @Setup(Level.Trial)
+        public void create(final BenchmarkDatabase db) {
+            checker = new ComponentCompatibilityChecker(db.connection);
+            cpus = db.cpus.toArray(new Component[0]);
+            motherboards = db.motherboards.toArray(new Component[0]);
+            rams = db.rams.toArray(new Component[0]);
+        }
+
+        void advance() {
+            if (++i == motherboards.length) {
+                i = 0;
+                j++;
+            }
+        }
+
+        Component cpu() {
+            return cpus[j % cpus.length];
+        }
+
+        Component motherboard() {
+            return motherboards[i];
+        }
+
+        Component ram() {
+            return rams[j % rams.length];
+        }
+    }
+
+    @Benchmark
+    public boolean ramMotherboard(final Parts parts) {
+        parts.advance();
+        return parts.checker.areRamMoboCompatible(parts.ram(), parts.motherboard());
+    }
+
+    @Benchmark
+    public boolean cpuMotherboard(final Parts parts) {
+        parts.advance();
+        return parts.checker.areCpuMoboCompatible(parts.cpu(), parts.motherboard());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean ramCpu(final Parts parts) {
+        parts.advance();
+        return parts.checker.checkCompatibility(parts.ram(), parts.cpu());
+    }
+}
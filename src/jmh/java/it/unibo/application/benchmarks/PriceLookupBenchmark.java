@@ -0,0 +1,21 @@
+package it.unibo.application.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import it.unibo.application.data.entities.price.ComponentPrice;
+
+// FIND_RECENT_LOWEST_PRICE runs once per component every time a part list is shown.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceLookupBenchmark {
+
+    @Benchmark
+    public ComponentPrice latestLowestPrice(final BenchmarkDatabase db) {
+        return ComponentPrice.DAO.getLatestLowestPriceById(db.connection, db.pick(db.cpus).getBaseInfo().getId());
+    }
+}
@@ -0,0 +1,71 @@
+package it.unibo.application.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import it.unibo.application.data.entities.components.Case;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.Cooler;
+import it.unibo.application.data.entities.components.Cpu;
+import it.unibo.application.data.entities.components.Gpu;
+import it.unibo.application.data.entities.components.Motherboard;
+import it.unibo.application.data.entities.components.Psu;
+import it.unibo.application.data.entities.components.Ram;
+import it.unibo.application.data.entities.components.Storage;
+
+// The component mapper measured through the catalog queries: against the in-memory
+// database the time is dominated by reading the rows and building the attribute maps.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMappingBenchmark {
+
+    @Benchmark
+    public List<Component> cpus(final BenchmarkDatabase db) {
+        return Cpu.DAO.getCpus(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> gpus(final BenchmarkDatabase db) {
+        return Gpu.DAO.getGpus(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> motherboards(final BenchmarkDatabase db) {
+        return Motherboard.DAO.getMotherboards(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> rams(final BenchmarkDatabase db) {
+        return Ram.DAO.getRams(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> storage(final BenchmarkDatabase db) {
+        return Storage.DAO.getStorage(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> cases(final BenchmarkDatabase db) {
+        return Case.DAO.getCases(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> coolers(final BenchmarkDatabase db) {
+        return Cooler.DAO.getCoolers(db.connection);
+    }
+
+    @Benchmark
+    public List<Component> psus(final BenchmarkDatabase db) {
+        return Psu.DAO.getPsus(db.connection);
+    }
+
+    @Benchmark
+    public Cpu cpuById(final BenchmarkDatabase db) {
+        return Cpu.DAO.findById(db.connection, db.pick(db.cpus).getBaseInfo().getId());
+    }
+}
@@ -1,18 +1,48 @@
 package it.unibo.application;
 
+import it.unibo.application.cli.Headless;
 import it.unibo.application.controller.Controller;
-import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.ConnectionFactory;
+import it.unibo.application.data.entities.enums.State;
 import it.unibo.application.model.Model;
+import it.unibo.application.monitoring.EdtWatchdog;
+import it.unibo.application.monitoring.FlightRecording;
 import it.unibo.application.view.View;
-import java.sql.Connection;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.SwingUtilities;
 
+// The window is shown before the database is reached: the connection and the model
+// are set up on a background thread, then the welcome page replaces the placeholder
+// while the caches warm up in parallel.
+//
+// With --headless as the first argument the rest are a batch command for Headless
+// and no window is created; the Swing classes are then never loaded.
 public class LaunchApp {
     public static void main(final String[] args) {
-        final Connection connection = DAOUtils.localMySQLConnection("partpicker", "root", "");
-        final Model model = new Model(connection);
+        FlightRecording.startIfRequested();
+        if (args.length > 0 && "--headless".equals(args[0])) {
+            System.exit(Headless.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        startUserInterface();
+    }
+
+    private static void startUserInterface() {
+        EdtWatchdog.installIfEnabled();
         final View view = new View();
-        final Controller controller = new Controller(model, view);
-        view.setController(controller);
         view.setUp();
+
+        final ConnectionFactory connections = ConnectionFactory.fromSystemProperties();
+        CompletableFuture.supplyAsync(() -> new Model(connections.open()))
+            .whenComplete((model, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    view.showStartupFailure(error.getCause() != null ? error.getCause() : error);
+                    return;
+                }
+                final Controller controller = new Controller(model, view);
+                view.setController(controller);
+                view.switchPanel(State.WELCOME);
+                model.warmUp(connections, view::showWarmUpProgress);
+            }));
     }
 }
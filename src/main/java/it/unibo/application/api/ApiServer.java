@@ -0,0 +1,557 @@
+package it.unibo.application.api;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.builds.ReviewSummary;
+import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
+import it.unibo.application.data.entities.components.BaseInfo;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.entities.enums.Specs;
+import it.unibo.application.data.entities.login.User;
+import it.unibo.application.data.entities.price.ComponentPrice;
+import it.unibo.application.model.Model;
+
+// JSON API over the Model on the JDK HTTP server:
+//
+//     GET  /api/components/{part}        the catalog of a part type, e.g. /api/components/cpu
+//     GET  /api/builds                   the published builds
+//     GET  /api/builds/{id}              one build
+//     GET  /api/builds/{id}/reviews      its reviews
+//     GET  /api/prices/{componentId}     the lowest price of the latest scrape
+//     POST /api/sessions                 {"username", "password"}, returns {"token"}
+//     POST /api/builds                   {"cpu", "motherboard", "cooler", "case", "psu": id,
+//                                         "gpus", "rams", "storage": [id]}
+//     POST /api/builds/{id}/reviews      {"rating", "comment"}
+//
+// POSTs other than /api/sessions need an "Authorization: Bearer <token>" header; a
+// second review of the same build by the same user replaces the first. Responses are
+// encoded while they are sent. GETs carry an ETag computed from the objects being
+// returned, and answer 304 to a matching If-None-Match without encoding anything.
+//
+// Each exchange runs on a virtual thread when the JVM has them (Java 21 and later),
+// otherwise on a cached pool. The Model still works on its one connection, so writes
+// are serialized and reads wait for them, which also keeps the next build id stable
+// between reading and inserting it. The lock only covers the Model calls: the
+// response is encoded and sent after it is released, so a slow client holds up no one.
+public final class ApiServer {
+    private static final Logger LOGGER = Logger.getLogger(ApiServer.class.getName());
+    private static final int DEFAULT_PORT = Integer.getInteger("partpicker.api.port", 8080);
+    private static final int BACKLOG = Integer.getInteger("partpicker.api.backlog", 1_024);
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final Model model;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // ETags of the cached lists, recomputed when the Model returns another list.
+    private final Map<String, TaggedList> listTags = new ConcurrentHashMap<>();
+
+    public ApiServer(final Model model, final int port) throws IOException {
+        this.model = model;
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public ApiServer(final Model model) throws IOException {
+        this(model, DEFAULT_PORT);
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info(() -> "API listening on port " + server.getAddress().getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Waits up to a second for the exchanges in progress.
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            final Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                final Thread thread = new Thread(task, "api-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            final String method = exchange.getRequestMethod();
+            if ("GET".equals(method)) {
+                final Response response;
+                lock.readLock().lock();
+                try {
+                    response = get(path);
+                } finally {
+                    lock.readLock().unlock();
+                }
+                sendJson(exchange, response);
+            } else if ("POST".equals(method)) {
+                final Object body = readBody(exchange);
+                final User user = requiresLogin(path) ? authenticate(exchange) : null;
+                final Response response;
+                lock.writeLock().lock();
+                try {
+                    response = post(path, body, user);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                sendJson(exchange, response);
+            } else {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                sendError(exchange, 405, "Method not allowed");
+            }
+        } catch (final HttpError e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (final IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Request failed: " + exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Reads what the response needs from the Model; the body is encoded later, from
+    // the objects read here.
+    private Response get(final String[] path) {
+        if (path.length == 2 && "components".equals(path[0])) {
+            final Part part = part(path[1]);
+            final List<Component> components = model.getComponents(part);
+            return Response.ok(listTag(part.name(), components), json -> {
+                json.beginArray();
+                for (final Component component : components) {
+                    writeComponent(json, component);
+                }
+                json.endArray();
+            });
+        } else if (path.length == 1 && "builds".equals(path[0])) {
+            final List<Build> builds = model.getBuilds();
+            return Response.ok(listTag("builds", builds), json -> {
+                json.beginArray();
+                for (final Build build : builds) {
+                    writeBuild(json, build);
+                }
+                json.endArray();
+            });
+        } else if (path.length == 2 && "builds".equals(path[0])) {
+            final Build build = model.getBuildById(parseId(path[1]));
+            if (build == null) {
+                throw new HttpError(404, "No build " + path[1]);
+            }
+            return Response.ok(tag(buildHash(build)), json -> writeBuild(json, build));
+        } else if (path.length == 3 && "builds".equals(path[0]) && "reviews".equals(path[2])) {
+            final List<Review> reviews = model.getReviewsByBuild(parseId(path[1]));
+            long hash = Fingerprint.START;
+            for (final Review review : reviews) {
+                hash = Fingerprint.add(hash, review.getUsername(), review.getReviewRating(), review.getComment(),
+                    review.getLastEditDate());
+            }
+            return Response.ok(tag(hash), json -> {
+                json.beginArray();
+                for (final Review review : reviews) {
+                    writeReview(json, review);
+                }
+                json.endArray();
+            });
+        } else if (path.length == 2 && "prices".equals(path[0])) {
+            final ComponentPrice price = model.getScrapedPrice(parseId(path[1]));
+            if (price.getResellerName() == null) {
+                throw new HttpError(404, "No price for component " + path[1]);
+            }
+            return Response.ok(tag(Fingerprint.add(Fingerprint.START, price.getComponentId(),
+                price.getResellerName(), price.getScrapeDate(), price.getComponentPrice())), json -> json.beginObject()
+                    .name("component").value(price.getComponentId())
+                    .name("reseller").value(price.getResellerName())
+                    .name("date").value(price.getScrapeDate().toString())
+                    .name("price").value(price.getComponentPrice())
+                    .endObject());
+        } else {
+            throw new HttpError(404, "Not found");
+        }
+    }
+
+    private static boolean requiresLogin(final String[] path) {
+        return !(path.length == 1 && "sessions".equals(path[0]));
+    }
+
+    private Response post(final String[] path, final Object body, final User user) {
+        final Map<?, ?> fields = body instanceof Map<?, ?> map ? map : null;
+        if (fields == null) {
+            throw new HttpError(400, "Expected a JSON object");
+        }
+        if (path.length == 1 && "sessions".equals(path[0])) {
+            final String token = model.login(stringField(fields, "username"), stringField(fields, "password"));
+            if (token == null) {
+                throw new HttpError(401, "Wrong credentials");
+            }
+            return Response.created(json -> json.beginObject().name("token").value(token).endObject());
+        } else if (path.length == 1 && "builds".equals(path[0])) {
+            final Build build = newBuild(fields, user);
+            model.insertBuild(build, user);
+            return Response.created(json -> writeBuild(json, build));
+        } else if (path.length == 3 && "builds".equals(path[0]) && "reviews".equals(path[2])) {
+            final int buildId = parseId(path[1]);
+            if (model.getBuildById(buildId) == null) {
+                throw new HttpError(404, "No build " + path[1]);
+            }
+            final long rating = longField(fields, "rating");
+            if (rating < ReviewSummary.MIN_RATING || rating > ReviewSummary.MAX_RATING) {
+                throw new HttpError(400, "The rating must be between " + ReviewSummary.MIN_RATING + " and "
+                    + ReviewSummary.MAX_RATING);
+            }
+            final Object comment = fields.get("comment");
+            final Review review = new Review(buildId, user.getUsername(), (int) rating,
+                comment != null ? comment.toString() : "", LocalDate.now());
+            final boolean replaced = model.getReview(buildId, user.getUsername()) != null;
+            model.upsertReview(review);
+            return replaced
+                ? new Response(200, null, json -> writeReview(json, review))
+                : Response.created(json -> writeReview(json, review));
+        } else {
+            throw new HttpError(404, "Not found");
+        }
+    }
+
+    private User authenticate(final HttpExchange exchange) {
+        final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        final User user = authorization != null && authorization.startsWith("Bearer ")
+            ? model.getLoggedUser(authorization.substring("Bearer ".length()).strip())
+            : null;
+        if (user == null) {
+            throw new HttpError(401, "Log in through /api/sessions first");
+        }
+        return user;
+    }
+
+    // The parts are checked the same way as in the builder page.
+    private Build newBuild(final Map<?, ?> fields, final User user) {
+        final Map<Part, Map<Integer, Component>> catalog = new HashMap<>();
+        final Component cpu = component(catalog, Part.CPU, longField(fields, "cpu"));
+        final Component motherboard = component(catalog, Part.MOTHERBOARD, longField(fields, "motherboard"));
+        final Component cooler = component(catalog, Part.COOLER, longField(fields, "cooler"));
+        final Component pcCase = component(catalog, Part.CASE, longField(fields, "case"));
+        final Component psu = component(catalog, Part.PSU, longField(fields, "psu"));
+        final List<Component> gpus = components(catalog, Part.GPU, fields.get("gpus"));
+        final List<Component> rams = components(catalog, Part.RAM, fields.get("rams"));
+        final List<Component> storage = components(catalog, Part.STORAGE, fields.get("storage"));
+
+        final ComponentCompatibilityChecker checker = model.getComponentCompatibilityChecker();
+        if (!checker.areCpuMoboCompatible(cpu, motherboard)
+                || !rams.stream().allMatch(ram -> checker.areRamMoboCompatible(ram, motherboard))
+                || !rams.stream().allMatch(ram -> checker.checkCompatibility(ram, cpu))) {
+            throw new HttpError(422, "Selected CPU, RAM, and Motherboard are not compatible.");
+        }
+        return new Build(model.getLatestBuildId() + 1, cooler, pcCase, psu, cpu, motherboard,
+            gpus, rams, storage, user.getUsername());
+    }
+
+    private Component component(final Map<Part, Map<Integer, Component>> catalog, final Part part, final long id) {
+        final Component component = catalog.computeIfAbsent(part, p -> {
+            final Map<Integer, Component> byId = new HashMap<>();
+            for (final Component c : model.getComponents(p)) {
+                byId.put(c.getBaseInfo().getId(), c);
+            }
+            return byId;
+        }).get((int) id);
+        if (component == null) {
+            throw new HttpError(422, "No " + part.getTypeName() + " " + id);
+        }
+        return component;
+    }
+
+    private List<Component> components(final Map<Part, Map<Integer, Component>> catalog, final Part part,
+            final Object ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        if (!(ids instanceof List<?> list)) {
+            throw new HttpError(400, "Expected a list of " + part.getTypeName() + " ids");
+        }
+        final List<Component> components = new ArrayList<>();
+        for (final Object id : list) {
+            if (!(id instanceof Long number)) {
+                throw new HttpError(400, "Expected a list of " + part.getTypeName() + " ids");
+            }
+            components.add(component(catalog, part, number));
+        }
+        return components;
+    }
+
+    private static String stringField(final Map<?, ?> fields, final String name) {
+        if (!(fields.get(name) instanceof String value)) {
+            throw new HttpError(400, "Missing \"" + name + "\"");
+        }
+        return value;
+    }
+
+    private static long longField(final Map<?, ?> fields, final String name) {
+        if (!(fields.get(name) instanceof Long value)) {
+            throw new HttpError(400, "Missing \"" + name + "\"");
+        }
+        return value;
+    }
+
+    private static Part part(final String typeName) {
+        try {
+            return Part.ofTypeName(typeName);
+        } catch (final IllegalArgumentException e) {
+            throw new HttpError(404, e.getMessage());
+        }
+    }
+
+    private static int parseId(final String id) {
+        try {
+            return Integer.parseInt(id);
+        } catch (final NumberFormatException e) {
+            throw new HttpError(404, "Not found");
+        }
+    }
+
+    private static Object readBody(final HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            return JsonReader.parse(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeComponent(final JsonWriter json, final Component component) throws IOException {
+        final BaseInfo info = component.getBaseInfo();
+        json.beginObject()
+            .name("id").value(info.getId())
+            .name("name").value(info.getName())
+            .name("launchYear").value(info.getLaunchYear())
+            .name("msrp").value(info.getMsrp())
+            .name("manufacturer").value(info.getManufacturer())
+            .name("attributes").beginObject();
+        for (final Map.Entry<Specs, String> attribute : component.getSpecificAttributes().entrySet()) {
+            json.name(attribute.getKey().getKey()).value(attribute.getValue());
+        }
+        json.endObject().endObject();
+    }
+
+    private static void writePart(final JsonWriter json, final String name, final Component component)
+            throws IOException {
+        json.name(name);
+        writePartValue(json, component);
+    }
+
+    private static void writePartValue(final JsonWriter json, final Component component) throws IOException {
+        json.beginObject()
+            .name("id").value(component.getBaseInfo().getId())
+            .name("name").value(component.getBaseInfo().getName())
+            .endObject();
+    }
+
+    private static void writeParts(final JsonWriter json, final String name, final List<Component> components)
+            throws IOException {
+        json.name(name).beginArray();
+        for (final Component component : components) {
+            writePartValue(json, component);
+        }
+        json.endArray();
+    }
+
+    private static void writeBuild(final JsonWriter json, final Build build) throws IOException {
+        json.beginObject()
+            .name("id").value(build.getBuildId())
+            .name("author").value(build.getAuthor());
+        writePart(json, "cpu", build.getCpu());
+        writePart(json, "motherboard", build.getMotherboard());
+        writePart(json, "cooler", build.getCooler());
+        writePart(json, "case", build.get_case());
+        writePart(json, "psu", build.getPsu());
+        writeParts(json, "gpus", build.getGpus());
+        writeParts(json, "rams", build.getRams());
+        writeParts(json, "storage", build.getStorage());
+        json.endObject();
+    }
+
+    private static void writeReview(final JsonWriter json, final Review review) throws IOException {
+        json.beginObject()
+            .name("build").value(review.getBuildId())
+            .name("username").value(review.getUsername())
+            .name("rating").value(review.getReviewRating())
+            .name("comment").value(review.getComment())
+            .name("date").value(review.getLastEditDate() != null ? review.getLastEditDate().toString() : null)
+            .endObject();
+    }
+
+    private String listTag(final String key, final List<?> list) {
+        final TaggedList tagged = listTags.get(key);
+        if (tagged != null && tagged.list == list) {
+            return tagged.tag;
+        }
+        long hash = Fingerprint.START;
+        for (final Object element : list) {
+            hash = Fingerprint.add(hash, element instanceof Build build ? buildHash(build)
+                : componentHash((Component) element));
+        }
+        final String tag = tag(hash);
+        listTags.put(key, new TaggedList(list, tag));
+        return tag;
+    }
+
+    private static long componentHash(final Component component) {
+        final BaseInfo info = component.getBaseInfo();
+        return Fingerprint.add(Fingerprint.START, info.getId(), info.getName(), info.getLaunchYear(),
+            info.getMsrp(), info.getManufacturer(), component.getSpecificAttributes());
+    }
+
+    private static long buildHash(final Build build) {
+        long hash = Fingerprint.add(Fingerprint.START, build.getBuildId(), build.getAuthor());
+        for (final Component component : List.of(build.getCpu(), build.getMotherboard(), build.getCooler(),
+                build.get_case(), build.getPsu())) {
+            hash = Fingerprint.add(hash, component.getBaseInfo().getId(), component.getBaseInfo().getName());
+        }
+        for (final List<Component> components : List.of(build.getGpus(), build.getRams(), build.getStorage())) {
+            for (final Component component : components) {
+                hash = Fingerprint.add(hash, component.getBaseInfo().getId(), component.getBaseInfo().getName());
+            }
+            hash = Fingerprint.add(hash, components.size());
+        }
+        return hash;
+    }
+
+    private static String tag(final long hash) {
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static void sendJson(final HttpExchange exchange, final Response response) throws IOException {
+        final String etag = response.etag;
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            final String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.strip()))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        send(exchange, response.status, response.body);
+    }
+
+    private static void sendError(final HttpExchange exchange, final int status, final String message)
+            throws IOException {
+        // Failed while the response was being sent: the client sees it cut short.
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        send(exchange, status, json -> json.beginObject().name("error").value(message).endObject());
+    }
+
+    // Chunked, so that nothing has to be measured before it is sent.
+    private static void send(final HttpExchange exchange, final int status, final JsonBody body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, 0);
+        final Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        final JsonWriter json = new JsonWriter(out);
+        body.write(json);
+        json.flush();
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    // A response read from the Model but not yet encoded.
+    private static final class Response {
+        private final int status;
+        private final String etag;
+        private final JsonBody body;
+
+        Response(final int status, final String etag, final JsonBody body) {
+            this.status = status;
+            this.etag = etag;
+            this.body = body;
+        }
+
+        static Response ok(final String etag, final JsonBody body) {
+            return new Response(200, etag, body);
+        }
+
+        static Response created(final JsonBody body) {
+            return new Response(201, null, body);
+        }
+    }
+
+    private static final class TaggedList {
+        private final List<?> list;
+        private final String tag;
+
+        TaggedList(final List<?> list, final String tag) {
+            this.list = list;
+            this.tag = tag;
+        }
+    }
+
+    // An HTTP error status with its message.
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        HttpError(final int status, final String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    // 64-bit FNV-1a over the string form of the values.
+    private static final class Fingerprint {
+        static final long START = 0xcbf29ce484222325L;
+        private static final long PRIME = 0x100000001b3L;
+
+        static long add(final long hash, final Object... values) {
+            long result = hash;
+            for (final Object value : values) {
+                final String text = String.valueOf(value);
+                for (int i = 0; i < text.length(); i++) {
+                    result = (result ^ text.charAt(i)) * PRIME;
+                }
+                result = (result ^ 0x1f) * PRIME;
+            }
+            return result;
+        }
+    }
+}
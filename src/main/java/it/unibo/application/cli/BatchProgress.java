@@ -0,0 +1,33 @@
+package it.unibo.application.cli;
+
+import java.io.PrintStream;
+
+// Progress of a batch job on standard error, so that standard output stays free for
+// the data of jobs such as export. Row counts are reported at most once a second.
+final class BatchProgress {
+    private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final PrintStream out;
+    private final long startTime = System.nanoTime();
+    private long lastReport = startTime;
+
+    BatchProgress(final PrintStream out) {
+        this.out = out;
+    }
+
+    void step(final String message) {
+        out.println("[" + elapsedMillis() + " ms] " + message);
+    }
+
+    void rows(final String what, final long count) {
+        final long now = System.nanoTime();
+        if (now - lastReport >= REPORT_INTERVAL_NANOS) {
+            lastReport = now;
+            step(count + " " + what);
+        }
+    }
+
+    long elapsedMillis() {
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
@@ -0,0 +1,337 @@
+package it.unibo.application.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import it.unibo.application.api.ApiServer;
+import it.unibo.application.data.ConnectionFactory;
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.price.ComponentPrice;
+import it.unibo.application.data.entities.price.WeeklyPrice;
+import it.unibo.application.data.export.DataExporter;
+import it.unibo.application.data.export.ExportFormat;
+import it.unibo.application.model.Model;
+
+// Batch jobs on the Model without the Swing user interface, for scheduled jobs and
+// servers without a display:
+//
+//     java -jar PartPicker.jar --headless import-prices prices.csv
+//
+// Nothing here references AWT or Swing, so no toolkit is loaded. The database is the
+// one selected by the partpicker.db.* system properties (see ConnectionFactory).
+// Progress goes to standard error; the exit code is one of the EXIT_* constants.
+public final class Headless {
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    // revalidate-builds found builds whose parts are not compatible.
+    public static final int EXIT_INVALID = 3;
+
+    private static final String USAGE = String.join("\n",
+        "Commands:",
+        "  import-prices FILE [--batch N]   CSV of component id, reseller, date, price",
+        "  import-catalog FILE              SQL script of catalog inserts",
+        "  export catalog|builds|prices [--format csv|jsonl] [--out FILE]",
+        "  revalidate-builds                report builds with incompatible parts",
+        "  rebuild-projections              rebuild author stats and review summaries",
+        "  compact-prices [--retention-days N]  fold older scrapes into weekly rollups",
+        "  serve [--port N]                 serve the JSON API (see ApiServer) until stopped");
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final int DEFAULT_RETENTION_DAYS =
+        Integer.getInteger("partpicker.prices.retentionDays", 90);
+
+    private final Model model;
+    private final Connection connection;
+    private final BatchProgress progress = new BatchProgress(System.err);
+
+    private Headless(final Model model, final Connection connection) {
+        this.model = model;
+        this.connection = connection;
+    }
+
+    public static void main(final String[] args) {
+        System.exit(run(args));
+    }
+
+    public static int run(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0 || !isCommand(args[0])) {
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        final Connection connection;
+        try {
+            connection = ConnectionFactory.fromSystemProperties().open();
+        } catch (final DAOException e) {
+            System.err.println("Cannot connect to the database: " + e.getMessage());
+            return EXIT_FAILED;
+        }
+        final Model model;
+        try {
+            model = new Model(connection);
+        } catch (final DAOException e) {
+            System.err.println(e.getMessage());
+            return EXIT_FAILED;
+        }
+        try {
+            return new Headless(model, connection).execute(args[0], Arrays.copyOfRange(args, 1, args.length));
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : USAGE);
+            return EXIT_USAGE;
+        } catch (final IOException | RuntimeException e) {
+            e.printStackTrace();
+            return EXIT_FAILED;
+        } finally {
+            model.closeConnection();
+        }
+    }
+
+    private static boolean isCommand(final String name) {
+        return switch (name) {
+            case "import-prices", "import-catalog", "export", "revalidate-builds", "rebuild-projections",
+                "compact-prices", "serve" -> true;
+            default -> false;
+        };
+    }
+
+    private int execute(final String command, final String[] args) throws IOException {
+        final int exitCode = switch (command) {
+            case "import-prices" -> importPrices(args);
+            case "import-catalog" -> importCatalog(args);
+            case "export" -> export(args);
+            case "revalidate-builds" -> revalidateBuilds();
+            case "rebuild-projections" -> rebuildProjections();
+            case "compact-prices" -> compactPrices(args);
+            case "serve" -> serve(args);
+            default -> throw new IllegalArgumentException(USAGE);
+        };
+        progress.step(command + " finished with exit code " + exitCode);
+        return exitCode;
+    }
+
+    // Rows of the CSV written by "export prices", header included; each batch is
+    // committed on its own.
+    private int importPrices(final String[] args) throws IOException {
+        if (args.length != 1 && !(args.length == 3 && "--batch".equals(args[1]))) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        final int batchSize = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_BATCH_SIZE;
+        final List<ComponentPrice> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || lineNumber == 1 && line.startsWith("Component")) {
+                    continue;
+                }
+                batch.add(parsePrice(line, lineNumber));
+                if (batch.size() == batchSize) {
+                    model.insertPrices(batch);
+                    imported += batch.size();
+                    batch.clear();
+                    progress.rows("prices imported", imported);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            model.insertPrices(batch);
+            imported += batch.size();
+        }
+        progress.step(imported + " prices imported");
+        return EXIT_OK;
+    }
+
+    private static ComponentPrice parsePrice(final String line, final int lineNumber) {
+        final List<String> fields = splitCsv(line);
+        if (fields.size() != 4) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": expected 4 fields, found " + fields.size());
+        }
+        try {
+            return new ComponentPrice(Integer.parseInt(fields.get(0)), fields.get(1),
+                LocalDate.parse(fields.get(2)), Double.parseDouble(fields.get(3)));
+        } catch (final RuntimeException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Fields separated by commas, optionally double quoted with "" for a quote.
+    private static List<String> splitCsv(final String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+
+    private int importCatalog(final String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        progress.step("Running " + args[0]);
+        model.importCatalog(Files.readString(Path.of(args[0]), StandardCharsets.UTF_8));
+        progress.step("Catalog imported");
+        return EXIT_OK;
+    }
+
+    private int export(final String[] args) throws IOException {
+        if (args.length % 2 != 1) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        ExportFormat format = ExportFormat.CSV;
+        Path outFile = null;
+        for (int i = 1; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--format" -> format = ExportFormat.valueOf(args[i + 1].toUpperCase(Locale.ROOT));
+                case "--out" -> outFile = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException(USAGE);
+            }
+        }
+        final DataExporter exporter = new DataExporter(connection, format);
+        final Writer out = outFile != null
+            ? Files.newBufferedWriter(outFile, StandardCharsets.UTF_8)
+            : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        final long records;
+        try {
+            records = switch (args[0]) {
+                case "catalog" -> exporter.exportCatalog(out);
+                case "builds" -> exporter.exportBuilds(out);
+                case "prices" -> exporter.exportPrices(out);
+                default -> throw new IllegalArgumentException(USAGE);
+            };
+        } finally {
+            if (outFile != null) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+        progress.step(records + " records exported");
+        return EXIT_OK;
+    }
+
+    // Checks every published build against the current catalog: the CPU against the
+    // motherboard socket, and each RAM kit against the motherboard and the CPU.
+    private int revalidateBuilds() {
+        final ComponentCompatibilityChecker checker = model.getComponentCompatibilityChecker();
+        checker.load(connection);
+        final List<Build> builds = model.getBuilds();
+        progress.step("Checking " + builds.size() + " builds");
+        int invalid = 0;
+        int checked = 0;
+        for (final Build build : builds) {
+            final List<String> problems = new ArrayList<>();
+            if (!checker.areCpuMoboCompatible(build.getCpu(), build.getMotherboard())) {
+                problems.add("CPU " + name(build.getCpu()) + " does not fit the motherboard socket");
+            }
+            // getRams() lists a kit once per unit: check each kit once.
+            final Set<Integer> checkedRams = new HashSet<>();
+            for (final Component ram : build.getRams()) {
+                if (!checkedRams.add(ram.getBaseInfo().getId())) {
+                    continue;
+                }
+                if (!checker.areRamMoboCompatible(ram, build.getMotherboard())) {
+                    problems.add("RAM " + name(ram) + " is not supported by the motherboard");
+                }
+                if (!checker.checkCompatibility(ram, build.getCpu())) {
+                    problems.add("RAM " + name(ram) + " is not supported by the CPU");
+                }
+            }
+            if (!problems.isEmpty()) {
+                invalid++;
+                System.out.println("Build " + build.getBuildId() + ": " + String.join("; ", problems));
+            }
+            progress.rows("builds checked", ++checked);
+        }
+        progress.step(invalid + " of " + builds.size() + " builds are invalid");
+        return invalid == 0 ? EXIT_OK : EXIT_INVALID;
+    }
+
+    private static String name(final Component component) {
+        return component.getBaseInfo().getName() + " (" + component.getBaseInfo().getId() + ")";
+    }
+
+    // Runs until the JVM is asked to stop, e.g. by Ctrl+C or SIGTERM.
+    private int serve(final String[] args) throws IOException {
+        if (args.length != 0 && !(args.length == 2 && "--port".equals(args[0]))) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        final ApiServer server = args.length == 2
+            ? new ApiServer(model, Integer.parseInt(args[1]))
+            : new ApiServer(model);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            stopped.countDown();
+        }, "api-shutdown"));
+        server.start();
+        progress.step("Serving on port " + server.getPort());
+        try {
+            stopped.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return EXIT_OK;
+    }
+
+    // The retention job, meant to run nightly from cron or a systemd timer: the scrapes
+    // of the last N days stay raw, those of the whole weeks before are compacted.
+    private int compactPrices(final String[] args) {
+        if (args.length != 0 && !(args.length == 2 && "--retention-days".equals(args[0]))) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        final int retentionDays = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_RETENTION_DAYS;
+        final LocalDate cutoff = WeeklyPrice.retentionCutoff(LocalDate.now(), retentionDays);
+        progress.step("Compacting the prices scraped before " + cutoff);
+        final long compacted = model.compactPrices(cutoff);
+        progress.step(compacted + " prices compacted");
+        return EXIT_OK;
+    }
+
+    private int rebuildProjections() {
+        progress.step("Rebuilding author stats");
+        model.rebuildAuthorStats();
+        progress.step("Rebuilding review summaries");
+        model.rebuildReviewSummaries();
+        return EXIT_OK;
+    }
+}
@@ -1,10 +1,15 @@
 package it.unibo.application.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import it.unibo.application.data.entities.ban.Ban;
+import it.unibo.application.data.entities.builds.AuthorStats;
 import it.unibo.application.data.entities.builds.Build;
 import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.builds.ReviewSummary;
 import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
 import it.unibo.application.data.entities.components.Component;
 import it.unibo.application.data.entities.components.Manufacturer;
@@ -22,11 +27,18 @@ import it.unibo.application.data.entities.insertion.RamInsert;
 import it.unibo.application.data.entities.insertion.StorageInsert;
 import it.unibo.application.data.entities.login.User;
 import it.unibo.application.data.entities.price.ComponentPrice;
+import it.unibo.application.journal.WorkloadJournal;
 import it.unibo.application.model.Model;
 import it.unibo.application.model.states.AppStateController;
+import it.unibo.application.monitoring.ControllerActivity;
+import it.unibo.application.monitoring.ControllerCallEvent;
+import it.unibo.application.monitoring.OperationsSnapshot;
 import it.unibo.application.view.View;
 
 public class Controller {
+    private static final WorkloadJournal JOURNAL = WorkloadJournal.get();
+    private static final Supplier<Object[]> NO_ARGUMENTS = () -> new Object[0];
+
     private final Model model;
     private final AppStateController appStateController;
     private final View view;
@@ -38,8 +50,14 @@ public class Controller {
     }
 
     public void setAppState(final State newState) {
-        appStateController.setState(newState);
-        view.switchPanel(newState);
+        run("setAppState", () -> {
+            if (newState != State.WELCOME && newState != State.ADMIN && getLoggedUser() == null) {
+                expireSession();
+                return;
+            }
+            appStateController.setState(newState);
+            view.switchPanel(newState);
+        }, () -> new Object[] {newState});
     }
 
     public State getAppState() {
@@ -64,64 +82,128 @@ public class Controller {
     }
 
     public void loginAttempt(final String username, final String password) {
-        if (model.login(username, password)) {
-            view.showDialog("Login succesful");
-            view.switchPanel(State.OVERVIEW);
-        } else {
-            view.showDialog("Login failed");
-        }
+        run("loginAttempt", () -> {
+            final String sessionToken = model.login(username, password);
+            if (sessionToken != null) {
+                model.logout(appStateController.getSessionToken());
+                appStateController.setSessionToken(sessionToken);
+                view.showDialog("Login succesful");
+                view.switchPanel(State.OVERVIEW);
+            } else {
+                view.showDialog("Login failed");
+            }
+        }, () -> new Object[] {username});
     }
 
     public boolean registerUser(final User user) {
-        return model.registerUser(user);
+        return call("registerUser", () -> model.registerUser(user), () -> new Object[] {user});
     }
 
     public User getLoggedUser() {
-        return model.getLoggedUser();
+        return call("getLoggedUser", () -> model.getLoggedUser(appStateController.getSessionToken()));
     }
 
     public List<Component> getComponents(final Part part) {
-        return model.getComponents(part);
+        return call("getComponents", () -> model.getComponents(part), () -> new Object[] {part});
     }
 
     public List<Build> getBuilds() {
-        return model.getBuilds();
+        return call("getBuilds", model::getBuilds);
     }
 
     public Build findBuildById(final int id) {
-        return model.getBuildById(id);
+        return call("findBuildById", () -> model.getBuildById(id), () -> new Object[] {id});
     }
 
-    public void banUser(final Ban ban) {
-       model.banUser(ban);
+    // Bans the user on behalf of the moderator of the current session; false if the
+    // session has expired.
+    public boolean banUser(final String username, final LocalDate endDate, final String motive) {
+        final User moderator = sessionUser();
+        if (moderator == null) {
+            return false;
+        }
+        final Ban ban = new Ban(username, LocalDate.now(), endDate, motive, moderator.getUsername());
+        run("banUser", () -> model.banUser(ban), () -> new Object[] {ban});
+        return true;
     }
 
     public List<Review> getReviewsByBuild(final int buildId) {
-        return model.getReviewsByBuild(buildId);
+        return call("getReviewsByBuild", () -> model.getReviewsByBuild(buildId), () -> new Object[] {buildId});
     }
 
     public void insertReview(final Review review) {
-        model.insertReview(review);
+        run("insertReview", () -> model.insertReview(review), () -> new Object[] {review});
     }
 
     public void updateReview(final Review review) {
-        model.updateReview(review);
+        run("updateReview", () -> model.updateReview(review), () -> new Object[] {review});
+    }
+
+    public Review getReview(final int buildId, final String username) {
+        return call("getReview", () -> model.getReview(buildId, username), () -> new Object[] {buildId, username});
+    }
+
+    public List<Review> getReviewsPage(final int buildId, final String afterUsername, final int limit) {
+        return call("getReviewsPage", () -> model.getReviewsPage(buildId, afterUsername, limit),
+            () -> new Object[] {buildId, afterUsername, limit});
+    }
+
+    public ReviewSummary getReviewSummary(final int buildId) {
+        return call("getReviewSummary", () -> model.getReviewSummary(buildId), () -> new Object[] {buildId});
+    }
+
+    // Writes the review of the user of the current session, dated today; false if the
+    // session has expired.
+    public boolean upsertReview(final int buildId, final int rating, final String comment) {
+        final User user = sessionUser();
+        if (user == null) {
+            return false;
+        }
+        final Review review = new Review(buildId, user.getUsername(), rating, comment, LocalDate.now());
+        run("upsertReview", () -> model.upsertReview(review), () -> new Object[] {review});
+        return true;
     }
 
     public int getLatestBuildId() {
-        return model.getLatestBuildId();
+        return call("getLatestBuildId", model::getLatestBuildId);
+    }
+
+    // Publishes the parts as a new build of the user of the current session; false if
+    // the session has expired.
+    public boolean insertBuild(final Component cooler, final Component _case, final Component psu,
+            final Component cpu, final Component motherboard, final List<Component> gpus,
+            final List<Component> rams, final List<Component> storage) {
+        final User user = sessionUser();
+        if (user == null) {
+            return false;
+        }
+        final Build build = new Build(getLatestBuildId() + 1, cooler, _case, psu, cpu, motherboard,
+            gpus, rams, storage, user.getUsername());
+        run("insertBuild", () -> model.insertBuild(build, user), () -> new Object[] {build, user});
+        return true;
+    }
+
+    public int[] getBuildIdsUsing(final int componentId) {
+        return call("getBuildIdsUsing", () -> model.getBuildIdsUsing(componentId), () -> new Object[] {componentId});
+    }
+
+    public Map<Integer, Integer> countBuildsUsing(final Part part) {
+        return call("countBuildsUsing", () -> model.countBuildsUsing(part), () -> new Object[] {part});
     }
 
-    public void insertBuild(final Build build, final User user) {
-        model.insertBuild(build, user);
+    public Map<Part, int[]> getFrequentPartners(final int componentId) {
+        return call("getFrequentPartners", () -> model.getFrequentPartners(componentId),
+            () -> new Object[] {componentId});
     }
 
     public ComponentPrice getScrapedPrice(final int componentId) {
-        return model.getScrapedPrice(componentId);
+        return call("getScrapedPrice", () -> model.getScrapedPrice(componentId), () -> new Object[] {componentId});
     }
 
     public List<ComponentPrice> getRecentComponentPricesByReseller(final String reseller, final int componentId) {
-        return model.getRecentComponentPricesByReseller(componentId, reseller);
+        return call("getRecentComponentPricesByReseller",
+            () -> model.getRecentComponentPricesByReseller(componentId, reseller),
+            () -> new Object[] {reseller, componentId});
     }
 
     public ComponentCompatibilityChecker getCCC() {
@@ -129,59 +211,80 @@ public class Controller {
     }
 
     public List<Manufacturer> getManufacturers() {
-        return model.getManufacturers();
+        return call("getManufacturers", model::getManufacturers);
     }
 
     public void insertCpu(final CpuInsert cpu) {
-        model.insertCpu(cpu);
+        run("insertCpu", () -> model.insertCpu(cpu), () -> new Object[] {cpu});
     }
 
     public void insertCooler(final CoolerInsert cooler) {
-        model.insertCooler(cooler);
+        run("insertCooler", () -> model.insertCooler(cooler), () -> new Object[] {cooler});
     }
 
     public void insertRam(final RamInsert ram) {
-        model.insertRam(ram);
+        run("insertRam", () -> model.insertRam(ram), () -> new Object[] {ram});
     }
 
     public void insertCase(final CaseInsert _case) {
-        model.insertCase(_case);
+        run("insertCase", () -> model.insertCase(_case), () -> new Object[] {_case});
     }
 
     public void insertMotherboard(final MotherboardInsert motherboard) {
-        model.insertMotherboard(motherboard);
+        run("insertMotherboard", () -> model.insertMotherboard(motherboard), () -> new Object[] {motherboard});
     }
 
     public void insertGpu(final GpuInsert gpu) {
-        model.insertGpu(gpu);
+        run("insertGpu", () -> model.insertGpu(gpu), () -> new Object[] {gpu});
     }
 
     public void insertStorage(final StorageInsert storage) {
-        model.insertStorage(storage);
+        run("insertStorage", () -> model.insertStorage(storage), () -> new Object[] {storage});
     }
 
     public void insertPsu(final PsuInsert psu) {
-        model.insertPsu(psu);
+        run("insertPsu", () -> model.insertPsu(psu), () -> new Object[] {psu});
     }
 
     public void insertComponent(final ComponentInsert componentInsert) {
-        model.insertComponent(componentInsert);
+        run("insertComponent", () -> model.insertComponent(componentInsert), () -> new Object[] {componentInsert});
     }
 
     public void insertCpuRamCompatibility(final CpuRamInsert cpuRamInsert) {
-        model.insertCpuRamCompatibility(cpuRamInsert);
+        run("insertCpuRamCompatibility", () -> model.insertCpuRamCompatibility(cpuRamInsert),
+            () -> new Object[] {cpuRamInsert});
     }
 
     public int getLatestComponendId() {
-        return model.getLatestComponendId();
+        return call("getLatestComponendId", model::getLatestComponendId);
     }
 
     public User getUser(final String username) {
-        return model.getUser(username);
+        return call("getUser", () -> model.getUser(username), () -> new Object[] {username});
     } 
 
     public double getUserRating(final String username) {
-        return model.getUserRating(username);
+        return call("getUserRating", () -> model.getUserRating(username), () -> new Object[] {username});
+    }
+
+    public AuthorStats getAuthorStats(final String username) {
+        return call("getAuthorStats", () -> model.getAuthorStats(username), () -> new Object[] {username});
+    }
+
+    public List<AuthorStats> getAuthorLeaderboard(final int limit) {
+        return call("getAuthorLeaderboard", () -> model.getAuthorLeaderboard(limit), () -> new Object[] {limit});
+    }
+
+    public void rebuildAuthorStats() {
+        run("rebuildAuthorStats", model::rebuildAuthorStats);
+    }
+
+    public void rebuildReviewSummaries() {
+        run("rebuildReviewSummaries", model::rebuildReviewSummaries);
+    }
+
+    public OperationsSnapshot getOperationsSnapshot() {
+        return model.getOperationsSnapshot();
     }
 
     public void closeConnection() {
@@ -189,4 +292,66 @@ public class Controller {
             model.closeConnection();
         }
     }
+
+    // The user of the current session. A page rendered before the session expired,
+    // or before its user was banned, must not act on its behalf: the user is then
+    // told and sent back to the welcome page, and null is returned.
+    private User sessionUser() {
+        final User user = getLoggedUser();
+        if (user == null) {
+            expireSession();
+        }
+        return user;
+    }
+
+    private void expireSession() {
+        view.showDialog("Session expired, please log in again");
+        appStateController.setState(State.WELCOME);
+        view.switchPanel(State.WELCOME);
+    }
+
+    // Every call that reaches the model or the view goes through here, so that it
+    // shows up as a ControllerCallEvent in Flight Recorder recordings, the EdtWatchdog
+    // can tell which call was running when the UI froze and, when one is being
+    // written, it is recorded with its arguments in the WorkloadJournal. Passwords
+    // are never passed as arguments. The arguments are only built, and their numbers
+    // boxed, when a journal is open.
+    private <T> T call(final String method, final Supplier<T> body) {
+        return call(method, body, NO_ARGUMENTS);
+    }
+
+    private <T> T call(final String method, final Supplier<T> body, final Supplier<Object[]> arguments) {
+        final ControllerCallEvent event = new ControllerCallEvent();
+        event.begin();
+        ControllerActivity.enter(method);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final T result = body.get();
+            failed = false;
+            return result;
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            ControllerActivity.exit(elapsed);
+            if (JOURNAL != null) {
+                JOURNAL.record(method, start, elapsed, failed, arguments.get());
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = method;
+                event.commit();
+            }
+        }
+    }
+
+    private void run(final String method, final Runnable body) {
+        run(method, body, NO_ARGUMENTS);
+    }
+
+    private void run(final String method, final Runnable body, final Supplier<Object[]> arguments) {
+        call(method, () -> {
+            body.run();
+            return null;
+        }, arguments);
+    }
 }
@@ -0,0 +1,44 @@
+package it.unibo.application.data;
+
+import java.sql.Connection;
+
+// Opens connections to the application database. The default is the local MySQL
+// daemon; -Dpartpicker.db=embedded switches to an in-process database bootstrapped
+// from PartPicker.sql and fill.sql, which needs no external infrastructure.
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    Connection open();
+
+    static ConnectionFactory mysql(final String host, final String port, final String database,
+            final String username, final String password) {
+        return () -> DAOUtils.mySQLConnection(host, port, database, username, password);
+    }
+
+    static ConnectionFactory embedded(final String name, final boolean withSampleData) {
+        return new EmbeddedDatabase(name, withSampleData);
+    }
+
+    // Reads the partpicker.db.* system properties:
+    //
+    //     partpicker.db            mysql (default) or embedded
+    //     partpicker.db.host       MySQL host, localhost by default
+    //     partpicker.db.port       MySQL port, 3306 by default
+    //     partpicker.db.name       database name, partpicker by default
+    //     partpicker.db.user       MySQL user, root by default
+    //     partpicker.db.password   MySQL password, empty by default
+    //     partpicker.db.sampleData load fill.sql in embedded mode, true by default
+    //
+    static ConnectionFactory fromSystemProperties() {
+        final String name = System.getProperty("partpicker.db.name", "partpicker");
+        if ("embedded".equalsIgnoreCase(System.getProperty("partpicker.db", "mysql"))) {
+            return embedded(name, Boolean.parseBoolean(System.getProperty("partpicker.db.sampleData", "true")));
+        }
+        return mysql(
+            System.getProperty("partpicker.db.host", "localhost"),
+            System.getProperty("partpicker.db.port", "3306"),
+            name,
+            System.getProperty("partpicker.db.user", "root"),
+            System.getProperty("partpicker.db.password", ""));
+    }
+}
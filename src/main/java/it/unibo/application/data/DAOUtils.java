@@ -3,16 +3,30 @@ package it.unibo.application.data;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import it.unibo.application.data.monitoring.QueryMetrics;
 
 public final class DAOUtils {
+    // Rows fetched per round trip by stream() where the driver honours a fetch size,
+    // -Dpartpicker.fetchSize to change it.
+    private static final int FETCH_SIZE = Integer.getInteger("partpicker.fetchSize", 1_000);
 
     // Establishes a connection to a MySQL daemon running locally at port 3306.
     //
     public static Connection localMySQLConnection(final String database, final String username, final String password) {
+        return mySQLConnection("localhost", "3306", database, username, password);
+    }
+
+    public static Connection mySQLConnection(final String host, final String port, final String database,
+            final String username, final String password) {
         try {
-            final var host = "localhost";
-            final var port = "3306";
             final var connectionString = "jdbc:mysql://" + host + ":" + port + "/" + database;
             return DriverManager.getConnection(connectionString, username, password);
         } catch (final Exception e) {
@@ -27,10 +41,12 @@ public final class DAOUtils {
     //
     //     prepare(connection, MY_QUERY, query_arg1, query_arg2, ...)
     //
+    // The statement is instrumented so that its executions show up in QueryMetrics.
+    //
     public static PreparedStatement prepare(final Connection connection, final String query, final Object... values) throws SQLException {
         PreparedStatement statement = null;
         try {
-            statement = connection.prepareStatement(query);
+            statement = QueryMetrics.instrument(connection.prepareStatement(query), query);
             for (int i = 0; i < values.length; i++) {
                 statement.setObject(i + 1, values[i]);
             }
@@ -42,4 +58,105 @@ public final class DAOUtils {
             throw e;
         }
     }
+
+    // Reads one row of a result set into an object, for stream.
+    //
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    // Runs a query and returns its rows as a lazily consumed stream, for results too
+    // large to hold in a list:
+    //
+    //     try (Stream<Price> prices = stream(connection, Price::read, MY_QUERY, query_arg1, ...)) {
+    //         prices.forEach(...);
+    //     }
+    //
+    // The result is read forward only, FETCH_SIZE rows at a time, so memory stays the
+    // same whatever the number of rows. Connector/J only streams without cursor fetch
+    // when the fetch size is Integer.MIN_VALUE; it then reads the rows off the socket as
+    // they are consumed. The stream keeps the statement open until it is closed, and on
+    // MySQL no other statement can run on the connection meanwhile.
+    //
+    public static <T> Stream<T> stream(final Connection connection, final RowReader<T> reader, final String query,
+            final Object... values) {
+        PreparedStatement statement = null;
+        try {
+            statement = prepare(connection, query, values);
+            statement.setFetchSize(SqlDialect.of(connection) == SqlDialect.MYSQL ? Integer.MIN_VALUE : FETCH_SIZE);
+            final PreparedStatement openStatement = statement;
+            final ResultSet resultSet = statement.executeQuery();
+            final Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                @Override
+                public boolean tryAdvance(final Consumer<? super T> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                        action.accept(reader.read(resultSet));
+                        return true;
+                    } catch (final SQLException e) {
+                        throw new DAOException(e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try (openStatement; resultSet) {
+                    // Closed by the try.
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+                }
+            });
+        } catch (final SQLException e) {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (final SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw new DAOException(e);
+        }
+    }
+
+    // A unit of work that runs inside a transaction opened by inTransaction.
+    //
+    @FunctionalInterface
+    public interface TransactionBody {
+        void run(Connection connection) throws SQLException;
+    }
+
+    // Runs the given body with autocommit disabled, committing if it completes and
+    // rolling back otherwise. Autocommit is always restored afterwards:
+    //
+    //     inTransaction(connection, c -> { ...statements on c... })
+    //
+    public static void inTransaction(final Connection connection, final TransactionBody body) {
+        try {
+            connection.setAutoCommit(false);
+            body.run(connection);
+            connection.commit();
+        } catch (final SQLException e) {
+            rollback(connection, e);
+            throw new DAOException(e);
+        } catch (final RuntimeException e) {
+            rollback(connection, e);
+            throw e;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (final SQLException ex) {
+                throw new DAOException(ex);
+            }
+        }
+    }
+
+    private static void rollback(final Connection connection, final Exception cause) {
+        try {
+            connection.rollback();
+        } catch (final SQLException rollbackEx) {
+            cause.addSuppressed(rollbackEx);
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package it.unibo.application.data;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import it.unibo.application.data.migration.MigrationRunner;
+
+// In-memory H2 database in MySQL compatibility mode. The schema, and optionally the
+// sample data, are loaded from the same scripts used to set up MySQL the first time
+// a connection is opened, with the migrations applied in between; the database then
+// lives until the JVM exits.
+public final class EmbeddedDatabase implements ConnectionFactory {
+    private static final String SCHEMA_SCRIPT = "/PartPicker.sql";
+    private static final String DATA_SCRIPT = "/fill.sql";
+    private static final String URL_OPTIONS =
+        ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final String url;
+    private final boolean withSampleData;
+    private boolean bootstrapped;
+
+    public EmbeddedDatabase(final String name, final boolean withSampleData) {
+        this.url = "jdbc:h2:mem:" + name + URL_OPTIONS;
+        this.withSampleData = withSampleData;
+    }
+
+    @Override
+    public Connection open() {
+        try {
+            final Connection connection = DriverManager.getConnection(url, "sa", "");
+            bootstrap(connection);
+            return connection;
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    private synchronized void bootstrap(final Connection connection) {
+        if (bootstrapped) {
+            return;
+        }
+        SqlScript.runResource(connection, SCHEMA_SCRIPT, SqlDialect.H2);
+        MigrationRunner.migrate(connection);
+        if (withSampleData) {
+            SqlScript.runResource(connection, DATA_SCRIPT, SqlDialect.H2);
+        }
+        bootstrapped = true;
+    }
+}
@@ -9,11 +9,22 @@ public final class Queries {
         WHERE Username = ?
         """;
 
-    public static final String CHECK_BAN =
+    public static final String GET_ACTIVE_BANS =
         """
         SELECT *
         FROM ban
-        WHERE UsernameAssegnatario = ? AND (DataFineBan IS NULL OR DataFineBan > NOW());
+        WHERE DataFineBan IS NULL OR DataFineBan > NOW()
+        """;
+
+    public static final String FIND_LOGIN_USER =
+        """
+        SELECT utenti.*, EXISTS (
+            SELECT *
+            FROM ban
+            WHERE ban.UsernameAssegnatario = utenti.Username AND (DataFineBan IS NULL OR DataFineBan > NOW())
+        ) AS Bannato
+        FROM utenti
+        WHERE Username = ?
         """;
 
     public static final String REGISTER_USER =
@@ -36,6 +47,14 @@ public final class Queries {
         WHERE cpu.CodiceCpu = componenti.CodiceComponente and produttori.CodiceProduttore = componenti.CodiceProduttore
         """;
 
+    // Followed by an IN list of component ids.
+    public static final String GET_COMPONENT_TYPES =
+        """
+        SELECT CodiceComponente, TipoComponente
+        FROM componenti
+        WHERE CodiceComponente
+        """;
+
     public static final String FIND_GPU =
         """
         SELECT componenti.CodiceComponente, componenti.NomeComponente, componenti.AnnoLancio, componenti.PrezzoListino, NomeProduttore, gpu.*
@@ -176,15 +195,69 @@ public final class Queries {
         FROM usiStorage
         WHERE usiStorage.CodiceBuild = ?
         """;
+
+    public static final String GET_ALL_USED_GPUS =
+        """
+        SELECT CodiceBuild, CodiceGpu, Quantita
+        FROM usiGpu
+        """;
+
+    public static final String GET_ALL_USED_RAMS =
+        """
+        SELECT CodiceBuild, CodiceRam, Quantita
+        FROM usiRam
+        """;
+
+    public static final String GET_ALL_USED_STORAGE =
+        """
+        SELECT CodiceBuild, CodiceStorage, Quantita
+        FROM usiStorage
+        """;
     
-    public static final String GET_USER_RATING =
+    public static final String GET_AUTHOR_STATS =
+        """
+        SELECT *
+        FROM StatisticheAutori
+        WHERE Username = ?
+        """;
+
+    public static final String GET_AUTHOR_LEADERBOARD =
+        """
+        SELECT *
+        FROM StatisticheAutori
+        WHERE NumeroRecensioni > 0
+        ORDER BY SommaRating * 1.0 / NumeroRecensioni DESC, NumeroRecensioni DESC
+        LIMIT ?
+        """;
+
+    public static final String INCREMENT_AUTHOR_BUILDS =
         """
-        SELECT AVG(r.RatingRecensione) AS AverageRating
-        FROM Utenti u, Pubblicazioni p, Recensioni r
-        WHERE p.Username = ?    
-        AND u.Username = p.Username 
-        AND p.CodiceBuild = r.CodiceBuild
-        GROUP BY u.Username
+        INSERT INTO StatisticheAutori (Username, NumeroBuild, NumeroRecensioni, SommaRating)
+        VALUES (?, 1, 0, 0)
+        ON DUPLICATE KEY UPDATE NumeroBuild = NumeroBuild + 1
+        """;
+
+    public static final String ADD_AUTHOR_RATING =
+        """
+        INSERT INTO StatisticheAutori (Username, NumeroBuild, NumeroRecensioni, SommaRating)
+        SELECT Username, 0, ?, ?
+        FROM Pubblicazioni
+        WHERE CodiceBuild = ?
+        ON DUPLICATE KEY UPDATE NumeroRecensioni = NumeroRecensioni + VALUES(NumeroRecensioni),
+            SommaRating = SommaRating + VALUES(SommaRating)
+        """;
+
+    public static final String CLEAR_AUTHOR_STATS =
+        """
+        DELETE FROM StatisticheAutori
+        """;
+
+    public static final String REBUILD_AUTHOR_STATS =
+        """
+        INSERT INTO StatisticheAutori (Username, NumeroBuild, NumeroRecensioni, SommaRating)
+        SELECT p.Username, COUNT(DISTINCT p.CodiceBuild), COUNT(r.Username), COALESCE(SUM(r.RatingRecensione), 0)
+        FROM Pubblicazioni p LEFT JOIN Recensioni r ON r.CodiceBuild = p.CodiceBuild
+        GROUP BY p.Username
         """;
 
     public static final String INSERT_BAN =
@@ -200,12 +273,36 @@ public final class Queries {
         WHERE CodiceBuild = ?
         """;
 
+    public static final String FIND_REVIEW =
+        """
+        SELECT *
+        FROM recensioni
+        WHERE CodiceBuild = ? AND Username = ?
+        """;
+
+    public static final String GET_REVIEWS_PAGE =
+        """
+        SELECT *
+        FROM recensioni
+        WHERE CodiceBuild = ? AND Username > ?
+        ORDER BY Username
+        LIMIT ?
+        """;
+
     public static final String INSERT_REVIEW =
         """
         INSERT INTO recensioni (CodiceBuild, Username, RatingRecensione, Commento, DataModificaRecensione)
         VALUES (?, ?, ?, ?, ?)
         """;
 
+    public static final String FIND_REVIEW_RATING =
+        """
+        SELECT RatingRecensione
+        FROM recensioni
+        WHERE CodiceBuild = ? AND Username = ?
+        FOR UPDATE
+        """;
+
     public static final String UPDATE_REVIEW =
         """
         UPDATE recensioni
@@ -213,6 +310,41 @@ public final class Queries {
         WHERE CodiceBuild = ? AND Username = ?
         """;
 
+    public static final String UPSERT_REVIEW =
+        """
+        INSERT INTO recensioni (CodiceBuild, Username, RatingRecensione, Commento, DataModificaRecensione)
+        VALUES (?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE RatingRecensione = VALUES(RatingRecensione), Commento = VALUES(Commento),
+            DataModificaRecensione = VALUES(DataModificaRecensione)
+        """;
+
+    public static final String GET_REVIEW_DISTRIBUTION =
+        """
+        SELECT RatingRecensione, NumeroRecensioni
+        FROM DistribuzioneRecensioni
+        WHERE CodiceBuild = ?
+        """;
+
+    public static final String ADD_REVIEW_DISTRIBUTION =
+        """
+        INSERT INTO DistribuzioneRecensioni (CodiceBuild, RatingRecensione, NumeroRecensioni)
+        VALUES (?, ?, ?)
+        ON DUPLICATE KEY UPDATE NumeroRecensioni = NumeroRecensioni + VALUES(NumeroRecensioni)
+        """;
+
+    public static final String CLEAR_REVIEW_DISTRIBUTION =
+        """
+        DELETE FROM DistribuzioneRecensioni
+        """;
+
+    public static final String REBUILD_REVIEW_DISTRIBUTION =
+        """
+        INSERT INTO DistribuzioneRecensioni (CodiceBuild, RatingRecensione, NumeroRecensioni)
+        SELECT CodiceBuild, RatingRecensione, COUNT(*)
+        FROM Recensioni
+        GROUP BY CodiceBuild, RatingRecensione
+        """;
+
     public static final String INSERT_UPLOAD =
         """
         INSERT INTO pubblicazioni (CodiceBuild, Username, DataModificaBuild)
@@ -267,6 +399,19 @@ public final class Queries {
                         WHERE CodiceComponente = p.CodiceComponente));
         """;
     
+    // FIND_RECENT_LOWEST_PRICE for every component at once, lowest price first.
+    public static final String GET_RECENT_LOWEST_PRICES =
+        """
+        SELECT p.*
+        FROM PrezziComponenti p, (
+            SELECT CodiceComponente, MAX(DataRilevamentoPrezzo) AS UltimaRilevazione
+            FROM PrezziComponenti
+            GROUP BY CodiceComponente) u
+        WHERE p.CodiceComponente = u.CodiceComponente
+        AND p.DataRilevamentoPrezzo = u.UltimaRilevazione
+        ORDER BY p.CodiceComponente, p.PrezzoComponente
+        """;
+
     public static final String GET_LAST_14_SCRAPED_PRICES =
         """
         SELECT *
@@ -284,6 +429,12 @@ public final class Queries {
         WHERE NomeGenerazioneRam = ? AND CodiceCpu = ?
         """;
 
+    public static final String GET_RAM_CPU_COMPATIBILITY =
+        """
+        SELECT CodiceCpu, NomeGenerazioneRam
+        FROM compatibilitaRamCpu
+        """;
+
     public static final String GET_MANUFACTURERS =
         """
         SELECT *
@@ -355,4 +506,157 @@ public final class Queries {
         SELECT MAX(CodiceComponente) AS Max
         FROM Componenti
         """;
+
+    public static final String GET_GENERATOR_START =
+        """
+        SELECT
+            (SELECT COALESCE(MAX(CodiceProduttore), 0) FROM Produttori) AS MaxProduttore,
+            (SELECT COALESCE(MAX(CodiceComponente), 0) FROM Componenti) AS MaxComponente,
+            (SELECT COALESCE(MAX(CodiceBuild), 0) FROM Build) AS MaxBuild
+        """;
+
+    public static final String GET_SOCKET_NAMES =
+        """
+        SELECT NomeSocket
+        FROM `Socket`
+        """;
+
+    public static final String GET_RAM_GENERATION_NAMES =
+        """
+        SELECT NomeGenerazioneRam
+        FROM GenerazioniRam
+        """;
+
+    public static final String GET_CATALOG_STAMP =
+        """
+        SELECT
+            (SELECT COALESCE(MAX(CodiceComponente), 0) FROM Componenti) AS MaxComponente,
+            (SELECT COUNT(*) FROM Componenti) AS NumeroComponenti,
+            (SELECT COUNT(*) FROM Produttori) AS NumeroProduttori,
+            (SELECT COUNT(*) FROM CompatibilitaRamCpu) AS NumeroCompatibilita
+        """;
+
+    public static final String INSERT_PRICE =
+        """
+        INSERT INTO PrezziComponenti (CodiceComponente, NomeRivenditore, PrezzoComponente, DataRilevamentoPrezzo)
+        VALUES (?, ?, ?, ?)
+        """;
+
+    // Both tiers: the compacted weeks as one price, their average, on their Monday.
+    public static final String GET_PRICE_HISTORY =
+        """
+        SELECT CodiceComponente, NomeRivenditore, InizioSettimana AS DataRilevamentoPrezzo,
+            SommaPrezzi / NumeroRilevazioni AS PrezzoComponente
+        FROM PrezziSettimanali
+        UNION ALL
+        SELECT CodiceComponente, NomeRivenditore, DataRilevamentoPrezzo, PrezzoComponente
+        FROM PrezziComponenti
+        ORDER BY CodiceComponente, DataRilevamentoPrezzo, NomeRivenditore
+        """;
+
+    // The lowest price of the latest compacted week, for components with no recent scrape.
+    public static final String FIND_RECENT_LOWEST_WEEKLY_PRICE =
+        """
+        SELECT *, SommaPrezzi / NumeroRilevazioni AS PrezzoMedio
+        FROM PrezziSettimanali
+        WHERE CodiceComponente = ?
+        ORDER BY InizioSettimana DESC, PrezzoMinimo
+        LIMIT 1
+        """;
+
+    public static final String GET_WEEKLY_PRICES_BEFORE =
+        """
+        SELECT *, SommaPrezzi / NumeroRilevazioni AS PrezzoMedio
+        FROM PrezziSettimanali
+        WHERE CodiceComponente = ?
+        AND NomeRivenditore = ?
+        AND InizioSettimana < ?
+        ORDER BY InizioSettimana DESC
+        LIMIT ?
+        """;
+
+    public static final String GET_COMPONENTS_WITH_PRICES_BEFORE =
+        """
+        SELECT DISTINCT CodiceComponente
+        FROM PrezziComponenti
+        WHERE DataRilevamentoPrezzo < ?
+        ORDER BY CodiceComponente
+        """;
+
+    // Locks the rows, so that a scrape of an old date committed meanwhile is neither
+    // lost by the delete that follows nor left out of the rollup.
+    public static final String GET_PRICES_TO_COMPACT =
+        """
+        SELECT *
+        FROM PrezziComponenti
+        WHERE CodiceComponente BETWEEN ? AND ?
+        AND DataRilevamentoPrezzo < ?
+        FOR UPDATE
+        """;
+
+    public static final String DELETE_COMPACTED_PRICES =
+        """
+        DELETE FROM PrezziComponenti
+        WHERE CodiceComponente BETWEEN ? AND ?
+        AND DataRilevamentoPrezzo < ?
+        """;
+
+    public static final String ADD_WEEKLY_PRICE =
+        """
+        INSERT INTO PrezziSettimanali (CodiceComponente, NomeRivenditore, InizioSettimana,
+            PrezzoMinimo, PrezzoMassimo, SommaPrezzi, NumeroRilevazioni)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE PrezzoMinimo = LEAST(PrezzoMinimo, VALUES(PrezzoMinimo)),
+            PrezzoMassimo = GREATEST(PrezzoMassimo, VALUES(PrezzoMassimo)),
+            SommaPrezzi = SommaPrezzi + VALUES(SommaPrezzi),
+            NumeroRilevazioni = NumeroRilevazioni + VALUES(NumeroRilevazioni)
+        """;
+
+    // One row per build, the multi-part usages as "id:quantity" lists.
+    public static final String GET_BUILD_PARTS =
+        """
+        SELECT build.*, pubblicazioni.Username, pubblicazioni.DataModificaBuild,
+            (SELECT GROUP_CONCAT(CONCAT(CodiceGpu, ':', Quantita)) FROM usiGpu
+                WHERE usiGpu.CodiceBuild = build.CodiceBuild) AS Gpu,
+            (SELECT GROUP_CONCAT(CONCAT(CodiceRam, ':', Quantita)) FROM usiRam
+                WHERE usiRam.CodiceBuild = build.CodiceBuild) AS Ram,
+            (SELECT GROUP_CONCAT(CONCAT(CodiceStorage, ':', Quantita)) FROM usiStorage
+                WHERE usiStorage.CodiceBuild = build.CodiceBuild) AS Storage
+        FROM build, pubblicazioni
+        WHERE build.CodiceBuild = pubblicazioni.CodiceBuild
+        ORDER BY build.CodiceBuild
+        """;
+
+    public static final String CREATE_SCHEMA_VERSIONS =
+        """
+        CREATE TABLE IF NOT EXISTS VersioniSchema (
+            Versione int not null,
+            Descrizione varchar(255) not null,
+            DataApplicazione datetime not null,
+            primary key (Versione)
+        )
+        """;
+
+    public static final String GET_SCHEMA_VERSION =
+        """
+        SELECT COALESCE(MAX(Versione), 0) AS Versione
+        FROM VersioniSchema
+        """;
+
+    public static final String INSERT_SCHEMA_VERSION =
+        """
+        INSERT INTO VersioniSchema (Versione, Descrizione, DataApplicazione)
+        VALUES (?, ?, ?)
+        """;
+
+    // MySQL only: 1 once the lock is held, 0 on timeout.
+    public static final String GET_MIGRATION_LOCK =
+        """
+        SELECT GET_LOCK(?, ?)
+        """;
+
+    public static final String RELEASE_MIGRATION_LOCK =
+        """
+        SELECT RELEASE_LOCK(?)
+        """;
 }
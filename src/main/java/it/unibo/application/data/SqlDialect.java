@@ -0,0 +1,71 @@
+package it.unibo.application.data;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// The SQL dialects the application can run against. The queries in Queries are
+// written for MySQL and run unchanged on H2 in MySQL compatibility mode; what
+// differs is the DDL of the setup scripts, which is rewritten statement by statement.
+public enum SqlDialect {
+    MYSQL {
+        @Override
+        public List<String> translateScriptStatement(final String statement) {
+            return List.of(statement);
+        }
+    },
+    H2 {
+        @Override
+        public List<String> translateScriptStatement(final String statement) {
+            final String lower = statement.toLowerCase(Locale.ROOT);
+            // The embedded database is created by its JDBC URL.
+            if (lower.startsWith("create database") || lower.startsWith("use ")) {
+                return List.of();
+            }
+            if (lower.startsWith("create table")) {
+                String translated = UNNAMED_PRIMARY_KEY.matcher(statement).replaceAll("primary key");
+                translated = YEAR_TYPE.matcher(translated).replaceAll("smallint");
+                return List.of(translated);
+            }
+            if (lower.startsWith("alter table")) {
+                return splitAlterTable(UNNAMED_FOREIGN_KEY.matcher(statement).replaceAll("add foreign key"));
+            }
+            return List.of(statement);
+        }
+    };
+
+    private static final Pattern UNNAMED_PRIMARY_KEY = Pattern.compile("(?i)\\bconstraint\\s+primary\\s+key");
+    private static final Pattern UNNAMED_FOREIGN_KEY = Pattern.compile("(?i)\\badd\\s+constraint\\s+foreign\\s+key");
+    private static final Pattern YEAR_TYPE = Pattern.compile("(?i)\\byear\\b");
+    private static final Pattern ALTER_HEAD = Pattern.compile("(?is)^(alter\\s+table\\s+\\S+)\\s+(.*)$");
+    private static final Pattern ADD_SEPARATOR = Pattern.compile("(?i),\\s*(?=add\\s)");
+
+    // Returns the statements to run in place of one statement of a setup script.
+    //
+    public abstract List<String> translateScriptStatement(String statement);
+
+    public static SqlDialect of(final Connection connection) {
+        try {
+            final String url = connection.getMetaData().getURL();
+            return url != null && url.startsWith("jdbc:h2:") ? H2 : MYSQL;
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    // "alter table T add A, add B" becomes "alter table T add A" and "alter table T add B".
+    private static List<String> splitAlterTable(final String statement) {
+        final var matcher = ALTER_HEAD.matcher(statement);
+        if (!matcher.matches()) {
+            return List.of(statement);
+        }
+        final List<String> statements = new ArrayList<>();
+        for (final String clause : ADD_SEPARATOR.split(matcher.group(2))) {
+            statements.add(matcher.group(1) + " " + clause.strip());
+        }
+        return statements;
+    }
+}
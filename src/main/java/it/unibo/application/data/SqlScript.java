@@ -0,0 +1,108 @@
+package it.unibo.application.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs SQL scripts such as PartPicker.sql and fill.sql over JDBC, one statement at a
+// time, translating each statement for the dialect of the target database.
+public final class SqlScript {
+
+    private SqlScript() {
+    }
+
+    public static void runResource(final Connection connection, final String resource, final SqlDialect dialect) {
+        try (InputStream input = SqlScript.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new DAOException("SQL script not found on the classpath: " + resource);
+            }
+            run(connection, new String(input.readAllBytes(), StandardCharsets.UTF_8), dialect);
+        } catch (final IOException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    public static void run(final Connection connection, final String script, final SqlDialect dialect) {
+        for (final String statement : parse(script)) {
+            for (final String translated : dialect.translateScriptStatement(statement)) {
+                try (var jdbcStatement = connection.createStatement()) {
+                    jdbcStatement.execute(translated);
+                } catch (final SQLException e) {
+                    throw new DAOException("Failed to run: " + translated, e);
+                }
+            }
+        }
+    }
+
+    // Splits a script into statements, dropping comments. MySQL accepts both quote
+    // styles for string literals, so double quoted strings are rewritten with single
+    // quotes, which every dialect understands.
+    //
+    public static List<String> parse(final String script) {
+        final List<String> statements = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < script.length()) {
+            final char c = script.charAt(i);
+            if (c == '-' && script.startsWith("--", i)) {
+                i = skipUntil(script, i, "\n");
+            } else if (c == '/' && script.startsWith("/*", i)) {
+                i = skipUntil(script, i + 2, "*/") + 1;
+            } else if (c == '\'' || c == '"') {
+                i = appendString(script, i, current);
+            } else if (c == '`') {
+                final int end = script.indexOf('`', i + 1);
+                current.append(script, i, end + 1);
+                i = end + 1;
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static int skipUntil(final String script, final int from, final String terminator) {
+        final int end = script.indexOf(terminator, from);
+        return end < 0 ? script.length() : end + 1;
+    }
+
+    private static int appendString(final String script, final int start, final StringBuilder out) {
+        final char quote = script.charAt(start);
+        out.append('\'');
+        int i = start + 1;
+        while (i < script.length()) {
+            final char c = script.charAt(i);
+            if (c == '\\' && i + 1 < script.length()) {
+                out.append(c).append(script.charAt(i + 1));
+                i += 2;
+            } else if (c == quote && i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                out.append(quote == '\'' ? "''" : "\"");
+                i += 2;
+            } else if (c == quote) {
+                out.append('\'');
+                return i + 1;
+            } else {
+                out.append(c == '\'' ? "''" : String.valueOf(c));
+                i++;
+            }
+        }
+        throw new DAOException("Unterminated string literal in SQL script");
+    }
+
+    private static void addStatement(final List<String> statements, final StringBuilder current) {
+        final String statement = current.toString().strip();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
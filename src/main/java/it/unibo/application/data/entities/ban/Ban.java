@@ -7,6 +7,8 @@ import it.unibo.application.data.DAOUtils;
 import it.unibo.application.data.Queries;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Ban {
     private String bannedUser;
@@ -57,5 +59,26 @@ public class Ban {
             throw new DAOException(e);
             }
         }
+
+        public static List<Ban> getActiveBans(final Connection connection) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_ACTIVE_BANS);
+                var resultSet = statement.executeQuery();
+            ) {
+                final List<Ban> bans = new ArrayList<>();
+                while (resultSet.next()) {
+                    final var bannedUser = resultSet.getString("UsernameAssegnatario");
+                    final var startingDate = resultSet.getDate("DataInizioBan").toLocalDate();
+                    final var endingDate = resultSet.getDate("DataFineBan");
+                    final var description = resultSet.getString("DescrizioneBan");
+                    final var assigner = resultSet.getString("UsernameAssegnatore");
+                    bans.add(new Ban(bannedUser, startingDate, endingDate == null ? null : endingDate.toLocalDate(),
+                        description, assigner));
+                }
+                return bans;
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        }
     }
 }
@@ -0,0 +1,118 @@
+package it.unibo.application.data.entities.builds;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuthorStats {
+    private final String username;
+    private final int buildCount;
+    private final int reviewCount;
+    private final int ratingSum;
+
+    public AuthorStats(final String username, final int buildCount, final int reviewCount, final int ratingSum) {
+        this.username = username;
+        this.buildCount = buildCount;
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getBuildCount() {
+        return buildCount;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public int getRatingSum() {
+        return ratingSum;
+    }
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    public final class DAO {
+
+        public static AuthorStats findByUsername(final Connection connection, final String username) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_AUTHOR_STATS, username);
+                var resultSet = statement.executeQuery();
+            ) {
+                if (resultSet.next()) {
+                    return createAuthorStatsFromResultSet(resultSet);
+                }
+                return new AuthorStats(username, 0, 0, 0);
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        }
+
+        public static List<AuthorStats> getLeaderboard(final Connection connection, final int limit) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_AUTHOR_LEADERBOARD, limit);
+                var resultSet = statement.executeQuery();
+            ) {
+                final List<AuthorStats> leaderboard = new ArrayList<>();
+                while (resultSet.next()) {
+                    leaderboard.add(createAuthorStatsFromResultSet(resultSet));
+                }
+                return leaderboard;
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        }
+
+        // Called inside the build upload transaction, once per published build.
+        //
+        public static void addBuild(final Connection connection, final String username) throws SQLException {
+            try (var statement = DAOUtils.prepare(connection, Queries.INCREMENT_AUTHOR_BUILDS, username)) {
+                statement.executeUpdate();
+            }
+        }
+
+        // Adds a rating change to the author of the given build: a new review is
+        // (1, rating), an edited one is (0, newRating - oldRating).
+        //
+        public static void addRating(final Connection connection, final int buildId,
+                final int reviewDelta, final int ratingDelta) throws SQLException {
+            try (var statement = DAOUtils.prepare(connection, Queries.ADD_AUTHOR_RATING,
+                    reviewDelta, ratingDelta, buildId)) {
+                statement.executeUpdate();
+            }
+        }
+
+        // Recomputes every author's statistics from Pubblicazioni and Recensioni.
+        // Used once to backfill existing data and whenever the projection is suspect.
+        //
+        public static void rebuild(final Connection connection) {
+            DAOUtils.inTransaction(connection, c -> {
+                try (var statement = DAOUtils.prepare(c, Queries.CLEAR_AUTHOR_STATS)) {
+                    statement.executeUpdate();
+                }
+                try (var statement = DAOUtils.prepare(c, Queries.REBUILD_AUTHOR_STATS)) {
+                    statement.executeUpdate();
+                }
+            });
+        }
+
+        private static AuthorStats createAuthorStatsFromResultSet(final ResultSet resultSet) throws SQLException {
+            final var username = resultSet.getString("Username");
+            final var buildCount = resultSet.getInt("NumeroBuild");
+            final var reviewCount = resultSet.getInt("NumeroRecensioni");
+            final var ratingSum = resultSet.getInt("SommaRating");
+            return new AuthorStats(username, buildCount, reviewCount, ratingSum);
+        }
+    }
+}
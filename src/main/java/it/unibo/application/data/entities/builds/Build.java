@@ -3,19 +3,20 @@ package it.unibo.application.data.entities.builds;
 import it.unibo.application.data.DAOException;
 import it.unibo.application.data.DAOUtils;
 import it.unibo.application.data.Queries;
-import it.unibo.application.data.entities.components.Case;
 import it.unibo.application.data.entities.components.Component;
-import it.unibo.application.data.entities.components.Cooler;
-import it.unibo.application.data.entities.components.Cpu;
-import it.unibo.application.data.entities.components.Motherboard;
-import it.unibo.application.data.entities.components.Psu;
+import it.unibo.application.data.entities.components.ComponentLookup;
+import it.unibo.application.data.entities.enums.Part;
 import it.unibo.application.data.entities.login.User;
 
 import java.util.Map;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 
@@ -86,6 +87,27 @@ public class Build {
         return author;
     }
 
+    // The columns of a build row that readBuilds needs once the result set has moved on.
+    private static final class Row {
+        private final String author;
+        private final int buildId;
+        private final int caseId;
+        private final int coolerId;
+        private final int cpuId;
+        private final int motherboardId;
+        private final int psuId;
+
+        Row(final ResultSet resultSet) throws SQLException {
+            this.author = resultSet.getString("Username");
+            this.buildId = resultSet.getInt("CodiceBuild");
+            this.caseId = resultSet.getInt("CodiceCase");
+            this.coolerId = resultSet.getInt("CodiceCooler");
+            this.cpuId = resultSet.getInt("CodiceCpu");
+            this.motherboardId = resultSet.getInt("CodiceMotherboard");
+            this.psuId = resultSet.getInt("CodicePsu");
+        }
+    }
+
     public final class DAO {
 
         public static List<Build> getBuilds(final Connection connection) {
@@ -93,27 +115,7 @@ public class Build {
                     var statement = DAOUtils.prepare(connection, Queries.GET_BUILDS);
                     var resultSet = statement.executeQuery();
                 ) {
-                    final List<Build> builds = new ArrayList<>();
-                    while (resultSet.next()) {
-                        final var author = resultSet.getString("Username");
-                        final var buildId = resultSet.getInt("CodiceBuild");
-                        final var caseId = resultSet.getInt("CodiceCase");
-                        final var coolerId = resultSet.getInt("CodiceCooler");
-                        final var cpuId = resultSet.getInt("CodiceCpu");
-                        final var motherboardId = resultSet.getInt("CodiceMotherboard");
-                        final var psuId = resultSet.getInt("CodicePsu");
-                        final var _case = Case.DAO.findById(connection, caseId);
-                        final var cooler = Cooler.DAO.findById(connection, coolerId);
-                        final var cpu = Cpu.DAO.findById(connection, cpuId);
-                        final var psu = Psu.DAO.findById(connection, psuId);
-                        final var motherboard = Motherboard.DAO.findById(connection, motherboardId);
-                        builds.add(new Build(buildId, cooler, _case, psu, cpu, motherboard,
-                            GpuUsage.DAO.getUsedGpus(connection, buildId),
-                            RamUsage.DAO.getUsedRams(connection, buildId),
-                            StorageUsage.DAO.getUsedStorage(connection, buildId),
-                            author));
-                    }
-                    return builds;
+                    return readBuilds(connection, resultSet);
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
@@ -124,31 +126,92 @@ public class Build {
                     var statement = DAOUtils.prepare(connection, Queries.FIND_BUILD, id);
                     var resultSet = statement.executeQuery();
                 ) {
-                    if (resultSet.next()) {
-                        final var author = resultSet.getString("Username");
-                        final var buildId = resultSet.getInt("CodiceBuild");
-                        final var caseId = resultSet.getInt("CodiceCase");
-                        final var coolerId = resultSet.getInt("CodiceCooler");
-                        final var cpuId = resultSet.getInt("CodiceCpu");
-                        final var motherboardId = resultSet.getInt("CodiceMotherboard");
-                        final var psuId = resultSet.getInt("CodicePsu");
-                        final var _case = Case.DAO.findById(connection, caseId);
-                        final var cooler = Cooler.DAO.findById(connection, coolerId);
-                        final var cpu = Cpu.DAO.findById(connection, cpuId);
-                        final var psu = Psu.DAO.findById(connection, psuId);
-                        final var motherboard = Motherboard.DAO.findById(connection, motherboardId);
-                        return new Build(buildId, cooler, _case, psu, cpu, motherboard,
-                            GpuUsage.DAO.getUsedGpus(connection, buildId),
-                            RamUsage.DAO.getUsedRams(connection, buildId),
-                            StorageUsage.DAO.getUsedStorage(connection, buildId),
-                            author);
-                    }
-                    return null;
+                    final List<Build> builds = readBuilds(connection, resultSet);
+                    return builds.isEmpty() ? null : builds.get(0);
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
         }
 
+        // Reads the build rows first and then resolves the parts of all of them together,
+        // with one query per part type rather than one per part.
+        private static List<Build> readBuilds(final Connection connection, final ResultSet resultSet) throws SQLException {
+            final List<Row> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                rows.add(new Row(resultSet));
+            }
+
+            // A single build, as read by findBuildById, reads its own usages; more builds
+            // read the usages of every build with one query per table instead of three
+            // queries per build.
+            final Set<Integer> buildIds = new HashSet<>();
+            rows.forEach(row -> buildIds.add(row.buildId));
+            if (buildIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            final Map<Integer, List<Integer>> gpuIds;
+            final Map<Integer, List<Integer>> ramIds;
+            final Map<Integer, List<Integer>> storageIds;
+            if (buildIds.size() == 1) {
+                final int buildId = rows.get(0).buildId;
+                gpuIds = Map.of(buildId, GpuUsage.DAO.getUsedGpuIds(connection, buildId));
+                ramIds = Map.of(buildId, RamUsage.DAO.getUsedRamIds(connection, buildId));
+                storageIds = Map.of(buildId, StorageUsage.DAO.getUsedStorageIds(connection, buildId));
+            } else {
+                gpuIds = GpuUsage.DAO.getUsedGpuIdsByBuild(connection);
+                ramIds = RamUsage.DAO.getUsedRamIdsByBuild(connection);
+                storageIds = StorageUsage.DAO.getUsedStorageIdsByBuild(connection);
+            }
+
+            final Map<Part, Set<Integer>> idsByPart = new EnumMap<>(Part.class);
+            for (final Row row : rows) {
+                addId(idsByPart, Part.CASE, row.caseId);
+                addId(idsByPart, Part.COOLER, row.coolerId);
+                addId(idsByPart, Part.CPU, row.cpuId);
+                addId(idsByPart, Part.MOTHERBOARD, row.motherboardId);
+                addId(idsByPart, Part.PSU, row.psuId);
+            }
+            for (final int buildId : buildIds) {
+                addIds(idsByPart, Part.GPU, gpuIds.get(buildId));
+                addIds(idsByPart, Part.RAM, ramIds.get(buildId));
+                addIds(idsByPart, Part.STORAGE, storageIds.get(buildId));
+            }
+
+            final Map<Integer, Component> components = ComponentLookup.findByIds(connection, idsByPart);
+            final List<Build> builds = new ArrayList<>();
+            for (final Row row : rows) {
+                builds.add(new Build(row.buildId, components.get(row.coolerId), components.get(row.caseId),
+                    components.get(row.psuId), components.get(row.cpuId), components.get(row.motherboardId),
+                    resolve(components, gpuIds.get(row.buildId)),
+                    resolve(components, ramIds.get(row.buildId)),
+                    resolve(components, storageIds.get(row.buildId)),
+                    row.author));
+            }
+            return builds;
+        }
+
+        private static void addId(final Map<Part, Set<Integer>> idsByPart, final Part part, final int id) {
+            idsByPart.computeIfAbsent(part, key -> new HashSet<>()).add(id);
+        }
+
+        private static void addIds(final Map<Part, Set<Integer>> idsByPart, final Part part, final List<Integer> ids) {
+            if (ids != null) {
+                idsByPart.computeIfAbsent(part, key -> new HashSet<>()).addAll(ids);
+            }
+        }
+
+        // A build may use no part of a type, and then has no usage rows for it.
+        private static List<Component> resolve(final Map<Integer, Component> components, final List<Integer> ids) {
+            final List<Component> resolved = new ArrayList<>();
+            if (ids == null) {
+                return resolved;
+            }
+            for (final int id : ids) {
+                resolved.add(components.get(id));
+            }
+            return resolved;
+        }
+
         public static int getLatestBuildId(final Connection connection) {
             try (
                     var statement = DAOUtils.prepare(connection, Queries.GET_LATEST_BUILD_ID);
@@ -178,6 +241,7 @@ public class Build {
                 }
         
                 Upload.DAO.insertUpload(connection, new Upload(build.getBuildId(), user.getUsername(), LocalDate.now()));
+                AuthorStats.DAO.addBuild(connection, user.getUsername());
 
                 final Map<Integer, Integer> gpuUsageMap = new HashMap<>();
                 for (final Component gpu : build.getGpus()) {
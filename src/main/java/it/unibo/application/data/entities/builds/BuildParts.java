@@ -0,0 +1,126 @@
+package it.unibo.application.data.entities.builds;
+
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// A published build as the ids of its parts, for exports: unlike Build it needs no
+// component lookups, so builds can be streamed one row at a time.
+public class BuildParts {
+    private final int buildId;
+    private final String author;
+    private final LocalDate publishedOn;
+    private final int cpuId;
+    private final int motherboardId;
+    private final int coolerId;
+    private final int caseId;
+    private final int psuId;
+    private final Map<Integer, Integer> gpus;
+    private final Map<Integer, Integer> rams;
+    private final Map<Integer, Integer> storage;
+
+    public BuildParts(final int buildId, final String author, final LocalDate publishedOn, final int cpuId,
+            final int motherboardId, final int coolerId, final int caseId, final int psuId,
+            final Map<Integer, Integer> gpus, final Map<Integer, Integer> rams, final Map<Integer, Integer> storage) {
+        this.buildId = buildId;
+        this.author = author;
+        this.publishedOn = publishedOn;
+        this.cpuId = cpuId;
+        this.motherboardId = motherboardId;
+        this.coolerId = coolerId;
+        this.caseId = caseId;
+        this.psuId = psuId;
+        this.gpus = gpus;
+        this.rams = rams;
+        this.storage = storage;
+    }
+
+    public int getBuildId() {
+        return buildId;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public LocalDate getPublishedOn() {
+        return publishedOn;
+    }
+
+    public int getCpuId() {
+        return cpuId;
+    }
+
+    public int getMotherboardId() {
+        return motherboardId;
+    }
+
+    public int getCoolerId() {
+        return coolerId;
+    }
+
+    public int getCaseId() {
+        return caseId;
+    }
+
+    public int getPsuId() {
+        return psuId;
+    }
+
+    // Quantities by component id.
+    public Map<Integer, Integer> getGpus() {
+        return gpus;
+    }
+
+    public Map<Integer, Integer> getRams() {
+        return rams;
+    }
+
+    public Map<Integer, Integer> getStorage() {
+        return storage;
+    }
+
+    public final class DAO {
+        // Every published build, by id. The stream must be closed.
+        public static Stream<BuildParts> stream(final Connection connection) {
+            return DAOUtils.stream(connection, DAO::read, Queries.GET_BUILD_PARTS);
+        }
+
+        private static BuildParts read(final ResultSet resultSet) throws SQLException {
+            return new BuildParts(
+                resultSet.getInt("CodiceBuild"),
+                resultSet.getString("Username"),
+                resultSet.getDate("DataModificaBuild").toLocalDate(),
+                resultSet.getInt("CodiceCpu"),
+                resultSet.getInt("CodiceMotherboard"),
+                resultSet.getInt("CodiceCooler"),
+                resultSet.getInt("CodiceCase"),
+                resultSet.getInt("CodicePsu"),
+                parseQuantities(resultSet.getString("Gpu")),
+                parseQuantities(resultSet.getString("Ram")),
+                parseQuantities(resultSet.getString("Storage")));
+        }
+
+        // "12:2,15:1" as {12=2, 15=1}.
+        private static Map<Integer, Integer> parseQuantities(final String list) {
+            if (list == null || list.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            final Map<Integer, Integer> quantities = new LinkedHashMap<>();
+            for (final String entry : list.split(",")) {
+                final int colon = entry.indexOf(':');
+                quantities.put(Integer.parseInt(entry.substring(0, colon).strip()),
+                    Integer.parseInt(entry.substring(colon + 1).strip()));
+            }
+            return quantities;
+        }
+    }
+}
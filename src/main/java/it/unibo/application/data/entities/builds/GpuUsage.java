@@ -4,11 +4,14 @@ import it.unibo.application.data.DAOException;
 import it.unibo.application.data.DAOUtils;
 import it.unibo.application.data.Queries;
 import it.unibo.application.data.entities.components.Component;
-import it.unibo.application.data.entities.components.Gpu;
+import it.unibo.application.data.entities.components.ComponentLookup;
+import it.unibo.application.data.entities.enums.Part;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
 
 public class GpuUsage {
@@ -48,20 +51,51 @@ public class GpuUsage {
         }
 
         public static List<Component> getUsedGpus(final Connection connection, final int buildId) {
+            final List<Integer> ids = getUsedGpuIds(connection, buildId);
+            final Map<Integer, Component> components = ComponentLookup.findByIds(connection, Part.GPU, ids);
+            final List<Component> gpus = new ArrayList<>();
+            for (final int id : ids) {
+                gpus.add(components.get(id));
+            }
+            return gpus;
+        }
+
+        // The ids of the parts used by the build, repeated by quantity.
+        public static List<Integer> getUsedGpuIds(final Connection connection, final int buildId) {
             try (
                     var statement = DAOUtils.prepare(connection, Queries.FIND_USED_GPUS, buildId);
                     var resultSet = statement.executeQuery();
                 ) {
-                    final List<Component> gpus = new ArrayList<>();
+                    final List<Integer> ids = new ArrayList<>();
+                    while (resultSet.next()) {
+                        final var gpuId = resultSet.getInt("CodiceGpu");
+                        final var quantity = resultSet.getInt("Quantita");
+                        for (int i = 0; i < quantity; i++) {
+                            ids.add(gpuId);
+                        }
+                    }
+                    return ids;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        // The ids of the parts used by every build, repeated by quantity, by build id.
+        public static Map<Integer, List<Integer>> getUsedGpuIdsByBuild(final Connection connection) {
+            try (
+                    var statement = DAOUtils.prepare(connection, Queries.GET_ALL_USED_GPUS);
+                    var resultSet = statement.executeQuery();
+                ) {
+                    final Map<Integer, List<Integer>> ids = new HashMap<>();
                     while (resultSet.next()) {
+                        final var used = ids.computeIfAbsent(resultSet.getInt("CodiceBuild"), id -> new ArrayList<>());
                         final var gpuId = resultSet.getInt("CodiceGpu");
                         final var quantity = resultSet.getInt("Quantita");
-                        final var gpu = Gpu.DAO.findById(connection, gpuId);
                         for (int i = 0; i < quantity; i++) {
-                            gpus.add(gpu);
-                        } 
+                            used.add(gpuId);
+                        }
                     }
-                    return gpus;
+                    return ids;
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
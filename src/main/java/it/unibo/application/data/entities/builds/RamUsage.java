@@ -4,11 +4,14 @@ import it.unibo.application.data.DAOException;
 import it.unibo.application.data.DAOUtils;
 import it.unibo.application.data.Queries;
 import it.unibo.application.data.entities.components.Component;
-import it.unibo.application.data.entities.components.Ram;
+import it.unibo.application.data.entities.components.ComponentLookup;
+import it.unibo.application.data.entities.enums.Part;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
 
 public class RamUsage {
@@ -48,20 +51,51 @@ public class RamUsage {
         }
 
         public static List<Component> getUsedRams(final Connection connection, final int buildId) {
+            final List<Integer> ids = getUsedRamIds(connection, buildId);
+            final Map<Integer, Component> components = ComponentLookup.findByIds(connection, Part.RAM, ids);
+            final List<Component> rams = new ArrayList<>();
+            for (final int id : ids) {
+                rams.add(components.get(id));
+            }
+            return rams;
+        }
+
+        // The ids of the parts used by the build, repeated by quantity.
+        public static List<Integer> getUsedRamIds(final Connection connection, final int buildId) {
             try (
                     var statement = DAOUtils.prepare(connection, Queries.FIND_USED_RAMS, buildId);
                     var resultSet = statement.executeQuery();
                 ) {
-                    final List<Component> rams = new ArrayList<>();
+                    final List<Integer> ids = new ArrayList<>();
+                    while (resultSet.next()) {
+                        final var ramId = resultSet.getInt("CodiceRam");
+                        final var quantity = resultSet.getInt("Quantita");
+                        for (int i = 0; i < quantity; i++) {
+                            ids.add(ramId);
+                        }
+                    }
+                    return ids;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        // The ids of the parts used by every build, repeated by quantity, by build id.
+        public static Map<Integer, List<Integer>> getUsedRamIdsByBuild(final Connection connection) {
+            try (
+                    var statement = DAOUtils.prepare(connection, Queries.GET_ALL_USED_RAMS);
+                    var resultSet = statement.executeQuery();
+                ) {
+                    final Map<Integer, List<Integer>> ids = new HashMap<>();
                     while (resultSet.next()) {
+                        final var used = ids.computeIfAbsent(resultSet.getInt("CodiceBuild"), id -> new ArrayList<>());
                         final var ramId = resultSet.getInt("CodiceRam");
                         final var quantity = resultSet.getInt("Quantita");
-                        final var ram = Ram.DAO.findById(connection, ramId);
                         for (int i = 0; i < quantity; i++) {
-                            rams.add(ram);
-                        } 
+                            used.add(ramId);
+                        }
                     }
-                    return rams;
+                    return ids;
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
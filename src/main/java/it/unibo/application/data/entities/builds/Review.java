@@ -3,6 +3,7 @@ package it.unibo.application.data.entities.builds;
 import java.time.LocalDate;
 import java.util.List;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 
@@ -55,12 +56,7 @@ public class Review {
                 ) {
                     final List<Review> reviews = new ArrayList<>();
                     while (resultSet.next()) {
-                        final var id = resultSet.getInt("CodiceBuild");
-                        final var username = resultSet.getString("Username");
-                        final var rating = resultSet.getInt("RatingRecensione");
-                        final var comment = resultSet.getString("Commento");
-                        final var lastEditDate = resultSet.getDate("DataModificaRecensione").toLocalDate();
-                        reviews.add(new Review(id, username, rating, comment, lastEditDate));
+                        reviews.add(createReviewFromResultSet(resultSet));
                     }
                     return reviews;
                 } catch (final SQLException e) {
@@ -68,30 +64,125 @@ public class Review {
             }
         }
 
-        public static void insertReview(final Connection connection, final Review review) {
+        // Keyset pagination over the primary key: pass "" or null for the first page and
+        // the username of the last review received for the following ones. Null is not
+        // bound as is, since "Username > NULL" matches no row.
+        //
+        public static List<Review> getReviewsPage(final Connection connection, final int buildId,
+                final String afterUsername, final int limit) {
             try (
-                    var statement = DAOUtils.prepare(connection, Queries.INSERT_REVIEW,
-                        review.getBuildId(), review.getUsername(),
-                        review.getReviewRating(), review.getComment(),
-                        review.getLastEditDate());
+                    var statement = DAOUtils.prepare(connection, Queries.GET_REVIEWS_PAGE, buildId,
+                        afterUsername == null ? "" : afterUsername, limit);
+                    var resultSet = statement.executeQuery();
                 ) {
-                    statement.executeUpdate();
+                    final List<Review> reviews = new ArrayList<>();
+                    while (resultSet.next()) {
+                        reviews.add(createReviewFromResultSet(resultSet));
+                    }
+                    return reviews;
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
         }
 
-        public static void updateReview(final Connection connection, final Review review) {
+        public static Review findReview(final Connection connection, final int buildId, final String username) {
             try (
-                    var statement = DAOUtils.prepare(connection, Queries.UPDATE_REVIEW,
-                        review.getReviewRating(), review.getComment(),
-                        review.getLastEditDate(), review.getBuildId(),
-                        review.getUsername());
+                    var statement = DAOUtils.prepare(connection, Queries.FIND_REVIEW, buildId, username);
+                    var resultSet = statement.executeQuery();
                 ) {
-                    statement.executeUpdate();
+                    if (resultSet.next()) {
+                        return createReviewFromResultSet(resultSet);
+                    }
+                    return null;
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
         }
+
+        public static void insertReview(final Connection connection, final Review review) {
+            DAOUtils.inTransaction(connection, c -> {
+                try (
+                        var statement = DAOUtils.prepare(c, Queries.INSERT_REVIEW,
+                            review.getBuildId(), review.getUsername(),
+                            review.getReviewRating(), review.getComment(),
+                            review.getLastEditDate());
+                    ) {
+                        statement.executeUpdate();
+                }
+                applyRatingChange(c, review, null);
+            });
+        }
+
+        public static void updateReview(final Connection connection, final Review review) {
+            DAOUtils.inTransaction(connection, c -> {
+                final Integer previousRating = findPreviousRating(c, review);
+                if (previousRating == null) {
+                    return;
+                }
+                try (
+                        var statement = DAOUtils.prepare(c, Queries.UPDATE_REVIEW,
+                            review.getReviewRating(), review.getComment(),
+                            review.getLastEditDate(), review.getBuildId(),
+                            review.getUsername());
+                    ) {
+                        statement.executeUpdate();
+                }
+                applyRatingChange(c, review, previousRating);
+            });
+        }
+
+        // Inserts the review or replaces the one the same user already left on the build,
+        // without the caller having to know which of the two it is.
+        //
+        public static void upsertReview(final Connection connection, final Review review) {
+            DAOUtils.inTransaction(connection, c -> {
+                final Integer previousRating = findPreviousRating(c, review);
+                try (
+                        var statement = DAOUtils.prepare(c, Queries.UPSERT_REVIEW,
+                            review.getBuildId(), review.getUsername(),
+                            review.getReviewRating(), review.getComment(),
+                            review.getLastEditDate());
+                    ) {
+                        statement.executeUpdate();
+                }
+                applyRatingChange(c, review, previousRating);
+            });
+        }
+
+        // Locks the existing review, if any, so that the projections are updated
+        // against the rating it actually replaces.
+        //
+        private static Integer findPreviousRating(final Connection connection, final Review review) throws SQLException {
+            try (
+                    var statement = DAOUtils.prepare(connection, Queries.FIND_REVIEW_RATING,
+                        review.getBuildId(), review.getUsername());
+                    var resultSet = statement.executeQuery();
+                ) {
+                    return resultSet.next() ? resultSet.getInt("RatingRecensione") : null;
+            }
+        }
+
+        private static void applyRatingChange(final Connection connection, final Review review,
+                final Integer previousRating) throws SQLException {
+            final int buildId = review.getBuildId();
+            final int rating = review.getReviewRating();
+            if (previousRating == null) {
+                ReviewSummary.DAO.addRating(connection, buildId, rating, 1);
+                AuthorStats.DAO.addRating(connection, buildId, 1, rating);
+            } else if (previousRating != rating) {
+                ReviewSummary.DAO.addRating(connection, buildId, previousRating, -1);
+                ReviewSummary.DAO.addRating(connection, buildId, rating, 1);
+                AuthorStats.DAO.addRating(connection, buildId, 0, rating - previousRating);
+            }
+        }
+
+        private static Review createReviewFromResultSet(final ResultSet resultSet) throws SQLException {
+            final var id = resultSet.getInt("CodiceBuild");
+            final var username = resultSet.getString("Username");
+            final var rating = resultSet.getInt("RatingRecensione");
+            final var comment = resultSet.getString("Commento");
+            final var lastEditDate = resultSet.getDate("DataModificaRecensione").toLocalDate();
+            return new Review(id, username, rating, comment, lastEditDate);
+        }
     }
 }
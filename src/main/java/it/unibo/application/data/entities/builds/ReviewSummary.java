@@ -0,0 +1,92 @@
+package it.unibo.application.data.entities.builds;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class ReviewSummary {
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 10;
+
+    private final int buildId;
+    private final int[] histogram;
+    private final int reviewCount;
+    private final int ratingSum;
+
+    // histogram[rating] holds the number of reviews with that rating; index 0 is unused.
+    //
+    public ReviewSummary(final int buildId, final int[] histogram) {
+        this.buildId = buildId;
+        this.histogram = Arrays.copyOf(histogram, MAX_RATING + 1);
+        int count = 0;
+        int sum = 0;
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            count += this.histogram[rating];
+            sum += this.histogram[rating] * rating;
+        }
+        this.reviewCount = count;
+        this.ratingSum = sum;
+    }
+
+    public int getBuildId() {
+        return buildId;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    public int getCount(final int rating) {
+        return histogram[rating];
+    }
+
+    public int[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public final class DAO {
+
+        // At most ten rows per build, whatever the number of reviews.
+        //
+        public static ReviewSummary findByBuild(final Connection connection, final int buildId) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_REVIEW_DISTRIBUTION, buildId);
+                var resultSet = statement.executeQuery();
+            ) {
+                final int[] histogram = new int[MAX_RATING + 1];
+                while (resultSet.next()) {
+                    histogram[resultSet.getInt("RatingRecensione")] = resultSet.getInt("NumeroRecensioni");
+                }
+                return new ReviewSummary(buildId, histogram);
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        }
+
+        public static void addRating(final Connection connection, final int buildId,
+                final int rating, final int delta) throws SQLException {
+            try (var statement = DAOUtils.prepare(connection, Queries.ADD_REVIEW_DISTRIBUTION, buildId, rating, delta)) {
+                statement.executeUpdate();
+            }
+        }
+
+        public static void rebuild(final Connection connection) {
+            DAOUtils.inTransaction(connection, c -> {
+                try (var statement = DAOUtils.prepare(c, Queries.CLEAR_REVIEW_DISTRIBUTION)) {
+                    statement.executeUpdate();
+                }
+                try (var statement = DAOUtils.prepare(c, Queries.REBUILD_REVIEW_DISTRIBUTION)) {
+                    statement.executeUpdate();
+                }
+            });
+        }
+    }
+}
@@ -4,11 +4,14 @@ import it.unibo.application.data.DAOException;
 import it.unibo.application.data.DAOUtils;
 import it.unibo.application.data.Queries;
 import it.unibo.application.data.entities.components.Component;
-import it.unibo.application.data.entities.components.Storage;
+import it.unibo.application.data.entities.components.ComponentLookup;
+import it.unibo.application.data.entities.enums.Part;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
 
 public class StorageUsage {
@@ -48,20 +51,51 @@ public class StorageUsage {
         }
 
         public static List<Component> getUsedStorage(final Connection connection, final int buildId) {
+            final List<Integer> ids = getUsedStorageIds(connection, buildId);
+            final Map<Integer, Component> components = ComponentLookup.findByIds(connection, Part.STORAGE, ids);
+            final List<Component> storage = new ArrayList<>();
+            for (final int id : ids) {
+                storage.add(components.get(id));
+            }
+            return storage;
+        }
+
+        // The ids of the parts used by the build, repeated by quantity.
+        public static List<Integer> getUsedStorageIds(final Connection connection, final int buildId) {
             try (
                     var statement = DAOUtils.prepare(connection, Queries.FIND_USED_STORAGE, buildId);
                     var resultSet = statement.executeQuery();
                 ) {
-                    final List<Component> storages = new ArrayList<>();
+                    final List<Integer> ids = new ArrayList<>();
+                    while (resultSet.next()) {
+                        final var storageId = resultSet.getInt("CodiceStorage");
+                        final var quantity = resultSet.getInt("Quantita");
+                        for (int i = 0; i < quantity; i++) {
+                            ids.add(storageId);
+                        }
+                    }
+                    return ids;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        // The ids of the parts used by every build, repeated by quantity, by build id.
+        public static Map<Integer, List<Integer>> getUsedStorageIdsByBuild(final Connection connection) {
+            try (
+                    var statement = DAOUtils.prepare(connection, Queries.GET_ALL_USED_STORAGE);
+                    var resultSet = statement.executeQuery();
+                ) {
+                    final Map<Integer, List<Integer>> ids = new HashMap<>();
                     while (resultSet.next()) {
+                        final var used = ids.computeIfAbsent(resultSet.getInt("CodiceBuild"), id -> new ArrayList<>());
                         final var storageId = resultSet.getInt("CodiceStorage");
                         final var quantity = resultSet.getInt("Quantita");
-                        final var storage = Storage.DAO.findById(connection, storageId);
                         for (int i = 0; i < quantity; i++) {
-                            storages.add(storage);
-                        } 
+                            used.add(storageId);
+                        }
                     }
-                    return storages;
+                    return ids;
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
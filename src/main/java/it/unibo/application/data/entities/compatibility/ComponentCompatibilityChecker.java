@@ -8,9 +8,16 @@ import it.unibo.application.data.entities.enums.Specs;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class ComponentCompatibilityChecker {
     private Connection connection;
+    // The RAM generations supported by each CPU, once load() has read them; until
+    // then, and after invalidate(), every check queries the database.
+    private volatile Map<Integer, Set<String>> ramGenerationsByCpu;
 
     public ComponentCompatibilityChecker(Connection connection) {
         this.connection = connection;
@@ -25,6 +32,11 @@ public class ComponentCompatibilityChecker {
     }
 
     public boolean checkCompatibility(final Component ram, final Component cpu) {
+        final Map<Integer, Set<String>> loaded = ramGenerationsByCpu;
+        if (loaded != null) {
+            final Set<String> generations = loaded.get(cpu.getBaseInfo().getId());
+            return generations != null && generations.contains(ram.getSpecificAttributes().get(Specs.RAM_GEN));
+        }
         try (
                 var statement = DAOUtils.prepare(connection, Queries.RAM_CPU_MATCH,
                     ram.getSpecificAttributes().get(Specs.RAM_GEN), cpu.getBaseInfo().getId());
@@ -38,4 +50,35 @@ public class ComponentCompatibilityChecker {
                 throw new DAOException(e);
             }
         }
+
+    // Reads the whole compatibility table, which may be done on another connection.
+    public void load(final Connection source) {
+        final Map<Integer, Set<String>> generations = new HashMap<>();
+        try (
+                var statement = DAOUtils.prepare(source, Queries.GET_RAM_CPU_COMPATIBILITY);
+                var resultSet = statement.executeQuery();
+            ) {
+                while (resultSet.next()) {
+                    generations.computeIfAbsent(resultSet.getInt("CodiceCpu"), id -> new HashSet<>())
+                        .add(resultSet.getString("NomeGenerazioneRam"));
+                }
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        ramGenerationsByCpu = generations;
+    }
+
+    // Serves a table read elsewhere, such as from a catalog snapshot.
+    public void install(final Map<Integer, Set<String>> generations) {
+        ramGenerationsByCpu = generations;
+    }
+
+    // The loaded table, or null.
+    public Map<Integer, Set<String>> getRamGenerationsByCpu() {
+        return ramGenerationsByCpu;
+    }
+
+    public void invalidate() {
+        ramGenerationsByCpu = null;
+    }
 }
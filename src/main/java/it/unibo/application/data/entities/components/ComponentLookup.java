@@ -0,0 +1,139 @@
+package it.unibo.application.data.entities.components;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.monitoring.QueryMetrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Resolves any mix of component ids to typed components with one query per part type
+// present, instead of one FIND_* query per id. When the caller does not know the types,
+// they are read from componenti.TipoComponente first.
+//
+// IN lists are padded to a few fixed lengths by repeating the last id, so that each
+// part type has a handful of distinct statements to prepare and to report in the
+// query metrics; longer lists are split into chunks of the largest length.
+public final class ComponentLookup {
+    private static final int[] IN_LIST_SIZES = { 1, 4, 16, 64, 256 };
+    private static final Map<Part, String[]> PART_QUERIES = new EnumMap<>(Part.class);
+    private static final String[] TYPE_QUERIES = new String[IN_LIST_SIZES.length];
+
+    static {
+        for (int i = 0; i < IN_LIST_SIZES.length; i++) {
+            final String inList = inList(IN_LIST_SIZES[i]);
+            TYPE_QUERIES[i] = Queries.GET_COMPONENT_TYPES.strip() + " " + inList;
+            QueryMetrics.name(TYPE_QUERIES[i], "GET_COMPONENT_TYPES_IN_" + IN_LIST_SIZES[i]);
+        }
+        for (final Part part : Part.values()) {
+            final String[] queries = new String[IN_LIST_SIZES.length];
+            for (int i = 0; i < IN_LIST_SIZES.length; i++) {
+                queries[i] = part.getListQuery().strip() + " AND componenti.CodiceComponente " + inList(IN_LIST_SIZES[i]);
+                QueryMetrics.name(queries[i], "FIND_" + part.name() + "_IN_" + IN_LIST_SIZES[i]);
+            }
+            PART_QUERIES.put(part, queries);
+        }
+    }
+
+    private ComponentLookup() {
+    }
+
+    // Components by id, whatever their part type. Unknown ids are left out.
+    public static Map<Integer, Component> findByIds(final Connection connection, final Collection<Integer> ids) {
+        return findByIds(connection, findParts(connection, ids));
+    }
+
+    public static Map<Integer, Component> findByIds(final Connection connection, final Part part,
+            final Collection<Integer> ids) {
+        final Map<Integer, Component> components = new HashMap<>();
+        forEachChunk(ids, (size, chunk) -> {
+            try (
+                var statement = DAOUtils.prepare(connection, PART_QUERIES.get(part)[size], chunk);
+                var resultSet = statement.executeQuery();
+            ) {
+                if (resultSet.next()) {
+                    final ComponentMapper mapper = new ComponentMapper(part, resultSet);
+                    do {
+                        final Component component = mapper.map(resultSet);
+                        components.put(component.getBaseInfo().getId(), component);
+                    } while (resultSet.next());
+                }
+            }
+        });
+        return components;
+    }
+
+    public static Map<Integer, Component> findByIds(final Connection connection,
+            final Map<Part, ? extends Collection<Integer>> idsByPart) {
+        final Map<Integer, Component> components = new HashMap<>();
+        for (final Map.Entry<Part, ? extends Collection<Integer>> part : idsByPart.entrySet()) {
+            if (!part.getValue().isEmpty()) {
+                components.putAll(findByIds(connection, part.getKey(), part.getValue()));
+            }
+        }
+        return components;
+    }
+
+    // The ids grouped by their TipoComponente.
+    public static Map<Part, Set<Integer>> findParts(final Connection connection, final Collection<Integer> ids) {
+        final Map<Part, Set<Integer>> idsByPart = new EnumMap<>(Part.class);
+        forEachChunk(ids, (size, chunk) -> {
+            try (
+                var statement = DAOUtils.prepare(connection, TYPE_QUERIES[size], chunk);
+                var resultSet = statement.executeQuery();
+            ) {
+                while (resultSet.next()) {
+                    idsByPart.computeIfAbsent(Part.ofTypeName(resultSet.getString("TipoComponente")),
+                            part -> new LinkedHashSet<>())
+                        .add(resultSet.getInt("CodiceComponente"));
+                }
+            }
+        });
+        return idsByPart;
+    }
+
+    // Calls query with the index of the IN list size and the padded ids of each chunk.
+    private static void forEachChunk(final Collection<Integer> ids, final ChunkQuery query) {
+        final List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        final int largest = IN_LIST_SIZES[IN_LIST_SIZES.length - 1];
+        try {
+            for (int from = 0; from < distinct.size(); from += largest) {
+                final List<Integer> chunk = distinct.subList(from, Math.min(from + largest, distinct.size()));
+                int size = 0;
+                while (IN_LIST_SIZES[size] < chunk.size()) {
+                    size++;
+                }
+                final Object[] parameters = new Object[IN_LIST_SIZES[size]];
+                for (int i = 0; i < parameters.length; i++) {
+                    parameters[i] = chunk.get(Math.min(i, chunk.size() - 1));
+                }
+                query.run(size, parameters);
+            }
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    private static String inList(final int size) {
+        final StringBuilder inList = new StringBuilder("IN (?");
+        for (int i = 1; i < size; i++) {
+            inList.append(", ?");
+        }
+        return inList.append(')').toString();
+    }
+
+    @FunctionalInterface
+    private interface ChunkQuery {
+        void run(int size, Object[] parameters) throws SQLException;
+    }
+}
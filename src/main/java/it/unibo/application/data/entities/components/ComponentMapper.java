@@ -0,0 +1,102 @@
+package it.unibo.application.data.entities.components;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.entities.enums.Specs;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Builds components of one part type from the rows of a ResultSet, reading the base
+// information and the attributes Part lists for the type. The column of each value
+// is looked up once, when the mapper is created, and every row is then read by index
+// instead of searching the column names cell by cell.
+public final class ComponentMapper {
+    private final Part part;
+    private final Specs[] specs;
+    private final int[] columns;
+    private final int idColumn;
+    private final int nameColumn;
+    private final int launchYearColumn;
+    private final int msrpColumn;
+    private final int manufacturerColumn;
+
+    public ComponentMapper(final Part part, final ResultSet resultSet) throws SQLException {
+        this.part = part;
+        this.specs = part.getSpecs().toArray(new Specs[0]);
+        this.columns = new int[specs.length];
+        for (int i = 0; i < specs.length; i++) {
+            columns[i] = resultSet.findColumn(specs[i].getKey());
+        }
+        this.idColumn = resultSet.findColumn(Specs.COMPONENT_ID.getKey());
+        this.nameColumn = resultSet.findColumn(Specs.COMPONENT_NAME.getKey());
+        this.launchYearColumn = resultSet.findColumn(Specs.COMPONENT_LAUNCH_YEAR.getKey());
+        this.msrpColumn = resultSet.findColumn(Specs.COMPONENT_MSRP.getKey());
+        this.manufacturerColumn = resultSet.findColumn(Specs.COMPONENT_MANUFACTURER.getKey());
+    }
+
+    // Maps the current row.
+    public Component map(final ResultSet resultSet) throws SQLException {
+        final BaseInfo baseInfo = new BaseInfo(resultSet.getInt(idColumn), resultSet.getString(nameColumn),
+            resultSet.getInt(launchYearColumn), resultSet.getFloat(msrpColumn), resultSet.getString(manufacturerColumn));
+        final Map<Specs, String> specificAttributes = new HashMap<>();
+        for (int i = 0; i < specs.length; i++) {
+            final String value = specs[i].isYesNo()
+                ? (resultSet.getBoolean(columns[i]) ? "Yes" : "No")
+                : resultSet.getString(columns[i]);
+            specificAttributes.put(specs[i], value);
+        }
+        return part.newComponent(baseInfo, specificAttributes);
+    }
+
+    public static List<Component> getAll(final Connection connection, final Part part) {
+        try (
+            var statement = DAOUtils.prepare(connection, part.getListQuery());
+            var resultSet = statement.executeQuery();
+        ) {
+            final List<Component> components = new ArrayList<>();
+            if (resultSet.next()) {
+                final ComponentMapper mapper = new ComponentMapper(part, resultSet);
+                do {
+                    components.add(mapper.map(resultSet));
+                } while (resultSet.next());
+            }
+            return components;
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    // Every component of the part type, read as the stream is consumed. The stream
+    // must be closed.
+    public static Stream<Component> stream(final Connection connection, final Part part) {
+        final ComponentMapper[] mapper = new ComponentMapper[1];
+        return DAOUtils.stream(connection, resultSet -> {
+            if (mapper[0] == null) {
+                mapper[0] = new ComponentMapper(part, resultSet);
+            }
+            return mapper[0].map(resultSet);
+        }, part.getListQuery());
+    }
+
+    public static Component findById(final Connection connection, final Part part, final int id) {
+        try (
+            var statement = DAOUtils.prepare(connection, part.getFindQuery(), id);
+            var resultSet = statement.executeQuery();
+        ) {
+            if (resultSet.next()) {
+                return new ComponentMapper(part, resultSet).map(resultSet);
+            }
+            return null;
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+}
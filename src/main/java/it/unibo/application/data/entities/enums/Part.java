@@ -1,12 +1,86 @@
 package it.unibo.application.data.entities.enums;
 
+import it.unibo.application.data.Queries;
+import it.unibo.application.data.entities.components.BaseInfo;
+import it.unibo.application.data.entities.components.Case;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.Cooler;
+import it.unibo.application.data.entities.components.Cpu;
+import it.unibo.application.data.entities.components.Gpu;
+import it.unibo.application.data.entities.components.Motherboard;
+import it.unibo.application.data.entities.components.Psu;
+import it.unibo.application.data.entities.components.Ram;
+import it.unibo.application.data.entities.components.Storage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Each part type with what ComponentMapper needs to read it: its TipoComponente value
+// in componenti, the queries listing all the components and finding one by id, the
+// attributes to read from their rows and the class to build.
 public enum Part {
-    CPU,
-    COOLER,
-    MOTHERBOARD,
-    RAM,
-    STORAGE,
-    GPU,
-    CASE,
-    PSU;
+    CPU("Cpu", Cpu::new, Queries.GET_CPUS, Queries.FIND_CPU,
+        Specs.CPU_FAMILY, Specs.CPU_CORE_COUNT, Specs.CPU_FREQUENCY, Specs.CPU_TDP, Specs.CPU_SMT,
+        Specs.CPU_SOCKET_NAME),
+    COOLER("Cooler", Cooler::new, Queries.GET_COOLER, Queries.FIND_COOLER,
+        Specs.COOLER_RPM, Specs.COOLER_NOISE_LEVEL, Specs.COOLER_TYPE),
+    MOTHERBOARD("Motherboard", Motherboard::new, Queries.GET_MOTHERBOARDS, Queries.FIND_MOTHERBOARD,
+        Specs.MOTHERBOARD_FORM_FACTOR, Specs.MOTHERBOARD_CHIPSET, Specs.MOTHERBOARD_RAM_SLOTS,
+        Specs.MOTHERBOARD_GPU_SLOTS, Specs.MOTHERBOARD_WIFI, Specs.MOTHERBOARD_SOCKET, Specs.MOTHERBOARD_RAM_GEN),
+    RAM("Ram", Ram::new, Queries.GET_RAMS, Queries.FIND_RAM,
+        Specs.RAM_FREQUENCY, Specs.RAM_CAPACITY, Specs.RAM_LATENCY, Specs.RAM_ECC, Specs.RAM_GEN),
+    STORAGE("Storage", Storage::new, Queries.GET_STORAGE, Queries.FIND_STORAGE,
+        Specs.STORAGE_CAPACITY, Specs.STORAGE_RPM, Specs.STORAGE_CACHE, Specs.STORAGE_TYPE),
+    GPU("Gpu", Gpu::new, Queries.GET_GPUS, Queries.FIND_GPU,
+        Specs.GPU_FAMILY, Specs.GPU_MEMORY_TYPE, Specs.GPU_MEMORY_AMOUNT, Specs.GPU_FREQUENCY, Specs.GPU_TGP),
+    CASE("Case", Case::new, Queries.GET_CASES, Queries.FIND_CASE,
+        Specs.CASE_FORM_FACTOR),
+    PSU("Psu", Psu::new, Queries.GET_PSU, Queries.FIND_PSU,
+        Specs.PSU_FORM_FACTOR, Specs.PSU_EFFICIENCY, Specs.PSU_WATTAGE, Specs.PSU_MODULARITY);
+
+    private final String typeName;
+    private final BiFunction<BaseInfo, Map<Specs, String>, Component> constructor;
+    private final String listQuery;
+    private final String findQuery;
+    private final List<Specs> specs;
+
+    private Part(final String typeName, final BiFunction<BaseInfo, Map<Specs, String>, Component> constructor,
+            final String listQuery, final String findQuery, final Specs... specs) {
+        this.typeName = typeName;
+        this.constructor = constructor;
+        this.listQuery = listQuery;
+        this.findQuery = findQuery;
+        this.specs = List.of(specs);
+    }
+
+    public static Part ofTypeName(final String typeName) {
+        for (final Part part : values()) {
+            if (part.typeName.equalsIgnoreCase(typeName)) {
+                return part;
+            }
+        }
+        throw new IllegalArgumentException("Unknown component type: " + typeName);
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public Component newComponent(final BaseInfo baseInfo, final Map<Specs, String> specificAttributes) {
+        return constructor.apply(baseInfo, specificAttributes);
+    }
+
+    public String getListQuery() {
+        return listQuery;
+    }
+
+    // Takes the component id as its only parameter.
+    public String getFindQuery() {
+        return findQuery;
+    }
+
+    public List<Specs> getSpecs() {
+        return specs;
+    }
 }
@@ -14,7 +14,7 @@ public enum Specs {
     CPU_CORE_COUNT("NumeroCore", "Core Count", ""),
     CPU_FREQUENCY("FrequenzaCpu", "Frequency", "GHz"),
     CPU_TDP("Tdp", "Tdp", "w"),
-    CPU_SMT("Smt", "SMT", null),
+    CPU_SMT("Smt", "SMT", null, true),
     CPU_SOCKET_NAME("NomeSocket", "Socket Name", null),
     GPU_FAMILY("FamigliaGpu", "Family", null),
     GPU_MEMORY_TYPE("TipoMemoriaGpu", "Memory Type", null),
@@ -25,7 +25,7 @@ public enum Specs {
     MOTHERBOARD_CHIPSET("NomeChipset", "Chipset", null),
     MOTHERBOARD_RAM_SLOTS("SlotRam", "Ram Slots", null),
     MOTHERBOARD_GPU_SLOTS("SlotGpu", "Gpu Slots", null),
-    MOTHERBOARD_WIFI("WiFi", "WiFi", null),
+    MOTHERBOARD_WIFI("WiFi", "WiFi", null, true),
     MOTHERBOARD_SOCKET("NomeSocket", "Socket", null),
     MOTHERBOARD_RAM_GEN("NomeGenerazioneRam", "Ram Gen", null),
     PSU_FORM_FACTOR("FattoreFormaPsu", "Form Factor", null),
@@ -35,7 +35,7 @@ public enum Specs {
     RAM_FREQUENCY("FrequenzaRam", "Frequency", "MHz"),
     RAM_CAPACITY("CapienzaRam", "Capacity", "GB"),
     RAM_LATENCY("Latenza", "Latency", null),
-    RAM_ECC("Ecc", "ECC", null),
+    RAM_ECC("Ecc", "ECC", null, true),
     RAM_GEN("NomeGenerazioneRam", "Ram Gen", null),
     STORAGE_CAPACITY("CapienzaStorage", "Capacity", "GB"),
     STORAGE_RPM("RpmStorage", "RPM", null),
@@ -45,11 +45,18 @@ public enum Specs {
     private final String key;
     private final String fieldName;
     private final String suffix;
+    // Boolean columns, shown as Yes or No.
+    private final boolean yesNo;
 
     private Specs(final String columnName, final String fieldName, final String suffix) {
+        this(columnName, fieldName, suffix, false);
+    }
+
+    private Specs(final String columnName, final String fieldName, final String suffix, final boolean yesNo) {
         this.key = columnName;
         this.fieldName = fieldName;
         this.suffix = suffix;
+        this.yesNo = yesNo;
     }
 
     public String getKey() {
@@ -64,6 +71,10 @@ public enum Specs {
         return suffix;
     }
 
+    public boolean isYesNo() {
+        return yesNo;
+    }
+
     public String toString() {
         return fieldName;
     }
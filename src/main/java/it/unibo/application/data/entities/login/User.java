@@ -19,7 +19,7 @@ public class User {
             final Boolean isModerator) {
         this.username = username;
         this.password = password;
-        this.signUpDate = signUpDate;
+        this.signUpDate = signUpDate == null ? null : (Date) signUpDate.clone();
         this.email = email;
         this.isModerator = isModerator;
     }
@@ -33,7 +33,7 @@ public class User {
     }
 
     public Date getSignUpDate() {
-        return signUpDate;
+        return signUpDate == null ? null : (Date) signUpDate.clone();
     }
 
     public String getEmail() {
@@ -64,13 +64,23 @@ public class User {
                 throw new DAOException(e);
             }
         }
-
-        public static boolean isUserBanned(final Connection connection, final String username) {
+        // Login lookup in a single round trip: returns the user only if it exists and
+        // has no active ban.
+        //
+        public static User findUnbannedByUsername(final Connection connection, final String username) {
             try (
-                var statement = DAOUtils.prepare(connection, Queries.CHECK_BAN, username);
+                var statement = DAOUtils.prepare(connection, Queries.FIND_LOGIN_USER, username);
                 var resultSet = statement.executeQuery();
             ) {
-                return resultSet.next();
+                if (resultSet.next() && !resultSet.getBoolean("Bannato")) {
+                    final var userName = resultSet.getString("username");
+                    final var password = resultSet.getString("password");
+                    final var signUpDate = resultSet.getDate("dataRegistrazione");
+                    final var email = resultSet.getString("email");
+                    final var isModerator = resultSet.getBoolean("moderatore");
+                    return new User(userName, password, signUpDate, email, isModerator);
+                }
+                return null;
             } catch (final SQLException e) {
                 throw new DAOException(e);
             }
@@ -91,20 +101,5 @@ public class User {
                 throw new DAOException(e);
             }
         }
-
-        public static double getRating(final Connection connection, final String username) {
-
-            try (
-                var statement = DAOUtils.prepare(connection, Queries.GET_USER_RATING, username);
-                var resultSet = statement.executeQuery();
-            ) {
-                if (resultSet.next()) {
-                    return resultSet.getFloat("AverageRating");
-                }
-                return 0.0;
-            } catch (final SQLException e) {
-                throw new DAOException(e);
-            }
-        }
     }
 }
@@ -4,10 +4,12 @@ import it.unibo.application.data.DAOException;
 import it.unibo.application.data.DAOUtils;
 import it.unibo.application.data.Queries;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ComponentPrice {
     private final int componentId;
@@ -40,6 +42,34 @@ public class ComponentPrice {
     }
 
     public final class DAO {
+        private static final int LAST_SCRAPED_PRICES = 14;
+
+        // The whole price history, by component and date, the compacted weeks as their
+        // average price on their Monday. The stream must be closed.
+        public static Stream<ComponentPrice> streamPriceHistory(final Connection connection) {
+            return DAOUtils.stream(connection, resultSet -> new ComponentPrice(
+                resultSet.getInt("CodiceComponente"),
+                resultSet.getString("NomeRivenditore"),
+                resultSet.getDate("DataRilevamentoPrezzo").toLocalDate(),
+                resultSet.getDouble("PrezzoComponente")), Queries.GET_PRICE_HISTORY);
+        }
+
+        // Inserts the prices as one batch, in one transaction.
+        public static void insertPrices(final Connection connection, final List<ComponentPrice> prices) {
+            DAOUtils.inTransaction(connection, c -> {
+                try (var statement = DAOUtils.prepare(c, Queries.INSERT_PRICE)) {
+                    for (final ComponentPrice price : prices) {
+                        statement.setInt(1, price.getComponentId());
+                        statement.setString(2, price.getResellerName());
+                        statement.setDouble(3, price.getComponentPrice());
+                        statement.setDate(4, Date.valueOf(price.getScrapeDate()));
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        }
+
         public static ComponentPrice getLatestLowestPriceById(final Connection connection, final int componentId) {
             try (
                 var statement = DAOUtils.prepare(connection, Queries.FIND_RECENT_LOWEST_PRICE, componentId);
@@ -52,14 +82,64 @@ public class ComponentPrice {
                         final var componentPrice = resultSet.getDouble("PrezzoComponente");
                         return new ComponentPrice(id, resellerName, scrapeDate, componentPrice);
                     }
+                    // Not scraped within the retention period: the latest compacted week.
+                    final var weeklyPrice = WeeklyPrice.DAO.getLatestLowestWeeklyPrice(connection, componentId);
+                    if (weeklyPrice != null) {
+                        return new ComponentPrice(componentId, weeklyPrice.getResellerName(),
+                            weeklyPrice.getWeekStart(), weeklyPrice.getMinimumPrice());
+                    }
                     return new ComponentPrice(componentId, null, null, 0);
                 } catch (final SQLException e) {
                     throw new DAOException(e);
             }
         }
 
+        // The lowest price of the latest scrape of every component scraped within the
+        // retention period; the others are left to getLatestLowestPriceById.
+        public static List<ComponentPrice> getLatestLowestPrices(final Connection connection) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_RECENT_LOWEST_PRICES);
+                var resultSet = statement.executeQuery();
+                ) {
+                    final List<ComponentPrice> componentPrices = new ArrayList<>();
+                    int previousId = -1;
+                    while (resultSet.next()) {
+                        final var id = resultSet.getInt("CodiceComponente");
+                        if (id == previousId) {
+                            continue;
+                        }
+                        previousId = id;
+                        final var resellerName = resultSet.getString("NomeRivenditore");
+                        final var scrapeDate = resultSet.getDate("DataRilevamentoPrezzo").toLocalDate();
+                        final var componentPrice = resultSet.getDouble("PrezzoComponente");
+                        componentPrices.add(new ComponentPrice(id, resellerName, scrapeDate, componentPrice));
+                    }
+                    return componentPrices;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        // Latest first. When the retention period holds fewer than 14 scrapes, the
+        // list goes on with the compacted weeks before them, one average price each.
         public static List<ComponentPrice> getLastFourteenScrapedPricesByReseller(final Connection connection,
                 final int componentId, final String resellerName) {
+            final List<ComponentPrice> componentPrices = getLastScrapedPrices(connection, componentId, resellerName);
+            if (componentPrices.size() < LAST_SCRAPED_PRICES) {
+                final LocalDate before = componentPrices.isEmpty()
+                    ? LocalDate.now().plusDays(1)
+                    : componentPrices.get(componentPrices.size() - 1).getScrapeDate();
+                for (final WeeklyPrice week : WeeklyPrice.DAO.getWeeklyPricesBefore(connection, componentId,
+                        resellerName, before, LAST_SCRAPED_PRICES - componentPrices.size())) {
+                    componentPrices.add(new ComponentPrice(componentId, resellerName,
+                        week.getWeekStart(), week.getAveragePrice()));
+                }
+            }
+            return componentPrices;
+        }
+
+        private static List<ComponentPrice> getLastScrapedPrices(final Connection connection,
+                final int componentId, final String resellerName) {
             try (
                 var statement = DAOUtils.prepare(connection, Queries.GET_LAST_14_SCRAPED_PRICES, componentId, resellerName);
                 var resultSet = statement.executeQuery();
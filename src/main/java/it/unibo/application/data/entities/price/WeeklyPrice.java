@@ -0,0 +1,248 @@
+package it.unibo.application.data.entities.price;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// The scrapes of a component at a reseller during one week, compacted into their
+// minimum, average and maximum. The price history is kept in two tiers: the raw
+// scrapes of the retention period in PrezziComponenti, and the older weeks in
+// PrezziSettimanali. ComponentPrice.DAO reads across both.
+public class WeeklyPrice {
+    private final int componentId;
+    private final String resellerName;
+    private final LocalDate weekStart;
+    private final double minimumPrice;
+    private final double averagePrice;
+    private final double maximumPrice;
+    private final int scrapeCount;
+
+    public WeeklyPrice(final int componentId, final String resellerName, final LocalDate weekStart,
+            final double minimumPrice, final double averagePrice, final double maximumPrice, final int scrapeCount) {
+        this.componentId = componentId;
+        this.resellerName = resellerName;
+        this.weekStart = weekStart;
+        this.minimumPrice = minimumPrice;
+        this.averagePrice = averagePrice;
+        this.maximumPrice = maximumPrice;
+        this.scrapeCount = scrapeCount;
+    }
+
+    public int getComponentId() {
+        return componentId;
+    }
+
+    public String getResellerName() {
+        return resellerName;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public double getMinimumPrice() {
+        return minimumPrice;
+    }
+
+    public double getAveragePrice() {
+        return averagePrice;
+    }
+
+    public double getMaximumPrice() {
+        return maximumPrice;
+    }
+
+    public int getScrapeCount() {
+        return scrapeCount;
+    }
+
+    public static LocalDate weekStartOf(final LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    // The first day that stays raw when the scrapes of the last retentionDays days are
+    // kept: a Monday, so that compaction only ever folds whole weeks.
+    public static LocalDate retentionCutoff(final LocalDate today, final int retentionDays) {
+        return weekStartOf(today.minusDays(retentionDays));
+    }
+
+    private static WeeklyPrice read(final ResultSet resultSet) throws SQLException {
+        return new WeeklyPrice(
+            resultSet.getInt("CodiceComponente"),
+            resultSet.getString("NomeRivenditore"),
+            resultSet.getDate("InizioSettimana").toLocalDate(),
+            resultSet.getDouble("PrezzoMinimo"),
+            resultSet.getDouble("PrezzoMedio"),
+            resultSet.getDouble("PrezzoMassimo"),
+            resultSet.getInt("NumeroRilevazioni"));
+    }
+
+    // Running minimum, maximum and sum of the scrapes of one week.
+    private static final class Accumulator {
+        private final ComponentPrice first;
+        private double minimum = Double.MAX_VALUE;
+        private double maximum = -Double.MAX_VALUE;
+        private double sum;
+        private int count;
+
+        Accumulator(final ComponentPrice first) {
+            this.first = first;
+        }
+
+        void add(final double price) {
+            minimum = Math.min(minimum, price);
+            maximum = Math.max(maximum, price);
+            sum += price;
+            count++;
+        }
+    }
+
+    public final class DAO {
+        // Components whose old scrapes are compacted in one transaction.
+        private static final int COMPONENTS_PER_TRANSACTION = 100;
+
+        // The lowest price of the latest compacted week of the component, or null.
+        public static WeeklyPrice getLatestLowestWeeklyPrice(final Connection connection, final int componentId) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.FIND_RECENT_LOWEST_WEEKLY_PRICE, componentId);
+                var resultSet = statement.executeQuery();
+                ) {
+                    return resultSet.next() ? read(resultSet) : null;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        // At most limit weeks of the component at the reseller starting before the
+        // given day, latest first.
+        public static List<WeeklyPrice> getWeeklyPricesBefore(final Connection connection, final int componentId,
+                final String resellerName, final LocalDate before, final int limit) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_WEEKLY_PRICES_BEFORE,
+                    componentId, resellerName, Date.valueOf(before), limit);
+                var resultSet = statement.executeQuery();
+                ) {
+                    final List<WeeklyPrice> weeklyPrices = new ArrayList<>();
+                    while (resultSet.next()) {
+                        weeklyPrices.add(read(resultSet));
+                    }
+                    return weeklyPrices;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        // Moves the scrapes dated before the cutoff, which must be a Monday, from
+        // PrezziComponenti into PrezziSettimanali. Each group of components is folded
+        // and deleted in its own transaction, so the job can be stopped at any point
+        // and run again; weeks already in PrezziSettimanali are merged, not replaced.
+        // Returns the number of scrapes compacted.
+        public static long compactBefore(final Connection connection, final LocalDate cutoff) {
+            if (cutoff.getDayOfWeek() != DayOfWeek.MONDAY) {
+                throw new IllegalArgumentException("The cutoff must be a Monday: " + cutoff);
+            }
+            final List<Integer> componentIds = getComponentsWithPricesBefore(connection, cutoff);
+            final long[] compacted = new long[1];
+            for (int i = 0; i < componentIds.size(); i += COMPONENTS_PER_TRANSACTION) {
+                final int firstId = componentIds.get(i);
+                final int lastId = componentIds.get(Math.min(i + COMPONENTS_PER_TRANSACTION, componentIds.size()) - 1);
+                DAOUtils.inTransaction(connection, c -> compacted[0] += compactRange(c, firstId, lastId, cutoff));
+            }
+            return compacted[0];
+        }
+
+        private static List<Integer> getComponentsWithPricesBefore(final Connection connection, final LocalDate cutoff) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_COMPONENTS_WITH_PRICES_BEFORE,
+                    Date.valueOf(cutoff));
+                var resultSet = statement.executeQuery();
+                ) {
+                    final List<Integer> componentIds = new ArrayList<>();
+                    while (resultSet.next()) {
+                        componentIds.add(resultSet.getInt("CodiceComponente"));
+                    }
+                    return componentIds;
+                } catch (final SQLException e) {
+                    throw new DAOException(e);
+            }
+        }
+
+        private static int compactRange(final Connection connection, final int firstId, final int lastId,
+                final LocalDate cutoff) throws SQLException {
+            final Map<WeekKey, Accumulator> weeks = new LinkedHashMap<>();
+            int scrapes = 0;
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_PRICES_TO_COMPACT,
+                    firstId, lastId, Date.valueOf(cutoff));
+                var resultSet = statement.executeQuery();
+                ) {
+                    while (resultSet.next()) {
+                        final var price = new ComponentPrice(
+                            resultSet.getInt("CodiceComponente"),
+                            resultSet.getString("NomeRivenditore"),
+                            resultSet.getDate("DataRilevamentoPrezzo").toLocalDate(),
+                            resultSet.getDouble("PrezzoComponente"));
+                        weeks.computeIfAbsent(new WeekKey(price), k -> new Accumulator(price))
+                            .add(price.getComponentPrice());
+                        scrapes++;
+                    }
+            }
+            if (scrapes == 0) {
+                return 0;
+            }
+            try (var statement = DAOUtils.prepare(connection, Queries.ADD_WEEKLY_PRICE)) {
+                for (final Accumulator week : weeks.values()) {
+                    statement.setInt(1, week.first.getComponentId());
+                    statement.setString(2, week.first.getResellerName());
+                    statement.setDate(3, Date.valueOf(weekStartOf(week.first.getScrapeDate())));
+                    statement.setDouble(4, week.minimum);
+                    statement.setDouble(5, week.maximum);
+                    statement.setDouble(6, week.sum);
+                    statement.setInt(7, week.count);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            try (var statement = DAOUtils.prepare(connection, Queries.DELETE_COMPACTED_PRICES,
+                    firstId, lastId, Date.valueOf(cutoff))) {
+                statement.executeUpdate();
+            }
+            return scrapes;
+        }
+    }
+
+    private static final class WeekKey {
+        private final int componentId;
+        private final String resellerName;
+        private final LocalDate weekStart;
+
+        WeekKey(final ComponentPrice price) {
+            this.componentId = price.getComponentId();
+            this.resellerName = price.getResellerName();
+            this.weekStart = weekStartOf(price.getScrapeDate());
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof WeekKey key && componentId == key.componentId
+                && resellerName.equals(key.resellerName) && weekStart.equals(key.weekStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(componentId, resellerName, weekStart);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package it.unibo.application.data.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import it.unibo.application.data.entities.builds.BuildParts;
+import it.unibo.application.data.entities.components.BaseInfo;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.ComponentMapper;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.entities.enums.Specs;
+import it.unibo.application.data.entities.price.ComponentPrice;
+
+// Exports the catalog, the published builds and the price history. Rows are streamed
+// from the database straight to the writer (see DAOUtils.stream), so memory use does
+// not grow with the size of the tables. Each export returns the number of records
+// written.
+public class DataExporter {
+    private static final List<String> CATALOG_COLUMNS =
+        List.of("Type", "Id", "Name", "LaunchYear", "Msrp", "Manufacturer");
+    private static final List<String> BUILD_COLUMNS = List.of("Id", "Author", "Date",
+        "Cpu", "Motherboard", "Cooler", "Case", "Psu", "Gpu", "Ram", "Storage");
+    private static final List<String> PRICE_COLUMNS = List.of("Component", "Reseller", "Date", "Price");
+
+    private final Connection connection;
+    private final ExportFormat format;
+
+    public DataExporter(final Connection connection, final ExportFormat format) {
+        this.connection = connection;
+        this.format = format;
+    }
+
+    // Every component, one part type at a time. The columns are the common ones
+    // followed by the attributes of every part type, by database column, left empty
+    // where they do not apply.
+    //
+    public long exportCatalog(final Writer out) throws IOException {
+        final List<String> columns = new ArrayList<>(CATALOG_COLUMNS);
+        final Map<String, Integer> specIndexes = new HashMap<>();
+        for (final Part part : Part.values()) {
+            for (final Specs spec : part.getSpecs()) {
+                if (specIndexes.putIfAbsent(spec.getKey(), columns.size()) == null) {
+                    columns.add(spec.getKey());
+                }
+            }
+        }
+
+        final RecordWriter writer = format.newWriter(out, columns);
+        long count = 0;
+        for (final Part part : Part.values()) {
+            try (Stream<Component> components = ComponentMapper.stream(connection, part)) {
+                final Iterator<Component> iterator = components.iterator();
+                while (iterator.hasNext()) {
+                    final Component component = iterator.next();
+                    final BaseInfo info = component.getBaseInfo();
+                    final Object[] values = new Object[columns.size()];
+                    values[0] = part.getTypeName();
+                    values[1] = info.getId();
+                    values[2] = info.getName();
+                    values[3] = info.getLaunchYear();
+                    values[4] = info.getMsrp();
+                    values[5] = info.getManufacturer();
+                    for (final Map.Entry<Specs, String> attribute : component.getSpecificAttributes().entrySet()) {
+                        final Integer index = specIndexes.get(attribute.getKey().getKey());
+                        if (index != null) {
+                            values[index] = attribute.getValue();
+                        }
+                    }
+                    writer.write(Arrays.asList(values));
+                    count++;
+                }
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    // Every published build with the ids of its parts; GPUs, RAM and storage as
+    // quantities by id.
+    //
+    public long exportBuilds(final Writer out) throws IOException {
+        final RecordWriter writer = format.newWriter(out, BUILD_COLUMNS);
+        long count = 0;
+        try (Stream<BuildParts> builds = BuildParts.DAO.stream(connection)) {
+            final Iterator<BuildParts> iterator = builds.iterator();
+            while (iterator.hasNext()) {
+                final BuildParts build = iterator.next();
+                writer.write(Arrays.asList(build.getBuildId(), build.getAuthor(), build.getPublishedOn(),
+                    build.getCpuId(), build.getMotherboardId(), build.getCoolerId(), build.getCaseId(),
+                    build.getPsuId(), build.getGpus(), build.getRams(), build.getStorage()));
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    // The whole price history, by component and date.
+    //
+    public long exportPrices(final Writer out) throws IOException {
+        final RecordWriter writer = format.newWriter(out, PRICE_COLUMNS);
+        long count = 0;
+        try (Stream<ComponentPrice> prices = ComponentPrice.DAO.streamPriceHistory(connection)) {
+            final Iterator<ComponentPrice> iterator = prices.iterator();
+            while (iterator.hasNext()) {
+                final ComponentPrice price = iterator.next();
+                writer.write(Arrays.asList(price.getComponentId(), price.getResellerName(),
+                    price.getScrapeDate(), price.getComponentPrice()));
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package it.unibo.application.data.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+import it.unibo.application.data.ConnectionFactory;
+
+// Command line entry point of the DataExporter:
+//
+//     ./gradlew exportData --args="--what builds --format jsonl --out build/builds.jsonl"
+//
+// Reads the database selected by the partpicker.db.* system properties (see
+// ConnectionFactory) and writes to standard output when --out is not given.
+public final class ExportData {
+    private static final String USAGE = "Options: --what catalog|builds|prices --format csv|jsonl --out FILE";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ExportData() {
+    }
+
+    public static void main(final String[] args) throws IOException, SQLException {
+        String what = null;
+        ExportFormat format = ExportFormat.CSV;
+        Path outFile = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--what" -> what = value.toLowerCase(Locale.ROOT);
+                case "--format" -> format = ExportFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--out" -> outFile = Path.of(value);
+                default -> throw new IllegalArgumentException(USAGE);
+            }
+        }
+        if (what == null) {
+            throw new IllegalArgumentException(USAGE);
+        }
+
+        final long startTime = System.nanoTime();
+        try (Connection connection = ConnectionFactory.fromSystemProperties().open();
+                Writer out = outFile != null
+                    ? Files.newBufferedWriter(outFile, StandardCharsets.UTF_8)
+                    : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            final DataExporter exporter = new DataExporter(connection, format);
+            final long records = switch (what) {
+                case "catalog" -> exporter.exportCatalog(out);
+                case "builds" -> exporter.exportBuilds(out);
+                case "prices" -> exporter.exportPrices(out);
+                default -> throw new IllegalArgumentException(USAGE);
+            };
+            System.err.println("Exported " + records + " records in "
+                + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        }
+    }
+}
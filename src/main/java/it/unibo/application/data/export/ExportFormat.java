@@ -0,0 +1,126 @@
+package it.unibo.application.data.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+// The formats DataExporter writes. Both are written record by record, so nothing but
+// the record at hand is held in memory.
+public enum ExportFormat {
+    // A header line, then one line per record. Maps are written as "key:value;key:value".
+    CSV {
+        @Override
+        public RecordWriter newWriter(final Writer out, final List<String> columns) throws IOException {
+            writeLine(out, columns);
+            return values -> writeLine(out, values);
+        }
+
+        private void writeLine(final Writer out, final List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeField(out, values.get(i));
+            }
+            out.write('\n');
+        }
+
+        private void writeField(final Writer out, final Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            final String text;
+            if (value instanceof Map<?, ?> map) {
+                final StringBuilder entries = new StringBuilder();
+                for (final var entry : map.entrySet()) {
+                    if (entries.length() > 0) {
+                        entries.append(';');
+                    }
+                    entries.append(entry.getKey()).append(':').append(entry.getValue());
+                }
+                text = entries.toString();
+            } else {
+                text = value.toString();
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                out.write(text);
+            } else {
+                out.write('"');
+                out.write(text.replace("\"", "\"\""));
+                out.write('"');
+            }
+        }
+    },
+    // One JSON object per line. Numbers and booleans are written as such, maps as
+    // nested objects; null values are left out.
+    JSONL {
+        @Override
+        public RecordWriter newWriter(final Writer out, final List<String> columns) {
+            return values -> {
+                out.write('{');
+                boolean first = true;
+                for (int i = 0; i < values.size(); i++) {
+                    if (values.get(i) == null) {
+                        continue;
+                    }
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    writeString(out, columns.get(i));
+                    out.write(':');
+                    writeValue(out, values.get(i));
+                }
+                out.write("}\n");
+            };
+        }
+
+        private void writeValue(final Writer out, final Object value) throws IOException {
+            if (value instanceof Number || value instanceof Boolean) {
+                out.write(value.toString());
+            } else if (value instanceof Map<?, ?> map) {
+                out.write('{');
+                boolean first = true;
+                for (final var entry : map.entrySet()) {
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    writeString(out, String.valueOf(entry.getKey()));
+                    out.write(':');
+                    writeValue(out, entry.getValue());
+                }
+                out.write('}');
+            } else {
+                writeString(out, value.toString());
+            }
+        }
+
+        private void writeString(final Writer out, final String text) throws IOException {
+            out.write('"');
+            for (int i = 0; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                switch (c) {
+                    case '"' -> out.write("\\\"");
+                    case '\\' -> out.write("\\\\");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    case '\t' -> out.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                    }
+                }
+            }
+            out.write('"');
+        }
+    };
+
+    // Writes the header, if the format has one, and returns the writer of the records.
+    //
+    public abstract RecordWriter newWriter(Writer out, List<String> columns) throws IOException;
+}
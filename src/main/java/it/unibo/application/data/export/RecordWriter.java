@@ -0,0 +1,11 @@
+package it.unibo.application.data.export;
+
+import java.io.IOException;
+import java.util.List;
+
+// Writes one exported record. Values are in the order of the columns the writer was
+// created with; null values are written as empty, maps as their entries.
+public interface RecordWriter {
+
+    void write(List<?> values) throws IOException;
+}
@@ -0,0 +1,364 @@
+package it.unibo.application.data.generator;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic data for every table of PartPicker.sql. The same seed and
+// configuration always produce the same rows. Rows are handed to a RowSink as soon as
+// they are made; only the ids needed to assemble compatible builds and the per-author
+// counters are kept in memory, never the rows themselves.
+//
+// The data respects the schema constraints: every CPU has a known socket and the
+// CompatibilitaRamCpu rows of the generations that socket supports, every build pairs
+// a CPU with a motherboard of the same socket and RAM of the motherboard generation,
+// and ratings are between 1 and 10. The projection tables are filled consistently
+// with the generated reviews.
+public class DataGenerator {
+    private static final String[] SOCKETS = { "LGA 1200", "LGA 1700", "AM4", "AM5" };
+    private static final String[] CPU_FAMILIES = { "Comet Lake", "Alder Lake", "Zen 3", "Zen 4" };
+    private static final String[] CHIPSETS = { "Z490", "Z690", "B550", "X670" };
+    private static final String[] RAM_GENERATIONS = { "DDR4", "DDR5" };
+    // The RAM generations supported by each socket, as indexes into RAM_GENERATIONS.
+    private static final int[][] SOCKET_RAM_GENERATIONS = { { 0 }, { 0, 1 }, { 0 }, { 1 } };
+    private static final int SOCKET_GENERATION_PAIRS = Arrays.stream(SOCKET_RAM_GENERATIONS).mapToInt(g -> g.length).sum();
+    private static final String[] RESELLERS = { "Amazon", "Ebay", "Newegg" };
+    private static final String[] COUNTRIES = { "USA", "Taiwan", "China", "Germany", "South Korea", "Austria" };
+    private static final String[] GPU_FAMILIES = { "Ampere", "Ada Lovelace", "RDNA 2", "RDNA 3" };
+    private static final String[] FORM_FACTORS = { "ATX", "MicroATX", "MiniITX" };
+    private static final String[] EFFICIENCIES = { "Bronze", "Silver", "Gold", "Platinum", "Titanium" };
+    private static final String[] MODULARITIES = { "Full", "Semi", "No" };
+    private static final String[] COMMENTS = {
+        "Great value for the price", "Runs hot under load", "Solid build", "Would pick a better PSU",
+        "Perfect for gaming", null,
+    };
+
+    private static final int CPU = 0;
+    private static final int GPU = 1;
+    private static final int MOTHERBOARD = 2;
+    private static final int RAM = 3;
+    private static final int PSU = 4;
+    private static final int CASE = 5;
+    private static final int STORAGE = 6;
+    private static final int COOLER = 7;
+    private static final String[] TYPES = { "Cpu", "Gpu", "Motherboard", "Ram", "Psu", "Case", "Storage", "Cooler" };
+    private static final int[] TYPE_WEIGHTS = { 12, 15, 15, 15, 10, 10, 13, 10 };
+    private static final float[] BASE_PRICES = { 250, 450, 180, 80, 110, 90, 100, 60 };
+    // The first components cover every socket, every socket and generation pair for
+    // motherboards and every RAM generation, so that any catalog can form builds.
+    private static final int[] COVERAGE = {
+        CPU, CPU, CPU, CPU, MOTHERBOARD, MOTHERBOARD, MOTHERBOARD, MOTHERBOARD, MOTHERBOARD,
+        RAM, RAM, GPU, PSU, CASE, STORAGE, COOLER,
+    };
+
+    private final GeneratorConfig config;
+
+    public DataGenerator(final GeneratorConfig config) {
+        if (config.getComponents() < COVERAGE.length || config.getUsers() < 1) {
+            throw new IllegalArgumentException("At least " + COVERAGE.length + " components and one user are needed");
+        }
+        this.config = config;
+    }
+
+    public void generate(final RowSink sink, final GeneratorStart start) {
+        new Run(sink, start).generate();
+    }
+
+    // The state of one generation pass.
+    private final class Run {
+        private final RowSink sink;
+        private final GeneratorStart start;
+        private final SplittableRandom catalogRandom;
+        private final SplittableRandom userRandom;
+        private final SplittableRandom buildRandom;
+        private final SplittableRandom priceRandom;
+        private final String userPrefix;
+
+        private final float[] msrps = new float[config.getComponents()];
+        private final IntList cpus = new IntList();
+        private final IntList cpuSockets = new IntList();
+        private final IntList[] motherboardsBySocket = newIntLists(SOCKETS.length);
+        private final IntList[] motherboardGenerationsBySocket = newIntLists(SOCKETS.length);
+        private final IntList[] ramsByGeneration = newIntLists(RAM_GENERATIONS.length);
+        private final IntList gpus = new IntList();
+        private final IntList psus = new IntList();
+        private final IntList cases = new IntList();
+        private final IntList storage = new IntList();
+        private final IntList coolers = new IntList();
+        private int motherboardCount;
+        private int manufacturers;
+
+        Run(final RowSink sink, final GeneratorStart start) {
+            this.sink = sink;
+            this.start = start;
+            final SplittableRandom root = new SplittableRandom(config.getSeed());
+            this.catalogRandom = root.split();
+            this.userRandom = root.split();
+            this.buildRandom = root.split();
+            this.priceRandom = root.split();
+            this.userPrefix = "u" + Long.toString(config.getSeed(), 36) + "_";
+        }
+
+        void generate() {
+            generateCatalog();
+            generateUsers();
+            generateBuilds();
+            generatePrices();
+        }
+
+        private void generateCatalog() {
+            manufacturers = Math.max(5, config.getComponents() / 500);
+            for (int m = 1; m <= manufacturers; m++) {
+                final int id = start.getLastManufacturerId() + m;
+                sink.insert(Table.PRODUTTORI, id, "Manufacturer " + id, COUNTRIES[m % COUNTRIES.length]);
+            }
+            for (final String socket : SOCKETS) {
+                if (!start.hasSocket(socket)) {
+                    sink.insert(Table.SOCKET, socket);
+                }
+            }
+            for (final String generation : RAM_GENERATIONS) {
+                if (!start.hasRamGeneration(generation)) {
+                    sink.insert(Table.GENERAZIONI_RAM, generation);
+                }
+            }
+            for (int i = 0; i < config.getComponents(); i++) {
+                generateComponent(i, i < COVERAGE.length ? COVERAGE[i] : weightedType());
+            }
+        }
+
+        private int weightedType() {
+            int draw = catalogRandom.nextInt(100);
+            for (int type = 0; type < TYPE_WEIGHTS.length; type++) {
+                draw -= TYPE_WEIGHTS[type];
+                if (draw < 0) {
+                    return type;
+                }
+            }
+            return COOLER;
+        }
+
+        private void generateComponent(final int index, final int type) {
+            final SplittableRandom random = catalogRandom;
+            final int id = start.getLastComponentId() + 1 + index;
+            final int year = 2015 + random.nextInt(11);
+            final float msrp = cents(BASE_PRICES[type] * (0.4 + random.nextDouble() * 1.6));
+            final int manufacturer = start.getLastManufacturerId() + 1 + random.nextInt(manufacturers);
+            msrps[index] = msrp;
+            sink.insert(Table.COMPONENTI, id, TYPES[type] + " " + id, TYPES[type], year, msrp, manufacturer);
+
+            switch (type) {
+                case CPU -> {
+                    final int socket = cpus.size() % SOCKETS.length;
+                    sink.insert(Table.CPU, id, CPU_FAMILIES[socket], 2 << random.nextInt(4),
+                        (float) (3.0 + random.nextInt(25) / 10.0), pick(random, 35, 65, 105, 125, 170),
+                        random.nextInt(4) != 0, SOCKETS[socket]);
+                    for (final int generation : SOCKET_RAM_GENERATIONS[socket]) {
+                        sink.insert(Table.COMPATIBILITA_RAM_CPU, RAM_GENERATIONS[generation], id);
+                    }
+                    cpus.add(id);
+                    cpuSockets.add(socket);
+                }
+                case MOTHERBOARD -> {
+                    final int[] pair = socketGenerationPair(motherboardCount++);
+                    sink.insert(Table.MOTHERBOARD, id, FORM_FACTORS[random.nextInt(FORM_FACTORS.length)],
+                        CHIPSETS[pair[0]], random.nextBoolean() ? 4 : 2, 1 + random.nextInt(3),
+                        random.nextBoolean(), SOCKETS[pair[0]], RAM_GENERATIONS[pair[1]]);
+                    motherboardsBySocket[pair[0]].add(id);
+                    motherboardGenerationsBySocket[pair[0]].add(pair[1]);
+                }
+                case RAM -> {
+                    final int generation = (ramsByGeneration[0].size() + ramsByGeneration[1].size())
+                        % RAM_GENERATIONS.length;
+                    final int frequency = generation == 0 ? 2400 + 400 * random.nextInt(4) : 4800 + 400 * random.nextInt(7);
+                    sink.insert(Table.RAM, id, frequency, pick(random, 8, 16, 32), "CL" + (14 + random.nextInt(27)),
+                        random.nextInt(10) == 0, RAM_GENERATIONS[generation]);
+                    ramsByGeneration[generation].add(id);
+                }
+                case GPU -> {
+                    sink.insert(Table.GPU, id, GPU_FAMILIES[random.nextInt(GPU_FAMILIES.length)],
+                        random.nextBoolean() ? "GDDR6" : "GDDR6X", pick(random, 4, 6, 8, 10, 12, 16, 24),
+                        1400 + random.nextInt(1200), 75 + 5 * random.nextInt(76));
+                    gpus.add(id);
+                }
+                case PSU -> {
+                    sink.insert(Table.PSU, id, random.nextInt(5) == 0 ? "SFX" : "ATX",
+                        EFFICIENCIES[random.nextInt(EFFICIENCIES.length)], 450 + 50 * random.nextInt(24),
+                        MODULARITIES[random.nextInt(MODULARITIES.length)]);
+                    psus.add(id);
+                }
+                case CASE -> {
+                    sink.insert(Table.CASE, id, FORM_FACTORS[random.nextInt(FORM_FACTORS.length)]);
+                    cases.add(id);
+                }
+                case STORAGE -> {
+                    final boolean hdd = random.nextInt(4) == 0;
+                    sink.insert(Table.STORAGE, id, pick(random, 250, 500, 1000, 2000, 4000),
+                        hdd ? Integer.valueOf(pick(random, 5400, 7200)) : null, pick(random, 64, 128, 256, 512, 1024),
+                        hdd ? "Hdd" : "Ssd");
+                    storage.add(id);
+                }
+                default -> {
+                    final boolean aio = random.nextInt(3) == 0;
+                    sink.insert(Table.COOLER, id, 800 + 100 * random.nextInt(23),
+                        (float) (18 + random.nextInt(220) / 10.0), aio ? "AIO" : "Aria");
+                    coolers.add(id);
+                }
+            }
+        }
+
+        private void generateUsers() {
+            final SplittableRandom random = userRandom;
+            final LocalDate lastDay = config.getLastDay();
+            for (int u = 0; u < config.getUsers(); u++) {
+                final String username = username(u);
+                sink.insert(Table.UTENTI, username, "password" + u, lastDay.minusDays(random.nextInt(3 * 365)),
+                    username + "@example.com", u % 100 == 0);
+            }
+            // A ban for one user in two hundred, a quarter of them permanent, given by
+            // the first user, who is a moderator.
+            for (int u = 199; u < config.getUsers(); u += 200) {
+                final LocalDate startDay = lastDay.minusDays(1 + random.nextInt(365));
+                final LocalDate endDay = random.nextInt(4) == 0 ? null : startDay.plusDays(7 + random.nextInt(84));
+                sink.insert(Table.BAN, username(u), startDay, endDay, "Ban generato", username(0));
+            }
+        }
+
+        private void generateBuilds() {
+            final SplittableRandom random = buildRandom;
+            final int users = config.getUsers();
+            final int[] authorBuilds = new int[users];
+            final int[] authorReviews = new int[users];
+            final int[] authorRatingSum = new int[users];
+            final int[] histogram = new int[11];
+
+            for (int b = 0; b < config.getBuilds(); b++) {
+                final int id = start.getLastBuildId() + 1 + b;
+                final int cpuIndex = random.nextInt(cpus.size());
+                final int socket = cpuSockets.get(cpuIndex);
+                final int motherboardIndex = random.nextInt(motherboardsBySocket[socket].size());
+                final int generation = motherboardGenerationsBySocket[socket].get(motherboardIndex);
+                sink.insert(Table.BUILD, id, coolers.pick(random), cases.pick(random), psus.pick(random),
+                    cpus.get(cpuIndex), motherboardsBySocket[socket].get(motherboardIndex));
+
+                final int author = random.nextInt(users);
+                final LocalDate published = config.getLastDay().minusDays(random.nextInt(730));
+                sink.insert(Table.PUBBLICAZIONI, id, published, username(author));
+                authorBuilds[author]++;
+
+                final int gpuCount = random.nextInt(10) < 8 ? 1 : random.nextInt(3);
+                if (gpuCount > 0) {
+                    sink.insert(Table.USI_GPU, id, gpus.pick(random), gpuCount);
+                }
+                sink.insert(Table.USI_RAM, id, ramsByGeneration[generation].pick(random), pick(random, 1, 2, 2, 4));
+                final int firstStorage = storage.pick(random);
+                sink.insert(Table.USI_STORAGE, id, firstStorage, 1);
+                final int secondStorage = storage.pick(random);
+                if (secondStorage != firstStorage && random.nextInt(3) == 0) {
+                    sink.insert(Table.USI_STORAGE, id, secondStorage, 1);
+                }
+
+                // Consecutive users from a random offset, so reviewers never repeat.
+                final int reviews = Math.min(random.nextInt(config.getMaxReviewsPerBuild() + 1), users);
+                final int firstReviewer = random.nextInt(users);
+                Arrays.fill(histogram, 0);
+                for (int r = 0; r < reviews; r++) {
+                    final int rating = (2 + random.nextInt(10) + random.nextInt(10)) / 2;
+                    final LocalDate reviewed = published.plusDays(random.nextInt(30));
+                    sink.insert(Table.RECENSIONI, id, username((firstReviewer + r) % users), rating,
+                        COMMENTS[random.nextInt(COMMENTS.length)],
+                        reviewed.isAfter(config.getLastDay()) ? config.getLastDay() : reviewed);
+                    histogram[rating]++;
+                    authorReviews[author]++;
+                    authorRatingSum[author] += rating;
+                }
+                for (int rating = 1; rating < histogram.length; rating++) {
+                    if (histogram[rating] > 0) {
+                        sink.insert(Table.DISTRIBUZIONE_RECENSIONI, id, rating, histogram[rating]);
+                    }
+                }
+            }
+
+            for (int u = 0; u < users; u++) {
+                if (authorBuilds[u] > 0) {
+                    sink.insert(Table.STATISTICHE_AUTORI, username(u), authorBuilds[u], authorReviews[u],
+                        authorRatingSum[u]);
+                }
+            }
+        }
+
+        // A random walk around the list price for every component, reseller and day.
+        private void generatePrices() {
+            final SplittableRandom random = priceRandom;
+            final int days = config.getPriceDays();
+            final LocalDate firstDay = config.getLastDay().minusDays(days - 1);
+            for (int i = 0; i < msrps.length; i++) {
+                final int id = start.getLastComponentId() + 1 + i;
+                for (final String reseller : RESELLERS) {
+                    double price = msrps[i] * (0.85 + random.nextDouble() * 0.3);
+                    for (int d = 0; d < days; d++) {
+                        price = Math.max(msrps[i] * 0.5, Math.min(msrps[i] * 1.5, price * (0.98 + random.nextDouble() * 0.04)));
+                        sink.insert(Table.PREZZI_COMPONENTI, id, reseller, cents(price), firstDay.plusDays(d));
+                    }
+                }
+            }
+        }
+
+        private String username(final int user) {
+            return userPrefix + user;
+        }
+    }
+
+    // Enumerates the valid socket and RAM generation pairs.
+    private static int[] socketGenerationPair(final int index) {
+        int remaining = index % SOCKET_GENERATION_PAIRS;
+        for (int socket = 0; socket < SOCKETS.length; socket++) {
+            if (remaining < SOCKET_RAM_GENERATIONS[socket].length) {
+                return new int[] { socket, SOCKET_RAM_GENERATIONS[socket][remaining] };
+            }
+            remaining -= SOCKET_RAM_GENERATIONS[socket].length;
+        }
+        throw new IllegalStateException();
+    }
+
+    private static int pick(final SplittableRandom random, final int... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static float cents(final double value) {
+        return Math.round(value * 100) / 100f;
+    }
+
+    private static IntList[] newIntLists(final int count) {
+        final IntList[] lists = new IntList[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = new IntList();
+        }
+        return lists;
+    }
+
+    // A growable int array, to keep component ids without boxing.
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(final int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int pick(final SplittableRandom random) {
+            return values[random.nextInt(size)];
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package it.unibo.application.data.generator;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import it.unibo.application.data.ConnectionFactory;
+
+// Command line entry point of the DataGenerator:
+//
+//     ./gradlew generateData --args="--builds 1000000 --csv build/data"
+//
+// Without --csv the rows are inserted into the database selected by the
+// partpicker.db.* system properties (see ConnectionFactory), after the rows already
+// there.
+public final class GenerateData {
+    private static final String USAGE = "Options: --seed N --components N --users N --builds N --reviews N"
+        + " --price-days N --last-day YYYY-MM-DD --batch N --csv DIRECTORY";
+
+    private GenerateData() {
+    }
+
+    public static void main(final String[] args) throws SQLException {
+        final GeneratorConfig config = new GeneratorConfig();
+        Path csvDirectory = null;
+        int batchSize = 1_000;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--seed" -> config.setSeed(Long.parseLong(value));
+                case "--components" -> config.setComponents(Integer.parseInt(value));
+                case "--users" -> config.setUsers(Integer.parseInt(value));
+                case "--builds" -> config.setBuilds(Integer.parseInt(value));
+                case "--reviews" -> config.setMaxReviewsPerBuild(Integer.parseInt(value));
+                case "--price-days" -> config.setPriceDays(Integer.parseInt(value));
+                case "--last-day" -> config.setLastDay(LocalDate.parse(value));
+                case "--batch" -> batchSize = Integer.parseInt(value);
+                case "--csv" -> csvDirectory = Path.of(value);
+                default -> throw new IllegalArgumentException(USAGE);
+            }
+        }
+
+        final DataGenerator generator = new DataGenerator(config);
+        final long startTime = System.nanoTime();
+        if (csvDirectory != null) {
+            try (CsvSink sink = new CsvSink(csvDirectory)) {
+                generator.generate(sink, GeneratorStart.empty());
+            }
+            System.out.println("Wrote " + csvDirectory.resolve("load.sql"));
+        } else {
+            try (Connection connection = ConnectionFactory.fromSystemProperties().open()) {
+                final JdbcBatchSink sink = new JdbcBatchSink(connection, batchSize);
+                try (sink) {
+                    generator.generate(sink, GeneratorStart.of(connection));
+                }
+                System.out.println("Inserted " + sink.getWrittenRows() + " rows");
+            }
+        }
+        System.out.println("Done in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,81 @@
+package it.unibo.application.data.generator;
+
+import java.time.LocalDate;
+
+// How much data the DataGenerator writes. The defaults produce a few hundred
+// thousand rows; production-like volumes are e.g. 100000 components, 1000000 builds
+// and 167 days of prices (50M PrezziComponenti rows with the three resellers).
+public class GeneratorConfig {
+    private long seed = 1;
+    private int components = 2_000;
+    private int users = 1_000;
+    private int builds = 10_000;
+    private int maxReviewsPerBuild = 5;
+    private int priceDays = 30;
+    private LocalDate lastDay = LocalDate.of(2025, 6, 30);
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public GeneratorConfig setSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getComponents() {
+        return components;
+    }
+
+    public GeneratorConfig setComponents(final int components) {
+        this.components = components;
+        return this;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public GeneratorConfig setUsers(final int users) {
+        this.users = users;
+        return this;
+    }
+
+    public int getBuilds() {
+        return builds;
+    }
+
+    public GeneratorConfig setBuilds(final int builds) {
+        this.builds = builds;
+        return this;
+    }
+
+    public int getMaxReviewsPerBuild() {
+        return maxReviewsPerBuild;
+    }
+
+    public GeneratorConfig setMaxReviewsPerBuild(final int maxReviewsPerBuild) {
+        this.maxReviewsPerBuild = maxReviewsPerBuild;
+        return this;
+    }
+
+    public int getPriceDays() {
+        return priceDays;
+    }
+
+    public GeneratorConfig setPriceDays(final int priceDays) {
+        this.priceDays = priceDays;
+        return this;
+    }
+
+    // The most recent date used for prices, reviews and builds. It is fixed rather
+    // than today so that the same seed always produces the same data.
+    public LocalDate getLastDay() {
+        return lastDay;
+    }
+
+    public GeneratorConfig setLastDay(final LocalDate lastDay) {
+        this.lastDay = lastDay;
+        return this;
+    }
+}
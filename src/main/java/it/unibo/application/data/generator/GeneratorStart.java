@@ -0,0 +1,86 @@
+package it.unibo.application.data.generator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+
+// Where the generated data starts: the first free ids and the reference rows that
+// already exist, so that generating into a populated database adds to it instead
+// of colliding with it.
+public class GeneratorStart {
+    private final int lastManufacturerId;
+    private final int lastComponentId;
+    private final int lastBuildId;
+    private final Set<String> sockets;
+    private final Set<String> ramGenerations;
+
+    public GeneratorStart(final int lastManufacturerId, final int lastComponentId, final int lastBuildId,
+            final Set<String> sockets, final Set<String> ramGenerations) {
+        this.lastManufacturerId = lastManufacturerId;
+        this.lastComponentId = lastComponentId;
+        this.lastBuildId = lastBuildId;
+        this.sockets = Set.copyOf(sockets);
+        this.ramGenerations = Set.copyOf(ramGenerations);
+    }
+
+    // An empty database, e.g. when writing CSV files for a fresh schema.
+    public static GeneratorStart empty() {
+        return new GeneratorStart(0, 0, 0, Set.of(), Set.of());
+    }
+
+    public static GeneratorStart of(final Connection connection) {
+        try (
+            var statement = DAOUtils.prepare(connection, Queries.GET_GENERATOR_START);
+            var resultSet = statement.executeQuery();
+        ) {
+            resultSet.next();
+            return new GeneratorStart(
+                resultSet.getInt("MaxProduttore"),
+                resultSet.getInt("MaxComponente"),
+                resultSet.getInt("MaxBuild"),
+                names(connection, Queries.GET_SOCKET_NAMES, "NomeSocket"),
+                names(connection, Queries.GET_RAM_GENERATION_NAMES, "NomeGenerazioneRam"));
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    private static Set<String> names(final Connection connection, final String query, final String column)
+            throws SQLException {
+        try (
+            var statement = DAOUtils.prepare(connection, query);
+            var resultSet = statement.executeQuery();
+        ) {
+            final Set<String> names = new HashSet<>();
+            while (resultSet.next()) {
+                names.add(resultSet.getString(column));
+            }
+            return names;
+        }
+    }
+
+    public int getLastManufacturerId() {
+        return lastManufacturerId;
+    }
+
+    public int getLastComponentId() {
+        return lastComponentId;
+    }
+
+    public int getLastBuildId() {
+        return lastBuildId;
+    }
+
+    public boolean hasSocket(final String socket) {
+        return sockets.contains(socket);
+    }
+
+    public boolean hasRamGeneration(final String generation) {
+        return ramGenerations.contains(generation);
+    }
+}
@@ -0,0 +1,90 @@
+package it.unibo.application.data.generator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import it.unibo.application.data.DAOException;
+
+// Writes rows with one batched prepared statement per table. Whenever batchSize rows
+// are pending every batch is executed, in Table order so that parents are written
+// before their children, and the transaction is committed. Against MySQL, add
+// rewriteBatchedStatements=true to the connection to send each batch as one insert.
+public class JdbcBatchSink implements RowSink {
+    private final Connection connection;
+    private final int batchSize;
+    private final boolean previousAutoCommit;
+    private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+    private int pending;
+    private long written;
+
+    public JdbcBatchSink(final Connection connection, final int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        try {
+            this.previousAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    @Override
+    public void insert(final Table table, final Object... values) {
+        try {
+            PreparedStatement statement = statements.get(table);
+            if (statement == null) {
+                statement = connection.prepareStatement(table.insertStatement());
+                statements.put(table, statement);
+            }
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending >= batchSize) {
+                flush();
+            }
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    public long getWrittenRows() {
+        return written;
+    }
+
+    private void flush() throws SQLException {
+        for (final PreparedStatement statement : statements.values()) {
+            statement.executeBatch();
+        }
+        connection.commit();
+        written += pending;
+        pending = 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+            for (final PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+        } catch (final SQLException e) {
+            try {
+                connection.rollback();
+            } catch (final SQLException rollbackEx) {
+                e.addSuppressed(rollbackEx);
+            }
+            throw new DAOException(e);
+        } finally {
+            try {
+                connection.setAutoCommit(previousAutoCommit);
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package it.unibo.application.data.generator;
+
+// Receives the rows produced by the DataGenerator. Rows of different tables may be
+// interleaved, but a row always arrives after the rows it references.
+public interface RowSink extends AutoCloseable {
+
+    void insert(Table table, Object... values);
+
+    // Writes out anything still buffered.
+    @Override
+    void close();
+}
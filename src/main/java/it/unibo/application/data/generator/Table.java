@@ -0,0 +1,62 @@
+package it.unibo.application.data.generator;
+
+import java.util.List;
+
+// The tables written by the generator, in an order where every table comes after the
+// tables it references, so that flushing or loading them in this order never breaks
+// a foreign key.
+public enum Table {
+    PRODUTTORI("Produttori", "CodiceProduttore", "NomeProduttore", "PaeseProduttore"),
+    SOCKET("`Socket`", "NomeSocket"),
+    GENERAZIONI_RAM("GenerazioniRam", "NomeGenerazioneRam"),
+    COMPONENTI("Componenti", "CodiceComponente", "NomeComponente", "TipoComponente", "AnnoLancio",
+        "PrezzoListino", "CodiceProduttore"),
+    CPU("`Cpu`", "CodiceCpu", "FamigliaCpu", "NumeroCore", "FrequenzaCpu", "Tdp", "Smt", "NomeSocket"),
+    GPU("Gpu", "CodiceGpu", "FamigliaGpu", "TipoMemoriaGpu", "QuantitaMemoriaGpu", "FrequenzaGpu", "Tgp"),
+    MOTHERBOARD("Motherboard", "CodiceMotherboard", "FattoreFormaMotherboard", "NomeChipset", "SlotRam",
+        "SlotGpu", "Wifi", "NomeSocket", "NomeGenerazioneRam"),
+    RAM("Ram", "CodiceRam", "FrequenzaRam", "CapienzaRam", "Latenza", "Ecc", "NomeGenerazioneRam"),
+    PSU("Psu", "CodicePsu", "FattoreFormaPsu", "Efficienza", "Wattaggio", "Modularita"),
+    CASE("`Case`", "CodiceCase", "FattoreFormaCase"),
+    STORAGE("`Storage`", "CodiceStorage", "CapienzaStorage", "RpmStorage", "QuantitaCache", "TipoStorage"),
+    COOLER("Cooler", "CodiceCooler", "RpmCooler", "LivelloRumore", "TipoCooler"),
+    COMPATIBILITA_RAM_CPU("CompatibilitaRamCpu", "NomeGenerazioneRam", "CodiceCpu"),
+    UTENTI("Utenti", "Username", "`Password`", "DataRegistrazione", "Email", "Moderatore"),
+    BAN("Ban", "UsernameAssegnatario", "DataInizioBan", "DataFineBan", "DescrizioneBan", "UsernameAssegnatore"),
+    BUILD("Build", "CodiceBuild", "CodiceCooler", "CodiceCase", "CodicePsu", "CodiceCpu", "CodiceMotherboard"),
+    PUBBLICAZIONI("Pubblicazioni", "CodiceBuild", "DataModificaBuild", "Username"),
+    USI_GPU("UsiGpu", "CodiceBuild", "CodiceGpu", "Quantita"),
+    USI_RAM("UsiRam", "CodiceBuild", "CodiceRam", "Quantita"),
+    USI_STORAGE("UsiStorage", "CodiceBuild", "CodiceStorage", "Quantita"),
+    RECENSIONI("Recensioni", "CodiceBuild", "Username", "RatingRecensione", "Commento", "DataModificaRecensione"),
+    DISTRIBUZIONE_RECENSIONI("DistribuzioneRecensioni", "CodiceBuild", "RatingRecensione", "NumeroRecensioni"),
+    STATISTICHE_AUTORI("StatisticheAutori", "Username", "NumeroBuild", "NumeroRecensioni", "SommaRating"),
+    PREZZI_COMPONENTI("PrezziComponenti", "CodiceComponente", "NomeRivenditore", "PrezzoComponente",
+        "DataRilevamentoPrezzo");
+
+    private final String sqlName;
+    private final List<String> columns;
+
+    Table(final String sqlName, final String... columns) {
+        this.sqlName = sqlName;
+        this.columns = List.of(columns);
+    }
+
+    public String getSqlName() {
+        return sqlName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    // The table name without quotes, used for file names.
+    public String getFileName() {
+        return sqlName.replace("`", "");
+    }
+
+    public String insertStatement() {
+        return "INSERT INTO " + sqlName + " (" + String.join(", ", columns) + ") VALUES ("
+            + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+    }
+}
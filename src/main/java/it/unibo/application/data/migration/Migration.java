@@ -0,0 +1,35 @@
+package it.unibo.application.data.migration;
+
+import java.util.List;
+
+// A versioned change to the schema of PartPicker.sql: a script in the migrations
+// resource directory, run once per database by the MigrationRunner. Add new ones at
+// the end of ALL with the next version; never edit one that has been released.
+public final class Migration {
+    public static final List<Migration> ALL = List.of(
+        new Migration(1, "Indici per le query frequenti", "/migrations/V1__indici_query_frequenti.sql"),
+        new Migration(2, "Riepiloghi settimanali dei prezzi", "/migrations/V2__riepiloghi_prezzi_settimanali.sql"),
+        new Migration(3, "Proiezioni sulle recensioni", "/migrations/V3__proiezioni_recensioni.sql"));
+
+    private final int version;
+    private final String description;
+    private final String script;
+
+    private Migration(final int version, final String description, final String script) {
+        this.version = version;
+        this.description = description;
+        this.script = script;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getScript() {
+        return script;
+    }
+}
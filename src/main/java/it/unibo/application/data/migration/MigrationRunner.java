@@ -0,0 +1,100 @@
+package it.unibo.application.data.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.logging.Logger;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+import it.unibo.application.data.SqlDialect;
+import it.unibo.application.data.SqlScript;
+
+// Brings a database up to the latest Migration. The versions applied so far are
+// rows of VersioniSchema, created on first use; a database set up from PartPicker.sql
+// alone is at version 0. Against MySQL a named lock keeps two instances starting at
+// the same time from running the same migration twice.
+//
+// DDL is not transactional in MySQL: if a script fails halfway, its version is not
+// recorded and the statements that did run must be undone by hand before retrying.
+public final class MigrationRunner {
+    private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class.getName());
+    private static final String LOCK_NAME = "partpicker.migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private MigrationRunner() {
+    }
+
+    // Whether migrations run at startup, -Dpartpicker.migrate=false to leave the
+    // schema to a DBA.
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("partpicker.migrate", "true"));
+    }
+
+    // Returns the number of migrations applied.
+    public static int migrate(final Connection connection) {
+        final SqlDialect dialect = SqlDialect.of(connection);
+        try {
+            try (var statement = connection.createStatement()) {
+                statement.execute(Queries.CREATE_SCHEMA_VERSIONS);
+            }
+            if (dialect == SqlDialect.MYSQL) {
+                lock(connection);
+            }
+            try {
+                return applyPending(connection, dialect);
+            } finally {
+                if (dialect == SqlDialect.MYSQL) {
+                    try (var statement = DAOUtils.prepare(connection, Queries.RELEASE_MIGRATION_LOCK, LOCK_NAME)) {
+                        statement.executeQuery().close();
+                    }
+                }
+            }
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    public static int getCurrentVersion(final Connection connection) {
+        try (
+            var statement = DAOUtils.prepare(connection, Queries.GET_SCHEMA_VERSION);
+            var resultSet = statement.executeQuery();
+        ) {
+            return resultSet.next() ? resultSet.getInt("Versione") : 0;
+        } catch (final SQLException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    private static int applyPending(final Connection connection, final SqlDialect dialect) throws SQLException {
+        final int current = getCurrentVersion(connection);
+        int applied = 0;
+        for (final Migration migration : Migration.ALL) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            final long start = System.nanoTime();
+            SqlScript.runResource(connection, migration.getScript(), dialect);
+            try (var statement = DAOUtils.prepare(connection, Queries.INSERT_SCHEMA_VERSION,
+                    migration.getVersion(), migration.getDescription(), LocalDateTime.now())) {
+                statement.executeUpdate();
+            }
+            applied++;
+            LOGGER.info(() -> "Applied migration " + migration.getVersion() + " (" + migration.getDescription()
+                + ") in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        return applied;
+    }
+
+    private static void lock(final Connection connection) throws SQLException {
+        try (
+            var statement = DAOUtils.prepare(connection, Queries.GET_MIGRATION_LOCK, LOCK_NAME, LOCK_TIMEOUT_SECONDS);
+            var resultSet = statement.executeQuery();
+        ) {
+            if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                throw new DAOException("Timed out waiting for another instance to finish migrating the schema");
+            }
+        }
+    }
+}
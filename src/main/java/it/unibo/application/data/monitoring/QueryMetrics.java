@@ -0,0 +1,186 @@
+package it.unibo.application.data.monitoring;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import it.unibo.application.data.Queries;
+
+// Per-query statistics of every statement prepared through DAOUtils.prepare. Each
+// statement is tagged with the name of its Queries constant and its executions feed
+// a latency histogram and a row count; executions slower than the threshold are
+// logged with the types of their bind parameters.
+//
+//     partpicker.metrics                  false turns the instrumentation off
+//     partpicker.metrics.slowQueryMillis  slow query threshold, 200 ms by default
+//
+public final class QueryMetrics {
+    private static final Logger SLOW_QUERY_LOG = Logger.getLogger(QueryMetrics.class.getName());
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("partpicker.metrics"));
+    private static final Map<String, String> NAMES_BY_IDENTITY = new IdentityHashMap<>();
+    private static final Map<String, String> NAMES_BY_TEXT = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, QueryStats> STATS = new ConcurrentHashMap<>();
+    private static final int SLOW_QUERY_HISTORY = 100;
+    private static final SlowQuery[] SLOW_QUERIES = new SlowQuery[SLOW_QUERY_HISTORY];
+    private static final AtomicInteger OPEN_STATEMENTS = new AtomicInteger();
+    private static int slowQueryNext;
+    private static volatile long slowQueryNanos =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("partpicker.metrics.slowQueryMillis", 200));
+
+    static {
+        for (final Field field : Queries.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    final String query = (String) field.get(null);
+                    NAMES_BY_IDENTITY.put(query, field.getName());
+                    NAMES_BY_TEXT.put(query, field.getName());
+                } catch (final IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    private QueryMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // Wraps a statement so that its executions are measured under the name of query.
+    public static PreparedStatement instrument(final PreparedStatement statement, final String query) {
+        if (!ENABLED) {
+            return statement;
+        }
+        statementOpened();
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class }, new StatementHandler(statement, statsFor(nameOf(query))));
+    }
+
+    // The name of the Queries constant holding the query. Other statements are named
+    // after their first words.
+    public static String nameOf(final String query) {
+        String name = NAMES_BY_IDENTITY.get(query);
+        if (name == null) {
+            name = NAMES_BY_TEXT.get(query);
+        }
+        if (name == null) {
+            final String text = query.strip().replaceAll("\\s+", " ");
+            name = "SQL " + (text.length() > 40 ? text.substring(0, 40) + "..." : text);
+        }
+        return name;
+    }
+
+    // Names a statement built at run time, such as a Queries constant with an IN list
+    // appended, so that it is not reported under its first words.
+    public static void name(final String query, final String name) {
+        NAMES_BY_TEXT.put(query, name);
+    }
+
+    // The names of all the Queries constants, sorted.
+    public static List<String> getQueryNames() {
+        final List<String> names = new ArrayList<>(NAMES_BY_IDENTITY.values());
+        names.sort(Comparator.naturalOrder());
+        return names;
+    }
+
+    // Statements prepared and not yet closed.
+    public static int getOpenStatements() {
+        return OPEN_STATEMENTS.get();
+    }
+
+    static void statementOpened() {
+        OPEN_STATEMENTS.incrementAndGet();
+    }
+
+    static void statementClosed() {
+        OPEN_STATEMENTS.decrementAndGet();
+    }
+
+    static void recordSlowQuery(final String query, final long nanos, final String parameters) {
+        final SlowQuery slowQuery = new SlowQuery(Instant.now(), query, nanos, parameters);
+        synchronized (SLOW_QUERIES) {
+            SLOW_QUERIES[slowQueryNext] = slowQuery;
+            slowQueryNext = (slowQueryNext + 1) % SLOW_QUERY_HISTORY;
+        }
+        SLOW_QUERY_LOG.warning(() -> "Slow query " + query + " took " + TimeUnit.NANOSECONDS.toMillis(nanos)
+            + " ms, parameters " + parameters);
+    }
+
+    // The most recent slow queries, newest first.
+    public static List<SlowQuery> getRecentSlowQueries() {
+        final List<SlowQuery> slowQueries = new ArrayList<>();
+        synchronized (SLOW_QUERIES) {
+            for (int i = 1; i <= SLOW_QUERY_HISTORY; i++) {
+                final SlowQuery slowQuery = SLOW_QUERIES[(slowQueryNext - i + SLOW_QUERY_HISTORY) % SLOW_QUERY_HISTORY];
+                if (slowQuery == null) {
+                    break;
+                }
+                slowQueries.add(slowQuery);
+            }
+        }
+        return slowQueries;
+    }
+
+    public static QueryStats statsFor(final String name) {
+        return STATS.computeIfAbsent(name, QueryStats::new);
+    }
+
+    // All the queries run so far, the ones with the most total time first.
+    public static List<QueryStats> getStats() {
+        final List<QueryStats> stats = new ArrayList<>(STATS.values());
+        stats.sort(Comparator.comparingLong((QueryStats s) -> s.getLatency().getTotalNanos()).reversed());
+        return stats;
+    }
+
+    public static void reset() {
+        STATS.values().forEach(QueryStats::reset);
+    }
+
+    public static long getSlowQueryThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryNanos);
+    }
+
+    public static void setSlowQueryThresholdMillis(final long millis) {
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    static long getSlowQueryThresholdNanos() {
+        return slowQueryNanos;
+    }
+
+    // A plain text table of the queries of getStats() that have run, latencies in
+    // microseconds.
+    public static String report() {
+        final StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+            "%-36s %9s %10s %10s %10s %11s %7s%n", "query", "count", "p50", "p99", "max", "rows", "errors"));
+        for (final QueryStats stats : getStats()) {
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            final LatencyHistogram latency = stats.getLatency();
+            report.append(String.format(Locale.ROOT, "%-36s %9d %10d %10d %10d %11d %7d%n",
+                stats.getName(), stats.getCount(),
+                TimeUnit.NANOSECONDS.toMicros(latency.getPercentileNanos(0.5)),
+                TimeUnit.NANOSECONDS.toMicros(latency.getPercentileNanos(0.99)),
+                TimeUnit.NANOSECONDS.toMicros(latency.getMaxNanos()),
+                stats.getRows(), stats.getErrors()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package it.unibo.application.data.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency, row and error counts of one query.
+public final class QueryStats {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    QueryStats(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    // Rows read for queries, rows changed for updates.
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    void addRows(final long count) {
+        rows.add(count);
+    }
+
+    void addError() {
+        errors.increment();
+    }
+
+    void reset() {
+        latency.reset();
+        rows.reset();
+        errors.reset();
+    }
+}
@@ -0,0 +1,35 @@
+package it.unibo.application.data.monitoring;
+
+import java.time.Instant;
+
+// An execution that took longer than the slow query threshold.
+public final class SlowQuery {
+    private final Instant time;
+    private final String query;
+    private final long nanos;
+    private final String parameters;
+
+    SlowQuery(final Instant time, final String query, final long nanos, final String parameters) {
+        this.time = time;
+        this.query = query;
+        this.nanos = nanos;
+        this.parameters = parameters;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    // The types of the bind parameters, e.g. (Integer, String).
+    public String getParameters() {
+        return parameters;
+    }
+}
@@ -0,0 +1,120 @@
+package it.unibo.application.data.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+import it.unibo.application.monitoring.DaoCallEvent;
+
+// Forwards every call to the wrapped statement, timing the execute* calls and
+// emitting a DaoCallEvent for each when Flight Recorder is recording. The
+// types of the bound parameters are remembered, not their values, so the slow query
+// log shows the shape of a call without leaking user data.
+final class StatementHandler implements InvocationHandler {
+    private final PreparedStatement target;
+    private final QueryStats stats;
+    private String[] parameterTypes = new String[4];
+    private int parameterCount;
+    private CountingResultSet openResultSet;
+    private boolean closed;
+
+    StatementHandler(final PreparedStatement target, final QueryStats stats) {
+        this.target = target;
+        this.stats = stats;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final String name = method.getName();
+        if (name.startsWith("execute")) {
+            return execute(proxy, method, args);
+        }
+        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            recordParameter((Integer) args[0], name.equals("setNull") ? null : args[1]);
+        } else if (name.equals("close")) {
+            flushRows();
+            if (!closed) {
+                closed = true;
+                QueryMetrics.statementClosed();
+            }
+        }
+        return forward(method, args);
+    }
+
+    private Object execute(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        flushRows();
+        final DaoCallEvent event = new DaoCallEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        try {
+            return wrapResult(proxy, forward(method, args), event);
+        } catch (final Throwable e) {
+            stats.addError();
+            commit(event, stats.getName(), 0);
+            throw e;
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            stats.getLatency().record(elapsed);
+            if (elapsed > QueryMetrics.getSlowQueryThresholdNanos()) {
+                QueryMetrics.recordSlowQuery(stats.getName(), elapsed, parameterShape());
+            }
+        }
+    }
+
+    private Object wrapResult(final Object proxy, final Object result, final DaoCallEvent event) {
+        if (result instanceof ResultSet) {
+            openResultSet = new CountingResultSet((ResultSet) result, (PreparedStatement) proxy, stats, event);
+            return openResultSet;
+        }
+        long rows = 0;
+        if (result instanceof Integer || result instanceof Long) {
+            rows = Math.max(0, ((Number) result).longValue());
+        } else if (result instanceof int[]) {
+            for (final int updated : (int[]) result) {
+                rows += Math.max(0, updated);
+            }
+        }
+        stats.addRows(rows);
+        commit(event, stats.getName(), rows);
+        return result;
+    }
+
+    static void commit(final DaoCallEvent event, final String query, final long rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.query = query;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    private void recordParameter(final int index, final Object value) {
+        if (index > parameterTypes.length) {
+            parameterTypes = Arrays.copyOf(parameterTypes, Math.max(index, parameterTypes.length * 2));
+        }
+        parameterTypes[index - 1] = value == null ? "null" : value.getClass().getSimpleName();
+        parameterCount = Math.max(parameterCount, index);
+    }
+
+    private String parameterShape() {
+        return "(" + String.join(", ", Arrays.copyOf(parameterTypes, parameterCount)) + ")";
+    }
+
+    private void flushRows() {
+        if (openResultSet != null) {
+            openResultSet.flushRows();
+            openResultSet = null;
+        }
+    }
+
+    private Object forward(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package it.unibo.application.data.snapshot;
+
+import it.unibo.application.data.entities.components.BaseInfo;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.Manufacturer;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.entities.enums.Specs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// The component catalog, the manufacturers and the RAM/CPU compatibility table,
+// persisted in a local binary file so that the next start can serve them without a
+// query. The file is read through a memory mapping and replaced atomically when
+// written. It records the JDBC URL and the catalog stamp it was taken with; callers
+// compare them with the database before trusting it.
+//
+//     partpicker.snapshot   path of the file, ~/.partpicker/catalog.snapshot by
+//                           default; off disables the snapshot
+//
+// Layout, big endian, strings as a byte length (-1 for null) and UTF-8 bytes:
+//
+//     "PPCS" version url stamp(4 ints)
+//     part count, then per part: name, component count, then per component:
+//         id name launchYear msrp manufacturer, attribute count, (spec name, value)*
+//     manufacturer count, (id name country)*
+//     cpu count, (cpu id, generation count, generation*)*
+//
+public final class CatalogSnapshot {
+    private static final int MAGIC = 0x50504353;
+    private static final int VERSION = 1;
+
+    private final String url;
+    private final CatalogStamp stamp;
+    private final Map<Part, List<Component>> components;
+    private final List<Manufacturer> manufacturers;
+    private final Map<Integer, Set<String>> ramGenerationsByCpu;
+
+    public CatalogSnapshot(final String url, final CatalogStamp stamp, final Map<Part, List<Component>> components,
+            final List<Manufacturer> manufacturers, final Map<Integer, Set<String>> ramGenerationsByCpu) {
+        this.url = url;
+        this.stamp = stamp;
+        this.components = components;
+        this.manufacturers = manufacturers;
+        this.ramGenerationsByCpu = ramGenerationsByCpu;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public CatalogStamp getStamp() {
+        return stamp;
+    }
+
+    public Map<Part, List<Component>> getComponents() {
+        return components;
+    }
+
+    public List<Manufacturer> getManufacturers() {
+        return manufacturers;
+    }
+
+    public Map<Integer, Set<String>> getRamGenerationsByCpu() {
+        return ramGenerationsByCpu;
+    }
+
+    // The file named by partpicker.snapshot, or null if snapshots are off.
+    public static Path configuredFile() {
+        final String file = System.getProperty("partpicker.snapshot");
+        if (file == null) {
+            return Paths.get(System.getProperty("user.home"), ".partpicker", "catalog.snapshot");
+        }
+        return "off".equalsIgnoreCase(file) ? null : Paths.get(file);
+    }
+
+    // Returns null if there is no snapshot or it was written in another format version.
+    public static CatalogSnapshot read(final Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            return read(buffer);
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt catalog snapshot " + file, e);
+        }
+    }
+
+    public void write(final Path file) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, "catalog", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                write(out);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+        writeString(out, url);
+        out.writeInt(stamp.getMaxComponentId());
+        out.writeInt(stamp.getComponents());
+        out.writeInt(stamp.getManufacturers());
+        out.writeInt(stamp.getCompatibilities());
+
+        out.writeInt(components.size());
+        for (final Map.Entry<Part, List<Component>> part : components.entrySet()) {
+            writeString(out, part.getKey().name());
+            out.writeInt(part.getValue().size());
+            for (final Component component : part.getValue()) {
+                final BaseInfo baseInfo = component.getBaseInfo();
+                out.writeInt(baseInfo.getId());
+                writeString(out, baseInfo.getName());
+                out.writeInt(baseInfo.getLaunchYear());
+                out.writeFloat(baseInfo.getMsrp());
+                writeString(out, baseInfo.getManufacturer());
+                out.writeInt(component.getSpecificAttributes().size());
+                for (final Map.Entry<Specs, String> attribute : component.getSpecificAttributes().entrySet()) {
+                    writeString(out, attribute.getKey().name());
+                    writeString(out, attribute.getValue());
+                }
+            }
+        }
+
+        out.writeInt(manufacturers.size());
+        for (final Manufacturer manufacturer : manufacturers) {
+            out.writeInt(manufacturer.getId());
+            writeString(out, manufacturer.getName());
+            writeString(out, manufacturer.getCountry());
+        }
+
+        out.writeInt(ramGenerationsByCpu.size());
+        for (final Map.Entry<Integer, Set<String>> cpu : ramGenerationsByCpu.entrySet()) {
+            out.writeInt(cpu.getKey());
+            out.writeInt(cpu.getValue().size());
+            for (final String generation : cpu.getValue()) {
+                writeString(out, generation);
+            }
+        }
+    }
+
+    private static CatalogSnapshot read(final ByteBuffer in) {
+        final String url = readString(in);
+        final CatalogStamp stamp = new CatalogStamp(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+
+        final Map<Part, List<Component>> components = new EnumMap<>(Part.class);
+        final int parts = in.getInt();
+        for (int p = 0; p < parts; p++) {
+            final Part part = Part.valueOf(readString(in));
+            final int count = in.getInt();
+            final List<Component> list = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) {
+                final BaseInfo baseInfo = new BaseInfo(in.getInt(), readString(in), in.getInt(), in.getFloat(),
+                    readString(in));
+                final int attributes = in.getInt();
+                final Map<Specs, String> specificAttributes = new HashMap<>();
+                for (int a = 0; a < attributes; a++) {
+                    specificAttributes.put(Specs.valueOf(readString(in)), readString(in));
+                }
+                list.add(part.newComponent(baseInfo, specificAttributes));
+            }
+            components.put(part, list);
+        }
+
+        final int manufacturerCount = in.getInt();
+        final List<Manufacturer> manufacturers = new ArrayList<>(manufacturerCount);
+        for (int m = 0; m < manufacturerCount; m++) {
+            manufacturers.add(new Manufacturer(in.getInt(), readString(in), readString(in)));
+        }
+
+        final int cpus = in.getInt();
+        final Map<Integer, Set<String>> ramGenerationsByCpu = new HashMap<>();
+        for (int c = 0; c < cpus; c++) {
+            final int cpuId = in.getInt();
+            final int generations = in.getInt();
+            final Set<String> set = new HashSet<>();
+            for (int g = 0; g < generations; g++) {
+                set.add(readString(in));
+            }
+            ramGenerationsByCpu.put(cpuId, set);
+        }
+        return new CatalogSnapshot(url, stamp, components, manufacturers, ramGenerationsByCpu);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer in) {
+        final int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package it.unibo.application.data.snapshot;
+
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.DAOUtils;
+import it.unibo.application.data.Queries;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// A cheap fingerprint of the catalog tables. Components, manufacturers and
+// compatibilities are only ever added, so any change moves at least one of the
+// figures; a snapshot taken with the same stamp is still current.
+public final class CatalogStamp {
+    private final int maxComponentId;
+    private final int components;
+    private final int manufacturers;
+    private final int compatibilities;
+
+    public CatalogStamp(final int maxComponentId, final int components, final int manufacturers,
+            final int compatibilities) {
+        this.maxComponentId = maxComponentId;
+        this.components = components;
+        this.manufacturers = manufacturers;
+        this.compatibilities = compatibilities;
+    }
+
+    public int getMaxComponentId() {
+        return maxComponentId;
+    }
+
+    public int getComponents() {
+        return components;
+    }
+
+    public int getManufacturers() {
+        return manufacturers;
+    }
+
+    public int getCompatibilities() {
+        return compatibilities;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof CatalogStamp)) {
+            return false;
+        }
+        final CatalogStamp stamp = (CatalogStamp) other;
+        return maxComponentId == stamp.maxComponentId && components == stamp.components
+            && manufacturers == stamp.manufacturers && compatibilities == stamp.compatibilities;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((maxComponentId * 31 + components) * 31 + manufacturers) * 31 + compatibilities;
+    }
+
+    @Override
+    public String toString() {
+        return "max id " + maxComponentId + ", " + components + " components, " + manufacturers
+            + " manufacturers, " + compatibilities + " compatibilities";
+    }
+
+    public final class DAO {
+        public static CatalogStamp read(final Connection connection) {
+            try (
+                var statement = DAOUtils.prepare(connection, Queries.GET_CATALOG_STAMP);
+                var resultSet = statement.executeQuery();
+            ) {
+                resultSet.next();
+                return new CatalogStamp(resultSet.getInt("MaxComponente"), resultSet.getInt("NumeroComponenti"),
+                    resultSet.getInt("NumeroProduttori"), resultSet.getInt("NumeroCompatibilita"));
+            } catch (final SQLException e) {
+                throw new DAOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package it.unibo.application.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.login.User;
+
+// The encoding of journal values. Numbers are variable-length, so that the ids and
+// durations that make up most of a journal take one to three bytes. Entities are
+// written as what a replay needs: users by name only, never with their password, and
+// builds as the ids of their parts (see BuildIds). Anything else is written as its
+// class name and read back as Unsupported.
+final class JournalCodec {
+    private static final int NULL = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int BOOLEAN = 4;
+    private static final int STRING = 5;
+    private static final int ENUM = 6;
+    private static final int REVIEW = 7;
+    private static final int BUILD = 8;
+    private static final int USER = 9;
+    private static final int UNSUPPORTED = 127;
+
+    private JournalCodec() {
+    }
+
+    // An argument that was not recorded.
+    static final class Unsupported {
+        private final String type;
+
+        Unsupported(final String type) {
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return "<" + type + ">";
+        }
+    }
+
+    // A build as the ids of its parts.
+    static final class BuildIds {
+        final int buildId;
+        final String author;
+        final int coolerId;
+        final int caseId;
+        final int psuId;
+        final int cpuId;
+        final int motherboardId;
+        final int[] gpuIds;
+        final int[] ramIds;
+        final int[] storageIds;
+
+        BuildIds(final int buildId, final String author, final int coolerId, final int caseId, final int psuId,
+                final int cpuId, final int motherboardId, final int[] gpuIds, final int[] ramIds,
+                final int[] storageIds) {
+            this.buildId = buildId;
+            this.author = author;
+            this.coolerId = coolerId;
+            this.caseId = caseId;
+            this.psuId = psuId;
+            this.cpuId = cpuId;
+            this.motherboardId = motherboardId;
+            this.gpuIds = gpuIds;
+            this.ramIds = ramIds;
+            this.storageIds = storageIds;
+        }
+
+        @Override
+        public String toString() {
+            return "build " + buildId;
+        }
+    }
+
+    static void writeValue(final DataOutput out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INT);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(flag);
+        } else if (value instanceof String text) {
+            out.writeByte(STRING);
+            out.writeUTF(text);
+        } else if (value instanceof Enum<?> constant) {
+            out.writeByte(ENUM);
+            out.writeUTF(constant.getDeclaringClass().getName());
+            out.writeUTF(constant.name());
+        } else if (value instanceof Review review) {
+            out.writeByte(REVIEW);
+            writeVarLong(out, review.getBuildId());
+            out.writeUTF(review.getUsername());
+            writeVarLong(out, review.getReviewRating());
+            out.writeUTF(review.getComment() != null ? review.getComment() : "");
+            writeVarLong(out, review.getLastEditDate() != null ? review.getLastEditDate().toEpochDay() : 0);
+        } else if (value instanceof Build build) {
+            out.writeByte(BUILD);
+            writeVarLong(out, build.getBuildId());
+            out.writeUTF(build.getAuthor());
+            writeVarLong(out, build.getCooler().getBaseInfo().getId());
+            writeVarLong(out, build.get_case().getBaseInfo().getId());
+            writeVarLong(out, build.getPsu().getBaseInfo().getId());
+            writeVarLong(out, build.getCpu().getBaseInfo().getId());
+            writeVarLong(out, build.getMotherboard().getBaseInfo().getId());
+            writeIds(out, build.getGpus());
+            writeIds(out, build.getRams());
+            writeIds(out, build.getStorage());
+        } else if (value instanceof User user) {
+            out.writeByte(USER);
+            out.writeUTF(user.getUsername());
+        } else {
+            out.writeByte(UNSUPPORTED);
+            out.writeUTF(value.getClass().getSimpleName());
+        }
+    }
+
+    static Object readValue(final DataInput in) throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case INT:
+                return (int) unZigZag(readVarLong(in));
+            case LONG:
+                return unZigZag(readVarLong(in));
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case STRING:
+                return in.readUTF();
+            case ENUM:
+                return readEnum(in.readUTF(), in.readUTF());
+            case REVIEW: {
+                final int buildId = (int) readVarLong(in);
+                final String username = in.readUTF();
+                final int rating = (int) readVarLong(in);
+                final String comment = in.readUTF();
+                final long epochDay = readVarLong(in);
+                return new Review(buildId, username, rating, comment, LocalDate.ofEpochDay(epochDay));
+            }
+            case BUILD:
+                return new BuildIds((int) readVarLong(in), in.readUTF(), (int) readVarLong(in), (int) readVarLong(in),
+                    (int) readVarLong(in), (int) readVarLong(in), (int) readVarLong(in),
+                    readIds(in), readIds(in), readIds(in));
+            case USER:
+                return new User(in.readUTF(), null, null, null, false);
+            case UNSUPPORTED:
+                return new Unsupported(in.readUTF());
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static Object readEnum(final String className, final String name) throws IOException {
+        try {
+            final Class<?> type = Class.forName(className);
+            for (final Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(name)) {
+                    return constant;
+                }
+            }
+        } catch (final ClassNotFoundException e) {
+            // Unknown to this version of the application.
+        }
+        return new Unsupported(className + "." + name);
+    }
+
+    private static void writeIds(final DataOutput out, final List<Component> components) throws IOException {
+        writeVarLong(out, components.size());
+        for (final Component component : components) {
+            writeVarLong(out, component.getBaseInfo().getId());
+        }
+    }
+
+    private static int[] readIds(final DataInput in) throws IOException {
+        final int[] ids = new int[(int) readVarLong(in)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (int) readVarLong(in);
+        }
+        return ids;
+    }
+
+    static List<Object> readValues(final DataInput in, final int count) throws IOException {
+        final List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readValue(in));
+        }
+        return values;
+    }
+
+    // Seven bits per byte, the high bit set on all but the last.
+    static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    static long readVarLong(final DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,42 @@
+package it.unibo.application.journal;
+
+import java.util.List;
+
+// One recorded Controller call. The start is relative to the start of the journal;
+// arguments that cannot be written are replaced by JournalCodec.Unsupported.
+public final class JournalEntry {
+    private final String method;
+    private final long startNanos;
+    private final long durationNanos;
+    private final boolean failed;
+    private final List<Object> arguments;
+
+    public JournalEntry(final String method, final long startNanos, final long durationNanos, final boolean failed,
+            final List<Object> arguments) {
+        this.method = method;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.failed = failed;
+        this.arguments = arguments;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public List<Object> getArguments() {
+        return arguments;
+    }
+}
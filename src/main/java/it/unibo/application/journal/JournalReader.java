@@ -0,0 +1,61 @@
+package it.unibo.application.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Reads a journal written by WorkloadJournal. A journal cut short, say by a crash,
+// is read up to its last complete call.
+public final class JournalReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private JournalReader() {
+    }
+
+    // The calls by start time.
+    public static List<JournalEntry> read(final Path file) throws IOException {
+        final List<JournalEntry> entries = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != WorkloadJournal.MAGIC) {
+                throw new IOException(file + " is not a journal");
+            }
+            final int version = in.readInt();
+            if (version != WorkloadJournal.VERSION) {
+                throw new IOException("Unsupported journal version " + version);
+            }
+            in.readLong();
+            final List<String> methods = new ArrayList<>();
+            while (true) {
+                final int id;
+                try {
+                    id = (int) JournalCodec.readVarLong(in);
+                } catch (final EOFException e) {
+                    break;
+                }
+                try {
+                    if (id == methods.size()) {
+                        methods.add(in.readUTF());
+                    } else if (id > methods.size()) {
+                        throw new IOException("Unknown method id " + id);
+                    }
+                    final long start = JournalCodec.readVarLong(in);
+                    final long duration = JournalCodec.readVarLong(in);
+                    final boolean failed = in.readByte() != 0;
+                    final int count = (int) JournalCodec.readVarLong(in);
+                    entries.add(new JournalEntry(methods.get(id), start, duration, failed,
+                        JournalCodec.readValues(in, count)));
+                } catch (final EOFException e) {
+                    break;
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(JournalEntry::getStartNanos));
+        return entries;
+    }
+}
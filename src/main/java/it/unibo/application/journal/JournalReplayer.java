@@ -0,0 +1,266 @@
+package it.unibo.application.journal;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+import it.unibo.application.data.ConnectionFactory;
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.entities.login.User;
+import it.unibo.application.data.monitoring.LatencyHistogram;
+import it.unibo.application.model.Model;
+
+// Plays a journal written by WorkloadJournal back against the Model, on the database
+// selected by the partpicker.db.* system properties (see ConnectionFactory), and
+// compares the latency of each method with the recording:
+//
+//     ./gradlew replayJournal --args="--journal build/session.journal --speed 4 --summary build/replay.txt"
+//
+// Calls are made one at a time in the order they started, at their original pace
+// divided by --speed, or back to back with --speed max. Calls that only drive the
+// view, that need a password or whose arguments were not recorded are skipped; so
+// are writes with --read-only. A new build gets the next free id, as in BuilderPage.
+//
+// --summary writes the latencies of the replay to a file and --baseline compares them
+// with such a file, so that two versions can be compared on the same journal.
+public final class JournalReplayer {
+    private static final String USAGE = "Options: --journal FILE --speed N|max --read-only"
+        + " --summary FILE --baseline FILE";
+    private static final Set<String> WRITES = Set.of("insertReview", "updateReview", "upsertReview", "insertBuild",
+        "rebuildAuthorStats", "rebuildReviewSummaries");
+
+    private final Model model;
+    private final Map<String, BiConsumer<Model, List<Object>>> calls = new HashMap<>();
+    private final Map<Part, Map<Integer, Component>> catalog = new HashMap<>();
+
+    private JournalReplayer(final Model model, final boolean readOnly) {
+        this.model = model;
+        calls.put("getComponents", (m, a) -> m.getComponents((Part) a.get(0)));
+        calls.put("getBuilds", (m, a) -> m.getBuilds());
+        calls.put("findBuildById", (m, a) -> m.getBuildById((Integer) a.get(0)));
+        calls.put("getReviewsByBuild", (m, a) -> m.getReviewsByBuild((Integer) a.get(0)));
+        calls.put("getReview", (m, a) -> m.getReview((Integer) a.get(0), (String) a.get(1)));
+        calls.put("getReviewsPage", (m, a) -> m.getReviewsPage((Integer) a.get(0), (String) a.get(1),
+            (Integer) a.get(2)));
+        calls.put("getReviewSummary", (m, a) -> m.getReviewSummary((Integer) a.get(0)));
+        calls.put("getLatestBuildId", (m, a) -> m.getLatestBuildId());
+        calls.put("getBuildIdsUsing", (m, a) -> m.getBuildIdsUsing((Integer) a.get(0)));
+        calls.put("countBuildsUsing", (m, a) -> m.countBuildsUsing((Part) a.get(0)));
+        calls.put("getFrequentPartners", (m, a) -> m.getFrequentPartners((Integer) a.get(0)));
+        calls.put("getScrapedPrice", (m, a) -> m.getScrapedPrice((Integer) a.get(0)));
+        calls.put("getRecentComponentPricesByReseller", (m, a) -> m.getRecentComponentPricesByReseller(
+            (Integer) a.get(1), (String) a.get(0)));
+        calls.put("getManufacturers", (m, a) -> m.getManufacturers());
+        calls.put("getLatestComponendId", (m, a) -> m.getLatestComponendId());
+        calls.put("getUser", (m, a) -> m.getUser((String) a.get(0)));
+        calls.put("getUserRating", (m, a) -> m.getUserRating((String) a.get(0)));
+        calls.put("getAuthorStats", (m, a) -> m.getAuthorStats((String) a.get(0)));
+        calls.put("getAuthorLeaderboard", (m, a) -> m.getAuthorLeaderboard((Integer) a.get(0)));
+        if (!readOnly) {
+            calls.put("insertReview", (m, a) -> m.insertReview((Review) a.get(0)));
+            calls.put("updateReview", (m, a) -> m.updateReview((Review) a.get(0)));
+            calls.put("upsertReview", (m, a) -> m.upsertReview((Review) a.get(0)));
+            calls.put("insertBuild", (m, a) -> m.insertBuild(
+                toBuild((JournalCodec.BuildIds) a.get(0)), (User) a.get(1)));
+            calls.put("rebuildAuthorStats", (m, a) -> m.rebuildAuthorStats());
+            calls.put("rebuildReviewSummaries", (m, a) -> m.rebuildReviewSummaries());
+        }
+    }
+
+    public static void main(final String[] args) throws IOException {
+        Path journal = null;
+        double speed = 1;
+        boolean readOnly = false;
+        Path summary = null;
+        Path baseline = null;
+        int i = 0;
+        while (i < args.length) {
+            if ("--read-only".equals(args[i])) {
+                readOnly = true;
+                i++;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--journal" -> journal = Path.of(value);
+                case "--speed" -> speed = "max".equalsIgnoreCase(value) ? 0 : Double.parseDouble(value);
+                case "--summary" -> summary = Path.of(value);
+                case "--baseline" -> baseline = Path.of(value);
+                default -> throw new IllegalArgumentException(USAGE);
+            }
+            i += 2;
+        }
+        if (journal == null) {
+            throw new IllegalArgumentException(USAGE);
+        }
+
+        final List<JournalEntry> entries = JournalReader.read(journal);
+        System.err.println("Replaying " + entries.size() + " calls from " + journal);
+        final Model model = new Model(ConnectionFactory.fromSystemProperties().open());
+        try {
+            final JournalReplayer replayer = new JournalReplayer(model, readOnly);
+            final Map<String, LatencyHistogram> recorded = new TreeMap<>();
+            final Map<String, LatencyHistogram> replayed = new TreeMap<>();
+            final Map<String, Integer> skipped = new TreeMap<>();
+            final Map<String, Integer> failed = new TreeMap<>();
+            replayer.replay(entries, speed, recorded, replayed, skipped, failed);
+
+            final Map<String, long[]> baselineSummary = baseline != null ? readSummary(baseline) : Map.of();
+            printComparison(System.out, recorded, replayed, baselineSummary);
+            skipped.forEach((method, count) -> System.out.println("skipped " + count + " x " + method));
+            failed.forEach((method, count) -> System.out.println("failed " + count + " x " + method));
+            if (summary != null) {
+                writeSummary(summary, replayed);
+            }
+        } finally {
+            model.closeConnection();
+        }
+    }
+
+    private void replay(final List<JournalEntry> entries, final double speed,
+            final Map<String, LatencyHistogram> recorded, final Map<String, LatencyHistogram> replayed,
+            final Map<String, Integer> skipped, final Map<String, Integer> failed) {
+        final long replayStart = System.nanoTime();
+        for (final JournalEntry entry : entries) {
+            final BiConsumer<Model, List<Object>> call = calls.get(entry.getMethod());
+            if (call == null || entry.isFailed() || hasUnsupported(entry.getArguments())) {
+                skipped.merge(entry.getMethod(), 1, Integer::sum);
+                continue;
+            }
+            if (speed > 0) {
+                final long due = replayStart + (long) (entry.getStartNanos() / speed);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            final long start = System.nanoTime();
+            try {
+                call.accept(model, entry.getArguments());
+            } catch (final RuntimeException e) {
+                failed.merge(entry.getMethod(), 1, Integer::sum);
+                continue;
+            }
+            replayed.computeIfAbsent(entry.getMethod(), m -> new LatencyHistogram()).record(System.nanoTime() - start);
+            recorded.computeIfAbsent(entry.getMethod(), m -> new LatencyHistogram()).record(entry.getDurationNanos());
+        }
+    }
+
+    private static boolean hasUnsupported(final List<Object> arguments) {
+        for (final Object argument : arguments) {
+            if (argument instanceof JournalCodec.Unsupported) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Build toBuild(final JournalCodec.BuildIds ids) {
+        return new Build(model.getLatestBuildId() + 1, component(Part.COOLER, ids.coolerId),
+            component(Part.CASE, ids.caseId), component(Part.PSU, ids.psuId), component(Part.CPU, ids.cpuId),
+            component(Part.MOTHERBOARD, ids.motherboardId), components(Part.GPU, ids.gpuIds),
+            components(Part.RAM, ids.ramIds), components(Part.STORAGE, ids.storageIds), ids.author);
+    }
+
+    private Component component(final Part part, final int id) {
+        final Component component = catalog.computeIfAbsent(part, p -> {
+            final Map<Integer, Component> byId = new HashMap<>();
+            for (final Component c : model.getComponents(p)) {
+                byId.put(c.getBaseInfo().getId(), c);
+            }
+            return byId;
+        }).get(id);
+        if (component == null) {
+            throw new IllegalStateException("No " + part.getTypeName() + " " + id + " in this database");
+        }
+        return component;
+    }
+
+    private List<Component> components(final Part part, final int[] ids) {
+        final List<Component> components = new ArrayList<>(ids.length);
+        for (final int id : ids) {
+            components.add(component(part, id));
+        }
+        return components;
+    }
+
+    private static void printComparison(final PrintStream out, final Map<String, LatencyHistogram> recorded,
+            final Map<String, LatencyHistogram> replayed, final Map<String, long[]> baseline) {
+        out.printf("%-36s %7s %11s %11s %11s %11s %8s %8s%n", "method", "calls",
+            "ref p50 ms", "ref p99 ms", "p50 ms", "p99 ms", "p50 +%", "p99 +%");
+        for (final Map.Entry<String, LatencyHistogram> entry : replayed.entrySet()) {
+            final LatencyHistogram replay = entry.getValue();
+            // Against the baseline replay when there is one, else against the recording.
+            final long[] reference = baseline.getOrDefault(entry.getKey(), summarize(recorded.get(entry.getKey())));
+            final long p50 = replay.getPercentileNanos(0.5);
+            final long p99 = replay.getPercentileNanos(0.99);
+            out.printf("%-36s %7d %11.3f %11.3f %11.3f %11.3f %8s %8s%n", entry.getKey(), replay.getCount(),
+                millis(reference[1]), millis(reference[3]), millis(p50), millis(p99),
+                change(reference[1], p50), change(reference[3], p99));
+        }
+    }
+
+    // count, p50, p90, p99, max.
+    private static long[] summarize(final LatencyHistogram histogram) {
+        return new long[] {
+            histogram.getCount(), histogram.getPercentileNanos(0.5), histogram.getPercentileNanos(0.9),
+            histogram.getPercentileNanos(0.99), histogram.getMaxNanos(),
+        };
+    }
+
+    private static void writeSummary(final Path file, final Map<String, LatencyHistogram> replayed)
+            throws IOException {
+        final List<String> lines = new ArrayList<>();
+        lines.add("# method count p50 p90 p99 max, in nanoseconds");
+        for (final Map.Entry<String, LatencyHistogram> entry : replayed.entrySet()) {
+            final long[] values = summarize(entry.getValue());
+            lines.add(String.format(Locale.ROOT, "%s %d %d %d %d %d", entry.getKey(),
+                values[0], values[1], values[2], values[3], values[4]));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, long[]> readSummary(final Path file) throws IOException {
+        final Map<String, long[]> summary = new HashMap<>();
+        for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = line.strip().split("\\s+");
+            final long[] values = new long[fields.length - 1];
+            for (int i = 1; i < fields.length; i++) {
+                values[i - 1] = Long.parseLong(fields[i]);
+            }
+            summary.put(fields[0], values);
+        }
+        return summary;
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String change(final long before, final long after) {
+        if (before == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f", 100.0 * (after - before) / before);
+    }
+}
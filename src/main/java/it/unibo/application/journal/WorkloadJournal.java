@@ -0,0 +1,118 @@
+package it.unibo.application.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Records every Controller call in a compact binary journal when the application is
+// launched with -Dpartpicker.journal=<file>; see JournalReplayer to play it back.
+//
+//     ./gradlew run -Dpartpicker.journal=build/session.journal
+//
+// The file starts with MAGIC, VERSION and the wall clock time of the start, in
+// milliseconds. Then each call, written when it returns:
+//
+//     method       varint id, followed by the name the first time the id is used
+//     start        varint nanoseconds since the start of the journal
+//     duration     varint nanoseconds
+//     failed       byte, 1 if the call threw
+//     arguments    varint count, then each value (see JournalCodec)
+//
+// The file is buffered and completed when the JVM exits. If writing fails the
+// journal stops and the application carries on.
+public final class WorkloadJournal {
+    static final int MAGIC = 0x50504A4C;
+    static final int VERSION = 1;
+    private static final Logger LOGGER = Logger.getLogger(WorkloadJournal.class.getName());
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final WorkloadJournal ACTIVE = openIfRequested();
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> methodIds = new HashMap<>();
+    private boolean closed;
+
+    private WorkloadJournal(final Path file) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    // The journal of this run, or null if none was requested.
+    public static WorkloadJournal get() {
+        return ACTIVE;
+    }
+
+    private static WorkloadJournal openIfRequested() {
+        final String destination = System.getProperty("partpicker.journal");
+        if (destination == null || destination.isBlank()) {
+            return null;
+        }
+        try {
+            final WorkloadJournal journal = new WorkloadJournal(Path.of(destination));
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-close"));
+            return journal;
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot write the journal " + destination, e);
+            return null;
+        }
+    }
+
+    // Takes System.nanoTime() at the start of the call.
+    public synchronized void record(final String method, final long callStartNanos, final long durationNanos,
+            final boolean failed, final Object... arguments) {
+        if (closed) {
+            return;
+        }
+        try {
+            final Integer id = methodIds.get(method);
+            if (id != null) {
+                JournalCodec.writeVarLong(out, id);
+            } else {
+                final int newId = methodIds.size();
+                methodIds.put(method, newId);
+                JournalCodec.writeVarLong(out, newId);
+                out.writeUTF(method);
+            }
+            JournalCodec.writeVarLong(out, Math.max(0, callStartNanos - startNanos));
+            JournalCodec.writeVarLong(out, Math.max(0, durationNanos));
+            out.writeByte(failed ? 1 : 0);
+            JournalCodec.writeVarLong(out, arguments.length);
+            for (final Object argument : arguments) {
+                JournalCodec.writeValue(out, argument);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Stopped writing the journal " + file, e);
+            closeQuietly();
+        }
+    }
+
+    public synchronized void close() {
+        if (!closed) {
+            try {
+                out.flush();
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot complete the journal " + file, e);
+            }
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        try {
+            out.close();
+        } catch (final IOException e) {
+            // Already reported.
+        }
+    }
+}
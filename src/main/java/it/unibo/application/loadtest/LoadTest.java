@@ -0,0 +1,230 @@
+package it.unibo.application.loadtest;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import it.unibo.application.data.ConnectionFactory;
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.generator.DataGenerator;
+import it.unibo.application.data.generator.GeneratorConfig;
+import it.unibo.application.data.generator.GeneratorStart;
+import it.unibo.application.data.generator.JdbcBatchSink;
+import it.unibo.application.data.monitoring.LatencyHistogram;
+import it.unibo.application.model.Model;
+
+// Drives one Model from many threads at once, each a virtual user repeating a weighted
+// mix of operations (see Operation) for a fixed time, and reports throughput, latency
+// percentiles and errors per operation:
+//
+//     ./gradlew loadTest --args="--users 32 --duration 60 --mix browse=60,upload-build=10"
+//
+// By default the Model runs on an embedded database grown with the DataGenerator;
+// with --configured-database it runs on the database selected by the partpicker.db.*
+// system properties (see ConnectionFactory) as it is. Writes go to that database.
+//
+// The Model shares one connection between its callers exactly as the desktop
+// application does, so errors in the report may come from that sharing rather than
+// from the database, e.g. two uploads taking the same build id or one upload turning
+// autocommit back on in the middle of another's transaction.
+public final class LoadTest {
+    private static final String USAGE = "Options: --users N --duration SECONDS --think MILLISECONDS --seed N"
+        + " --mix browse=W,open-build=W,price-draft=W,upload-build=W,post-review=W"
+        + " --components N --builds N --configured-database";
+    private static final String DEFAULT_MIX = "browse=45,open-build=25,price-draft=20,upload-build=5,post-review=5";
+    private static final long PROGRESS_INTERVAL_MILLIS = 5_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        int users = 16;
+        long durationSeconds = 30;
+        long thinkMillis = 0;
+        long seed = 42;
+        String mix = DEFAULT_MIX;
+        int components = 2_000;
+        int builds = 5_000;
+        boolean configuredDatabase = false;
+        int i = 0;
+        while (i < args.length) {
+            if ("--configured-database".equals(args[i])) {
+                configuredDatabase = true;
+                i++;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--users" -> users = Integer.parseInt(value);
+                case "--duration" -> durationSeconds = Long.parseLong(value);
+                case "--think" -> thinkMillis = Long.parseLong(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--mix" -> mix = value;
+                case "--components" -> components = Integer.parseInt(value);
+                case "--builds" -> builds = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException(USAGE);
+            }
+            i += 2;
+        }
+        final Map<Operation, Integer> weights = parseMix(mix);
+
+        final Connection connection;
+        if (configuredDatabase) {
+            connection = ConnectionFactory.fromSystemProperties().open();
+        } else {
+            System.err.println("Generating " + components + " components and " + builds + " builds");
+            connection = ConnectionFactory.embedded("loadtest", true).open();
+            final GeneratorConfig config = new GeneratorConfig()
+                .setSeed(seed)
+                .setComponents(components)
+                .setUsers(Math.max(1, builds / 10))
+                .setBuilds(builds);
+            try (JdbcBatchSink sink = new JdbcBatchSink(connection, 1_000)) {
+                new DataGenerator(config).generate(sink, GeneratorStart.of(connection));
+            }
+        }
+
+        final Model model = new Model(connection);
+        try {
+            final Workload workload = new Workload(model, authors(model.getBuilds()));
+            final Map<Operation, OperationStats> stats = run(workload, weights, users, seed,
+                TimeUnit.SECONDS.toNanos(durationSeconds), thinkMillis);
+            printReport(stats, users, durationSeconds);
+        } finally {
+            model.closeConnection();
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (final String entry : mix.split(",")) {
+            final String[] keyAndWeight = entry.strip().split("=");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            final int weight = Integer.parseInt(keyAndWeight[1].strip());
+            if (weight > 0) {
+                weights.put(Operation.ofKey(keyAndWeight[0].strip()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operations");
+        }
+        return weights;
+    }
+
+    // The users that reviews and uploads are made as.
+    private static List<String> authors(final List<Build> builds) {
+        final Set<String> authors = new LinkedHashSet<>();
+        for (final Build build : builds) {
+            authors.add(build.getAuthor());
+        }
+        if (authors.isEmpty()) {
+            throw new IllegalStateException("The database has no builds to draw users from");
+        }
+        return new ArrayList<>(authors);
+    }
+
+    private static Map<Operation, OperationStats> run(final Workload workload, final Map<Operation, Integer> weights,
+            final int users, final long seed, final long durationNanos, final long thinkMillis)
+            throws InterruptedException {
+        final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (final Operation operation : weights.keySet()) {
+            stats.put(operation, new OperationStats());
+        }
+        final Operation[] operations = weights.keySet().toArray(new Operation[0]);
+        final int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += weights.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        final int weightSum = totalWeight;
+
+        final SplittableRandom root = new SplittableRandom(seed);
+        final long deadline = System.nanoTime() + durationNanos;
+        final List<Thread> threads = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            final SplittableRandom random = root.split();
+            final Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    final int draw = random.nextInt(weightSum);
+                    int i = 0;
+                    while (cumulativeWeights[i] <= draw) {
+                        i++;
+                    }
+                    final OperationStats operationStats = stats.get(operations[i]);
+                    final long start = System.nanoTime();
+                    try {
+                        workload.run(operations[i], random);
+                        operationStats.recordSuccess(System.nanoTime() - start);
+                    } catch (final RuntimeException e) {
+                        operationStats.recordError(e);
+                    }
+                    if (thinkMillis > 0) {
+                        try {
+                            Thread.sleep(thinkMillis);
+                        } catch (final InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            }, "virtual-user-" + u);
+            threads.add(thread);
+            thread.start();
+        }
+
+        final long startTime = System.nanoTime();
+        for (final Thread thread : threads) {
+            while (thread.isAlive()) {
+                thread.join(PROGRESS_INTERVAL_MILLIS);
+                if (thread.isAlive()) {
+                    long done = 0;
+                    for (final OperationStats operationStats : stats.values()) {
+                        done += operationStats.getSuccesses() + operationStats.getErrors();
+                    }
+                    System.err.println(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime) + " s: "
+                        + done + " operations");
+                }
+            }
+        }
+        return stats;
+    }
+
+    private static void printReport(final Map<Operation, OperationStats> stats, final int users,
+            final long durationSeconds) {
+        System.out.println(users + " users for " + durationSeconds + " s");
+        System.out.printf("%-14s %9s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+            "operation", "ok", "errors", "error%", "ops/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (final Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            final OperationStats operationStats = entry.getValue();
+            final LatencyHistogram latency = operationStats.getLatency();
+            final long ok = operationStats.getSuccesses();
+            final long errors = operationStats.getErrors();
+            System.out.printf("%-14s %9d %8d %7.2f %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey().getKey(), ok, errors,
+                ok + errors == 0 ? 0.0 : 100.0 * errors / (ok + errors),
+                (double) (ok + errors) / Math.max(1, durationSeconds),
+                millis(latency.getMeanNanos()), millis(latency.getPercentileNanos(0.5)),
+                millis(latency.getPercentileNanos(0.9)), millis(latency.getPercentileNanos(0.99)),
+                millis(latency.getMaxNanos()));
+        }
+        for (final Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            entry.getValue().getErrorsByCause().forEach((cause, count) ->
+                System.out.println(entry.getKey().getKey() + ": " + count.sum() + " x " + cause));
+        }
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,31 @@
+package it.unibo.application.loadtest;
+
+import java.util.Locale;
+
+// What a virtual user does in one step, each mirroring the Model calls of a page.
+enum Operation {
+    // ProductsPage: a catalog, then the price history of one component at two resellers.
+    BROWSE,
+    // BuildPage: a build with its author, prices, review summary and first reviews.
+    OPEN_BUILD,
+    // BuilderPage: the latest price of one component of every part type.
+    PRICE_DRAFT,
+    // BuilderPage: a new build under the next id, as the page picks it.
+    UPLOAD_BUILD,
+    // BuildPage: a review of a random build, replacing the user's previous one.
+    POST_REVIEW;
+
+    // browse, open-build, price-draft, upload-build or post-review.
+    String getKey() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static Operation ofKey(final String key) {
+        for (final Operation operation : values()) {
+            if (operation.getKey().equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
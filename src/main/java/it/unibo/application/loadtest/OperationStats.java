@@ -0,0 +1,45 @@
+package it.unibo.application.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import it.unibo.application.data.monitoring.LatencyHistogram;
+
+// Latencies of the successful runs of one operation and the failures by cause.
+final class OperationStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+
+    void recordSuccess(final long nanos) {
+        latency.record(nanos);
+    }
+
+    void recordError(final Throwable error) {
+        errors.increment();
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        final String message = cause.getMessage() != null ? cause.getMessage().lines().findFirst().orElse("") : "";
+        errorsByCause.computeIfAbsent(cause.getClass().getSimpleName() + ": " + message, key -> new LongAdder())
+            .increment();
+    }
+
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    long getSuccesses() {
+        return latency.getCount();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    Map<String, LongAdder> getErrorsByCause() {
+        return errorsByCause;
+    }
+}
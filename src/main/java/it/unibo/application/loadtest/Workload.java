@@ -0,0 +1,120 @@
+package it.unibo.application.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.entities.login.User;
+import it.unibo.application.model.Model;
+
+// The operations run against one Model, shared by every virtual user as the desktop
+// application shares it between pages. Parts and users are drawn from the catalog and
+// the user names of the dataset; builds are drawn up to the latest id seen at start.
+final class Workload {
+    private static final String[] RESELLERS = { "Amazon", "Ebay" };
+    private static final int REVIEWS_PAGE = 20;
+
+    private final Model model;
+    private final List<String> usernames;
+    private final Map<Part, List<Component>> catalog = new EnumMap<>(Part.class);
+    private final int latestBuildId;
+
+    Workload(final Model model, final List<String> usernames) {
+        this.model = model;
+        this.usernames = List.copyOf(usernames);
+        for (final Part part : Part.values()) {
+            catalog.put(part, model.getComponents(part));
+        }
+        this.latestBuildId = model.getLatestBuildId();
+    }
+
+    void run(final Operation operation, final SplittableRandom random) {
+        switch (operation) {
+            case BROWSE -> browse(random);
+            case OPEN_BUILD -> openBuild(random);
+            case PRICE_DRAFT -> priceDraft(random);
+            case UPLOAD_BUILD -> uploadBuild(random);
+            case POST_REVIEW -> postReview(random);
+            default -> throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private void browse(final SplittableRandom random) {
+        final List<Component> components = model.getComponents(pick(random, Part.values()));
+        if (components.isEmpty()) {
+            return;
+        }
+        final int id = components.get(random.nextInt(components.size())).getBaseInfo().getId();
+        for (final String reseller : RESELLERS) {
+            model.getRecentComponentPricesByReseller(id, reseller);
+        }
+    }
+
+    private void openBuild(final SplittableRandom random) {
+        final int buildId = randomBuildId(random);
+        final Build build = model.getBuildById(buildId);
+        if (build == null) {
+            return;
+        }
+        model.getUser(build.getAuthor());
+        model.getAuthorStats(build.getAuthor());
+        for (final Component component : parts(build)) {
+            model.getScrapedPrice(component.getBaseInfo().getId());
+        }
+        model.getReviewSummary(buildId);
+        model.getReviewsPage(buildId, "", REVIEWS_PAGE);
+    }
+
+    private void priceDraft(final SplittableRandom random) {
+        for (final Part part : Part.values()) {
+            model.getScrapedPrice(pick(random, part).getBaseInfo().getId());
+        }
+    }
+
+    private void uploadBuild(final SplittableRandom random) {
+        final String username = pick(random, usernames);
+        final User author = new User(username, null, null, null, false);
+        final Component ram = pick(random, Part.RAM);
+        final Build build = new Build(model.getLatestBuildId() + 1, pick(random, Part.COOLER), pick(random, Part.CASE),
+            pick(random, Part.PSU), pick(random, Part.CPU), pick(random, Part.MOTHERBOARD),
+            List.of(pick(random, Part.GPU)), List.of(ram, ram), List.of(pick(random, Part.STORAGE)), username);
+        model.insertBuild(build, author);
+    }
+
+    private void postReview(final SplittableRandom random) {
+        model.upsertReview(new Review(randomBuildId(random), pick(random, usernames), 1 + random.nextInt(5),
+            "Load test review", LocalDate.now()));
+    }
+
+    private int randomBuildId(final SplittableRandom random) {
+        return 1 + random.nextInt(Math.max(1, latestBuildId));
+    }
+
+    private Component pick(final SplittableRandom random, final Part part) {
+        return pick(random, catalog.get(part));
+    }
+
+    private static <T> T pick(final SplittableRandom random, final List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> T pick(final SplittableRandom random, final T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static List<Component> parts(final Build build) {
+        final List<Component> parts = new ArrayList<>(List.of(build.getCpu(), build.getMotherboard(),
+            build.getCooler(), build.get_case(), build.getPsu()));
+        parts.addAll(build.getGpus());
+        parts.addAll(build.getRams());
+        parts.addAll(build.getStorage());
+        return parts;
+    }
+}
@@ -0,0 +1,98 @@
+package it.unibo.application.model;
+
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// The builds of the overview page. The list is kept until the next build is published
+// through this application, and for a few minutes at most, so that builds published
+// by another instance on the same database show up too.
+public final class BuildFeed implements CacheStats {
+    private final Supplier<List<Build>> loader;
+    private final long timeToLiveNanos;
+    private volatile Entry feed;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // Bumped by invalidate(), so that a feed read before a publication is not stored after it.
+    private final AtomicLong generation = new AtomicLong();
+
+    public BuildFeed(final Supplier<List<Build>> loader, final Duration timeToLive) {
+        this.loader = loader;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    // The returned list is unmodifiable.
+    public List<Build> get() {
+        final Entry cached = feed;
+        if (cached != null && System.nanoTime() - cached.loadedAt < timeToLiveNanos) {
+            hits.increment();
+            return cached.builds;
+        }
+        misses.increment();
+        return load(loader);
+    }
+
+    // Reads the feed with the given loader, typically on another connection, unless a
+    // fresh one is already cached.
+    public void warm(final Supplier<List<Build>> warmLoader) {
+        final Entry cached = feed;
+        if (cached == null || System.nanoTime() - cached.loadedAt >= timeToLiveNanos) {
+            load(warmLoader);
+        }
+    }
+
+    public void invalidate() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            feed = null;
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Build feed";
+    }
+
+    @Override
+    public long getSize() {
+        final Entry cached = feed;
+        return cached == null ? 0 : cached.builds.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private List<Build> load(final Supplier<List<Build>> feedLoader) {
+        final long loadedGeneration = generation.get();
+        final long loadedAt = System.nanoTime();
+        final List<Build> loaded = List.copyOf(feedLoader.get());
+        synchronized (generation) {
+            if (generation.get() == loadedGeneration) {
+                feed = new Entry(loaded, loadedAt);
+            }
+        }
+        return loaded;
+    }
+
+    private static final class Entry {
+        private final List<Build> builds;
+        private final long loadedAt;
+
+        Entry(final List<Build> builds, final long loadedAt) {
+            this.builds = builds;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
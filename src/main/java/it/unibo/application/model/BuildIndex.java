@@ -0,0 +1,243 @@
+package it.unibo.application.model;
+
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.builds.BuildParts;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Which published builds use each component: an inverted index from component id to
+// the sorted ids of the builds, as plain int arrays. It is built once from all the
+// builds by ensureLoaded() and then kept up to date by register() as builds are
+// published. The arrays are never modified once published, so lookups need no locking.
+public final class BuildIndex implements CacheStats {
+    private static final int[] NO_BUILDS = new int[0];
+
+    private volatile Map<Integer, int[]> buildsByComponent = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Held for the whole of a load, so that two loads never overlap.
+    private final Object loadLock = new Object();
+    // Guards loading and pending, and the publishing of the index.
+    private boolean loading;
+    // Builds published while the index was being read from the database.
+    private final List<Build> pending = new ArrayList<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder coldLookups = new LongAdder();
+
+    // Reads the index from the database unless it is already loaded, waiting for a
+    // load in progress on another thread. Returns whether this call loaded it.
+    public boolean ensureLoaded(final Connection connection) {
+        if (loaded) {
+            return false;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return false;
+            }
+            synchronized (pending) {
+                loading = true;
+            }
+            try {
+                final Map<Integer, IntList> lists = new HashMap<>();
+                try (Stream<BuildParts> builds = BuildParts.DAO.stream(connection)) {
+                    builds.forEach(build -> {
+                        for (final int componentId : partIds(build)) {
+                            lists.computeIfAbsent(componentId, id -> new IntList()).add(build.getBuildId());
+                        }
+                    });
+                }
+                final Map<Integer, int[]> index = new ConcurrentHashMap<>(lists.size() * 2);
+                lists.forEach((componentId, list) -> index.put(componentId, list.toSortedArray()));
+                synchronized (pending) {
+                    buildsByComponent = index;
+                    // A build may have been read as well: adding it again changes nothing.
+                    pending.forEach(this::add);
+                    loaded = true;
+                }
+            } finally {
+                synchronized (pending) {
+                    loading = false;
+                    pending.clear();
+                }
+            }
+            return true;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Before the index is loaded, a build is only kept while a load is reading the
+    // database, which may have missed it; a later load reads it anyway.
+    public void register(final Build build) {
+        synchronized (pending) {
+            if (loaded) {
+                add(build);
+            } else if (loading) {
+                pending.add(build);
+            }
+        }
+    }
+
+    // The ids of the builds that use the component, in ascending order. The array must
+    // not be modified.
+    public int[] getBuildIds(final int componentId) {
+        lookups.increment();
+        return buildsByComponent.getOrDefault(componentId, NO_BUILDS);
+    }
+
+    public int countBuilds(final int componentId) {
+        return getBuildIds(componentId).length;
+    }
+
+    // The builds that use at least one of the components, in ascending order, e.g. those
+    // affected by a change of their prices or compatibility.
+    public int[] getBuildIdsUsingAny(final Collection<Integer> componentIds) {
+        int[] union = NO_BUILDS;
+        for (final int componentId : componentIds) {
+            union = union(union, getBuildIds(componentId));
+        }
+        return union;
+    }
+
+    // Counts a lookup that had to build the index first.
+    public void recordColdLookup() {
+        coldLookups.increment();
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Builds by component";
+    }
+
+    @Override
+    public long getSize() {
+        return buildsByComponent.size();
+    }
+
+    @Override
+    public long getHits() {
+        return lookups.sum() - coldLookups.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return coldLookups.sum();
+    }
+
+    private void add(final Build build) {
+        final List<Integer> componentIds = new ArrayList<>(List.of(
+            build.getCpu().getBaseInfo().getId(),
+            build.getMotherboard().getBaseInfo().getId(),
+            build.getCooler().getBaseInfo().getId(),
+            build.get_case().getBaseInfo().getId(),
+            build.getPsu().getBaseInfo().getId()));
+        for (final List<Component> parts : List.of(build.getGpus(), build.getRams(), build.getStorage())) {
+            for (final Component part : parts) {
+                componentIds.add(part.getBaseInfo().getId());
+            }
+        }
+        for (final int componentId : componentIds) {
+            buildsByComponent.compute(componentId, (id, buildIds) -> insert(buildIds, build.getBuildId()));
+        }
+    }
+
+    private static int[] partIds(final BuildParts build) {
+        final IntList ids = new IntList();
+        ids.add(build.getCpuId());
+        ids.add(build.getMotherboardId());
+        ids.add(build.getCoolerId());
+        ids.add(build.getCaseId());
+        ids.add(build.getPsuId());
+        build.getGpus().keySet().forEach(ids::add);
+        build.getRams().keySet().forEach(ids::add);
+        build.getStorage().keySet().forEach(ids::add);
+        return ids.toSortedArray();
+    }
+
+    // A copy of the sorted array with the id added, or the same array if it is there.
+    private static int[] insert(final int[] buildIds, final int buildId) {
+        if (buildIds == null) {
+            return new int[] {buildId};
+        }
+        final int position = Arrays.binarySearch(buildIds, buildId);
+        if (position >= 0) {
+            return buildIds;
+        }
+        final int at = -position - 1;
+        final int[] copy = new int[buildIds.length + 1];
+        System.arraycopy(buildIds, 0, copy, 0, at);
+        copy[at] = buildId;
+        System.arraycopy(buildIds, at, copy, at + 1, buildIds.length - at);
+        return copy;
+    }
+
+    // Merge of two sorted arrays without duplicates.
+    private static int[] union(final int[] a, final int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        final int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                merged[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[n++] = b[j++];
+            } else {
+                merged[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[n++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[n++] = b[j++];
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    // Growable int array, so that loading does not box every build id.
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Sorted, without duplicates, trimmed to size. A build that uses the same part
+        // twice, or lists it in two places, counts once.
+        int[] toSortedArray() {
+            final int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int n = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (n == 0 || sorted[i] != sorted[n - 1]) {
+                    sorted[n++] = sorted[i];
+                }
+            }
+            return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+        }
+    }
+}
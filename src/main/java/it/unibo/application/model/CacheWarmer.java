@@ -0,0 +1,84 @@
+package it.unibo.application.model;
+
+import it.unibo.application.data.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Runs the cache warm-up tasks on a small fixed pool. Each worker thread reads through
+// a connection of its own, so the queries run side by side instead of queueing on the
+// connection the pages use; the connections are closed once the last task ends. A
+// failing task is logged and skipped, as the caches fill on demand anyway.
+final class CacheWarmer {
+    private static final Logger LOGGER = Logger.getLogger(CacheWarmer.class.getName());
+
+    private final ConnectionFactory connections;
+    private final int threads;
+    private final Map<String, Consumer<Connection>> tasks = new LinkedHashMap<>();
+
+    CacheWarmer(final ConnectionFactory connections, final int threads) {
+        this.connections = connections;
+        this.threads = threads;
+    }
+
+    CacheWarmer add(final String name, final Consumer<Connection> task) {
+        tasks.put(name, task);
+        return this;
+    }
+
+    CompletableFuture<Void> start(final WarmUpListener listener) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "cache-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Queue<Connection> opened = new ConcurrentLinkedQueue<>();
+        final ThreadLocal<Connection> connection = ThreadLocal.withInitial(() -> {
+            final Connection workerConnection = connections.open();
+            opened.add(workerConnection);
+            return workerConnection;
+        });
+
+        final int total = tasks.size();
+        final AtomicInteger done = new AtomicInteger();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (final Map.Entry<String, Consumer<Connection>> task : tasks.entrySet()) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                final long start = System.nanoTime();
+                try {
+                    task.getValue().accept(connection.get());
+                    LOGGER.fine(() -> "Warmed " + task.getKey() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                } catch (final RuntimeException e) {
+                    // Not only DAOException: a task that fails in any way still counts as
+                    // done, or the progress never reaches the total.
+                    LOGGER.log(Level.WARNING, "Could not warm " + task.getKey(), e);
+                }
+                listener.progress(done.incrementAndGet(), total);
+            }, executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((result, error) -> {
+            executor.shutdown();
+            for (final Connection workerConnection : opened) {
+                try {
+                    workerConnection.close();
+                } catch (final SQLException e) {
+                    LOGGER.log(Level.FINE, "Could not close a warm-up connection", e);
+                }
+            }
+        });
+    }
+}
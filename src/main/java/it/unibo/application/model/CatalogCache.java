@@ -0,0 +1,156 @@
+package it.unibo.application.model;
+
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.Manufacturer;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// The component lists of every part type and the manufacturers. They only change when
+// a moderator adds a component, so they are kept until the next insertion instead of
+// being read again every time the builder, the product pages or an insertion dialog
+// are opened.
+public final class CatalogCache implements CacheStats {
+    private final Function<Part, List<Component>> loader;
+    private final Supplier<List<Manufacturer>> manufacturerLoader;
+    private final Map<Part, List<Component>> components = new ConcurrentHashMap<>();
+    private volatile List<Manufacturer> manufacturers;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // Bumped by invalidate(), so that a list read before an insertion is not stored after it.
+    private final AtomicLong generation = new AtomicLong();
+
+    public CatalogCache(final Function<Part, List<Component>> loader,
+            final Supplier<List<Manufacturer>> manufacturerLoader) {
+        this.loader = loader;
+        this.manufacturerLoader = manufacturerLoader;
+    }
+
+    // The returned lists are unmodifiable.
+    public List<Component> get(final Part part) {
+        final List<Component> cached = components.get(part);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return load(part, loader);
+    }
+
+    public List<Manufacturer> getManufacturers() {
+        final List<Manufacturer> cached = manufacturers;
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return loadManufacturers(manufacturerLoader);
+    }
+
+    // Reads part again with the given loader, typically on another connection.
+    public void refresh(final Part part, final Function<Part, List<Component>> partLoader) {
+        load(part, partLoader);
+    }
+
+    public void refreshManufacturers(final Supplier<List<Manufacturer>> loader) {
+        loadManufacturers(loader);
+    }
+
+    // Serves lists read from elsewhere, such as a catalog snapshot, until they are
+    // refreshed or invalidated.
+    public void install(final Map<Part, List<Component>> installed, final List<Manufacturer> installedManufacturers) {
+        final long installedGeneration = generation.get();
+        for (final Map.Entry<Part, List<Component>> part : installed.entrySet()) {
+            store(part.getKey(), List.copyOf(part.getValue()), installedGeneration);
+        }
+        if (generation.get() == installedGeneration) {
+            manufacturers = List.copyOf(installedManufacturers);
+        }
+    }
+
+    // Every part type, or null if some of them are not cached.
+    public Map<Part, List<Component>> getAll() {
+        final Map<Part, List<Component>> all = new EnumMap<>(Part.class);
+        for (final Part part : Part.values()) {
+            final List<Component> cached = components.get(part);
+            if (cached == null) {
+                return null;
+            }
+            all.put(part, cached);
+        }
+        return all;
+    }
+
+    // The cached manufacturers, or null.
+    public List<Manufacturer> getCachedManufacturers() {
+        return manufacturers;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        components.clear();
+        manufacturers = null;
+    }
+
+    // Reads everything again, so that the next pages open without a query.
+    public void reload() {
+        for (final Part part : Part.values()) {
+            load(part, loader);
+        }
+        loadManufacturers(manufacturerLoader);
+    }
+
+    private List<Component> load(final Part part, final Function<Part, List<Component>> partLoader) {
+        final long loadedGeneration = generation.get();
+        final List<Component> loaded = List.copyOf(partLoader.apply(part));
+        store(part, loaded, loadedGeneration);
+        return loaded;
+    }
+
+    private void store(final Part part, final List<Component> loaded, final long loadedGeneration) {
+        if (generation.get() == loadedGeneration) {
+            components.put(part, loaded);
+        }
+    }
+
+    private List<Manufacturer> loadManufacturers(final Supplier<List<Manufacturer>> loader) {
+        final long loadedGeneration = generation.get();
+        final List<Manufacturer> loaded = List.copyOf(loader.get());
+        if (generation.get() == loadedGeneration) {
+            manufacturers = loaded;
+        }
+        return loaded;
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Catalog";
+    }
+
+    @Override
+    public long getSize() {
+        long size = 0;
+        for (final List<Component> list : components.values()) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+}
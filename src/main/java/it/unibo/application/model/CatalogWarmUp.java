@@ -0,0 +1,96 @@
+package it.unibo.application.model;
+
+import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.components.Manufacturer;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.data.snapshot.CatalogSnapshot;
+import it.unibo.application.data.snapshot.CatalogStamp;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Warm start of the catalog and compatibility caches. restore() serves the local
+// snapshot, if there is one, and tells whether it still matches the database; when
+// it does not, the refresh tasks read the catalog again in parallel and save()
+// replaces the snapshot.
+final class CatalogWarmUp {
+    private static final Logger LOGGER = Logger.getLogger(CatalogWarmUp.class.getName());
+
+    private final CatalogCache catalog;
+    private final ComponentCompatibilityChecker compatibility;
+    private final Path file;
+    private volatile String url;
+    private volatile CatalogStamp stamp;
+
+    CatalogWarmUp(final CatalogCache catalog, final ComponentCompatibilityChecker compatibility, final Path file) {
+        this.catalog = catalog;
+        this.compatibility = compatibility;
+        this.file = file;
+    }
+
+    // Returns true if the snapshot was current, so that nothing needs to be read.
+    boolean restore(final Connection source) {
+        final CatalogSnapshot snapshot = readSnapshot();
+        try {
+            url = source.getMetaData().getURL();
+        } catch (final SQLException e) {
+            url = null;
+        }
+        if (snapshot == null || !snapshot.getUrl().equals(url)) {
+            stamp = CatalogStamp.DAO.read(source);
+            return false;
+        }
+        // Serve the snapshot before the stamp query, stale or not: a refresh follows.
+        catalog.install(snapshot.getComponents(), snapshot.getManufacturers());
+        compatibility.install(snapshot.getRamGenerationsByCpu());
+        stamp = CatalogStamp.DAO.read(source);
+        final boolean current = stamp.equals(snapshot.getStamp());
+        LOGGER.fine(() -> "Catalog snapshot " + (current ? "is current" : "is stale") + ": " + snapshot.getStamp());
+        return current;
+    }
+
+    private CatalogSnapshot readSnapshot() {
+        if (file == null) {
+            return null;
+        }
+        try {
+            return CatalogSnapshot.read(file);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Ignoring the catalog snapshot", e);
+            return null;
+        }
+    }
+
+    void addRefreshTasks(final CacheWarmer warmer) {
+        for (final Part part : Part.values()) {
+            warmer.add("catalog " + part, source -> catalog.refresh(part, p -> Model.loadComponents(source, p)));
+        }
+        warmer.add("manufacturers", source -> catalog.refreshManufacturers(() -> Manufacturer.DAO.getManufacturers(source)));
+        warmer.add("compatibility", compatibility::load);
+    }
+
+    // Writes what the refresh read, unless an insertion has invalidated part of it.
+    void save() {
+        final Map<Part, List<Component>> components = catalog.getAll();
+        final List<Manufacturer> manufacturers = catalog.getCachedManufacturers();
+        final Map<Integer, Set<String>> ramGenerationsByCpu = compatibility.getRamGenerationsByCpu();
+        if (file == null || url == null || stamp == null || components == null || manufacturers == null
+                || ramGenerationsByCpu == null) {
+            return;
+        }
+        try {
+            new CatalogSnapshot(url, stamp, components, manufacturers, ramGenerationsByCpu).write(file);
+            LOGGER.fine(() -> "Catalog snapshot written to " + file);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write the catalog snapshot " + file, e);
+        }
+    }
+}
@@ -3,20 +3,20 @@ package it.unibo.application.model;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import it.unibo.application.data.ConnectionFactory;
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.SqlDialect;
+import it.unibo.application.data.SqlScript;
+
 import it.unibo.application.data.entities.ban.Ban;
+import it.unibo.application.data.entities.builds.AuthorStats;
 import it.unibo.application.data.entities.builds.Build;
 import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.builds.ReviewSummary;
 import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
-import it.unibo.application.data.entities.components.Case;
 import it.unibo.application.data.entities.components.Component;
-import it.unibo.application.data.entities.components.Cooler;
-import it.unibo.application.data.entities.components.Cpu;
-import it.unibo.application.data.entities.components.Gpu;
+import it.unibo.application.data.entities.components.ComponentMapper;
 import it.unibo.application.data.entities.components.Manufacturer;
-import it.unibo.application.data.entities.components.Motherboard;
-import it.unibo.application.data.entities.components.Psu;
-import it.unibo.application.data.entities.components.Ram;
-import it.unibo.application.data.entities.components.Storage;
 import it.unibo.application.data.entities.enums.Part;
 import it.unibo.application.data.entities.insertion.CaseInsert;
 import it.unibo.application.data.entities.insertion.ComponentInsert;
@@ -30,35 +30,164 @@ import it.unibo.application.data.entities.insertion.RamInsert;
 import it.unibo.application.data.entities.insertion.StorageInsert;
 import it.unibo.application.data.entities.login.User;
 import it.unibo.application.data.entities.price.ComponentPrice;
+import it.unibo.application.data.entities.price.WeeklyPrice;
+import it.unibo.application.data.migration.MigrationRunner;
+import it.unibo.application.data.snapshot.CatalogSnapshot;
+import it.unibo.application.data.monitoring.QueryMetrics;
+import it.unibo.application.model.analytics.PartPairings;
 import it.unibo.application.model.login.LoginService;
+import it.unibo.application.monitoring.CacheStats;
+import it.unibo.application.monitoring.ManagementBeans;
+import it.unibo.application.monitoring.OperationsSnapshot;
+import it.unibo.application.monitoring.PoolStats;
+import it.unibo.application.monitoring.RateMeter;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public final class Model {
+    private static final Logger LOGGER = Logger.getLogger(Model.class.getName());
+    private static final Duration PRICE_TIME_TO_LIVE =
+        Duration.ofMinutes(Long.getLong("partpicker.cache.priceMinutes", 10));
+    private static final Duration BUILD_FEED_TIME_TO_LIVE =
+        Duration.ofMinutes(Long.getLong("partpicker.cache.buildFeedMinutes", 5));
+    private static final int WARM_UP_THREADS =
+        Integer.getInteger("partpicker.warmup.threads", Math.min(4, Runtime.getRuntime().availableProcessors()));
 
     private final Connection connection;
     private final LoginService loginService;
     private final ComponentCompatibilityChecker componentCompatibilityChecker;
+    private final CatalogCache catalog;
+    private final PriceCache prices;
+    private final BuildIndex buildIndex = new BuildIndex();
+    private final PartPairings pairings = new PartPairings();
+    private final BuildFeed builds;
+    private final RateMeter buildUploads = new RateMeter();
+    private final RateMeter reviewWrites = new RateMeter();
+    private final ManagementBeans managementBeans = new ManagementBeans();
+    // All the DAOs share the one connection, which is busy while a statement is open.
+    private final PoolStats connectionStats = new PoolStats() {
+        @Override
+        public int getTotalConnections() {
+            return 1;
+        }
+
+        @Override
+        public int getActiveConnections() {
+            return QueryMetrics.getOpenStatements() > 0 ? 1 : 0;
+        }
+
+        @Override
+        public int getWaitingThreads() {
+            return 0;
+        }
+    };
 
     public Model(final Connection connection) {
         this.connection = connection;
+        migrateSchema(connection);
         this.loginService = new LoginService(connection);
         this.componentCompatibilityChecker = new ComponentCompatibilityChecker(connection);
+        this.catalog = new CatalogCache(part -> loadComponents(connection, part),
+            () -> Manufacturer.DAO.getManufacturers(connection));
+        this.prices = new PriceCache(id -> ComponentPrice.DAO.getLatestLowestPriceById(connection, id),
+            PRICE_TIME_TO_LIVE);
+        this.builds = new BuildFeed(() -> Build.DAO.getBuilds(connection), BUILD_FEED_TIME_TO_LIVE);
+        registerManagementBeans();
+    }
+
+    // The DAOs query the tables the migrations create, so the Model does not start on
+    // a schema that could not be brought up to date.
+    private static void migrateSchema(final Connection connection) {
+        if (!MigrationRunner.isEnabled()) {
+            return;
+        }
+        try {
+            MigrationRunner.migrate(connection);
+        } catch (final DAOException e) {
+            try {
+                connection.close();
+            } catch (final SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw new DAOException("Schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void registerManagementBeans() {
+        managementBeans.registerQueries();
+        managementBeans.registerCache(catalog, catalog::invalidate, catalog::reload);
+        managementBeans.registerCache(prices, prices::flush, prices::flush);
+        managementBeans.registerCache(builds, builds::invalidate, builds::invalidate);
+        managementBeans.registerCache(buildIndex, null, null);
+        managementBeans.registerCache(pairings, null, null);
+        for (final CacheStats cache : loginService.getCaches()) {
+            managementBeans.registerCache(cache, null, null);
+        }
+        managementBeans.registerApplication(loginService::getActiveSessionCount, buildUploads, reviewWrites);
     }
 
-    public boolean login(final String username, final String password) {
+    public String login(final String username, final String password) {
         return loginService.login(username, password);
     }
 
+    public void logout(final String sessionToken) {
+        loginService.logout(sessionToken);
+    }
+
     public boolean registerUser(final User user) {
         return User.DAO.insertUser(connection, user);
     }
 
-    public User getLoggedUser() {
-        return User.DAO.findByUsername(connection, loginService.getCurrentUser());
+    public User getLoggedUser(final String sessionToken) {
+        return loginService.getUser(sessionToken);
+    }
+
+    public int getActiveSessionCount() {
+        return loginService.getActiveSessionCount();
+    }
+
+    public OperationsSnapshot getOperationsSnapshot() {
+        final List<CacheStats> caches = new ArrayList<>(List.of(catalog, prices, builds, buildIndex, pairings));
+        caches.addAll(loginService.getCaches());
+        return new OperationsSnapshot(connectionStats, loginService.getActiveSessionCount(), caches);
+    }
+
+    // Fills the catalog, price, compatibility, build feed, build index and part pairing
+    // caches on connections of their own, so that the first visit to each page does not
+    // wait for cold queries.
+    // The catalog and compatibility table come from the local snapshot when it matches
+    // the database; otherwise they are read in parallel and the snapshot is replaced.
+    public CompletableFuture<Void> warmUp(final ConnectionFactory connections, final WarmUpListener listener) {
+        final CatalogWarmUp catalogWarmUp =
+            new CatalogWarmUp(catalog, componentCompatibilityChecker, CatalogSnapshot.configuredFile());
+        final AtomicBoolean catalogCurrent = new AtomicBoolean();
+        final CacheWarmer warmer = new CacheWarmer(connections, WARM_UP_THREADS)
+            .add("catalog snapshot", source -> catalogCurrent.set(catalogWarmUp.restore(source)))
+            .add("prices", source -> prices.warm(ComponentPrice.DAO.getLatestLowestPrices(source)))
+            .add("builds", source -> builds.warm(() -> Build.DAO.getBuilds(source)))
+            .add("build index", buildIndex::ensureLoaded)
+            .add("part pairings", pairings::ensureLoaded);
+        return warmer.start(listener).thenCompose(done -> {
+            if (catalogCurrent.get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final CacheWarmer refresh = new CacheWarmer(connections, WARM_UP_THREADS);
+            catalogWarmUp.addRefreshTasks(refresh);
+            return refresh.start(listener).thenRun(catalogWarmUp::save);
+        });
     }
 
     public List<Build> getBuilds() {
-        return Build.DAO.getBuilds(connection);
+        return builds.get();
     }
 
     public Build getBuildById(final int id) {
@@ -66,30 +195,16 @@ public final class Model {
     }
 
     public List<Component> getComponents(final Part part) {
-        switch (part) {
-            case CPU:
-                return Cpu.DAO.getCpus(connection);
-            case GPU:
-                return Gpu.DAO.getGpus(connection);
-            case MOTHERBOARD:
-                return Motherboard.DAO.getMotherboards(connection);
-            case PSU:
-                return Psu.DAO.getPsus(connection);
-            case RAM:
-                return Ram.DAO.getRams(connection);
-            case STORAGE:
-                return Storage.DAO.getStorage(connection);
-            case COOLER:
-                return Cooler.DAO.getCoolers(connection);
-            case CASE:
-                return Case.DAO.getCases(connection);
-            default:
-                throw new IllegalArgumentException("Unknown part type: " + part);
-        }
+        return catalog.get(part);
+    }
+
+    static List<Component> loadComponents(final Connection connection, final Part part) {
+        return ComponentMapper.getAll(connection, part);
     }
 
     public void banUser(final Ban ban) {
         Ban.DAO.insertBan(connection, ban);
+        loginService.registerBan(ban);
     }
 
     public List<Review> getReviewsByBuild(final int buildId) {
@@ -98,10 +213,29 @@ public final class Model {
 
     public void insertReview(final Review review) {
         Review.DAO.insertReview(connection, review);
+        reviewWrites.mark();
     }
 
     public void updateReview(final Review review) {
         Review.DAO.updateReview(connection, review);
+        reviewWrites.mark();
+    }
+
+    public Review getReview(final int buildId, final String username) {
+        return Review.DAO.findReview(connection, buildId, username);
+    }
+
+    public List<Review> getReviewsPage(final int buildId, final String afterUsername, final int limit) {
+        return Review.DAO.getReviewsPage(connection, buildId, afterUsername, limit);
+    }
+
+    public ReviewSummary getReviewSummary(final int buildId) {
+        return ReviewSummary.DAO.findByBuild(connection, buildId);
+    }
+
+    public void upsertReview(final Review review) {
+        Review.DAO.upsertReview(connection, review);
+        reviewWrites.mark();
     }
 
     public int getLatestBuildId() {
@@ -110,10 +244,65 @@ public final class Model {
 
     public void insertBuild(final Build build, final User user) {
         Build.DAO.insertBuild(connection, build, user);
+        builds.invalidate();
+        buildIndex.register(build);
+        pairings.register(build);
+        buildUploads.mark();
+    }
+
+    // The ids of the published builds that use the component, in ascending order.
+    public int[] getBuildIdsUsing(final int componentId) {
+        return loadedBuildIndex().getBuildIds(componentId);
+    }
+
+    // How many published builds use each component of the part, by component id.
+    public Map<Integer, Integer> countBuildsUsing(final Part part) {
+        final BuildIndex index = loadedBuildIndex();
+        final Map<Integer, Integer> counts = new HashMap<>();
+        for (final Component component : catalog.get(part)) {
+            final int id = component.getBaseInfo().getId();
+            counts.put(id, index.countBuilds(id));
+        }
+        return counts;
+    }
+
+    // The builds affected by a change to any of the components, in ascending order.
+    public int[] getBuildIdsUsingAny(final Collection<Integer> componentIds) {
+        return loadedBuildIndex().getBuildIdsUsingAny(componentIds);
+    }
+
+    // Without warmUp, e.g. in headless mode, the index is built on first use.
+    private BuildIndex loadedBuildIndex() {
+        if (buildIndex.ensureLoaded(connection)) {
+            buildIndex.recordColdLookup();
+        }
+        return buildIndex;
+    }
+
+    // The components most often published together with the given one, by part, most
+    // frequent first (see PartPairings).
+    public Map<Part, int[]> getFrequentPartners(final int componentId) {
+        if (pairings.ensureLoaded(connection)) {
+            pairings.recordColdLookup();
+        }
+        return pairings.getFrequentPartners(componentId);
     }
 
     public ComponentPrice getScrapedPrice(final int componentId) {
-        return ComponentPrice.DAO.getLatestLowestPriceById(connection, componentId);
+        return prices.get(componentId);
+    }
+
+    public void insertPrices(final List<ComponentPrice> scrapedPrices) {
+        ComponentPrice.DAO.insertPrices(connection, scrapedPrices);
+        prices.flush();
+    }
+
+    // Compacts the scrapes dated before the cutoff into weekly rollups (see WeeklyPrice)
+    // and returns how many there were.
+    public long compactPrices(final LocalDate cutoff) {
+        final long compacted = WeeklyPrice.DAO.compactBefore(connection, cutoff);
+        prices.flush();
+        return compacted;
     }
 
     public List<ComponentPrice> getRecentComponentPricesByReseller(final int componentId, final String reseller) {
@@ -125,47 +314,65 @@ public final class Model {
     }
 
     public List<Manufacturer> getManufacturers() {
-        return Manufacturer.DAO.getManufacturers(connection);
+        return catalog.getManufacturers();
     }
 
     public void insertCpu(final CpuInsert cpu) {
         CpuInsert.DAO.insert(connection, cpu);
+        catalog.invalidate();
     }
 
     public void insertCooler(final CoolerInsert cooler) {
         CoolerInsert.DAO.insert(connection, cooler);
+        catalog.invalidate();
     }
 
     public void insertRam(final RamInsert ram) {
         RamInsert.DAO.insert(connection, ram);
+        catalog.invalidate();
     }
 
     public void insertCase(final CaseInsert _case) {
         CaseInsert.DAO.insert(connection, _case);
+        catalog.invalidate();
     }
 
     public void insertMotherboard(final MotherboardInsert motherboard) {
         MotherboardInsert.DAO.insert(connection, motherboard);
+        catalog.invalidate();
     }
 
     public void insertGpu(final GpuInsert gpu) {
         GpuInsert.DAO.insert(connection, gpu);
+        catalog.invalidate();
     }
 
     public void insertStorage(final StorageInsert storage) {
         StorageInsert.DAO.insert(connection, storage);
+        catalog.invalidate();
     }
 
     public void insertPsu(final PsuInsert psu) {
         PsuInsert.DAO.insert(connection, psu);
+        catalog.invalidate();
     }
 
     public void insertComponent(final ComponentInsert componentInsert) {
         ComponentInsert.DAO.insert(connection, componentInsert);
+        catalog.invalidate();
     }
 
     public void insertCpuRamCompatibility(final CpuRamInsert cpuRamInsert) {
         CpuRamInsert.DAO.insert(connection, cpuRamInsert);
+        catalog.invalidate();
+        componentCompatibilityChecker.invalidate();
+    }
+
+    // Runs a SQL script of catalog statements, such as fill.sql.
+    public void importCatalog(final String script) {
+        SqlScript.run(connection, script, SqlDialect.of(connection));
+        catalog.invalidate();
+        componentCompatibilityChecker.invalidate();
     }
 
     public int getLatestComponendId() {
@@ -177,10 +384,31 @@ public final class Model {
     } 
 
     public double getUserRating(final String username) {
-        return User.DAO.getRating(connection, username);
+        return AuthorStats.DAO.findByUsername(connection, username).getAverageRating();
+    }
+
+    public AuthorStats getAuthorStats(final String username) {
+        return AuthorStats.DAO.findByUsername(connection, username);
+    }
+
+    public List<AuthorStats> getAuthorLeaderboard(final int limit) {
+        return AuthorStats.DAO.getLeaderboard(connection, limit);
+    }
+
+    public void rebuildAuthorStats() {
+        AuthorStats.DAO.rebuild(connection);
+    }
+
+    public void rebuildReviewSummaries() {
+        ReviewSummary.DAO.rebuild(connection);
     }
 
     public void closeConnection() {
+        managementBeans.close();
+        loginService.close();
+        if (QueryMetrics.isEnabled()) {
+            LOGGER.info(() -> "Query statistics:\n" + QueryMetrics.report());
+        }
         if (connection != null) {
             try {
                 connection.close();
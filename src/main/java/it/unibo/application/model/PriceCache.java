@@ -0,0 +1,82 @@
+package it.unibo.application.model;
+
+import it.unibo.application.data.entities.price.ComponentPrice;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// The lowest recent price of each component. The builder asks for it every time a
+// selection changes; prices are scraped at most daily, so an entry is kept for a few
+// minutes before it is read again.
+public final class PriceCache implements CacheStats {
+    private final IntFunction<ComponentPrice> loader;
+    private final long timeToLiveNanos;
+    private final Map<Integer, Entry> prices = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PriceCache(final IntFunction<ComponentPrice> loader, final Duration timeToLive) {
+        this.loader = loader;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    public ComponentPrice get(final int componentId) {
+        final long now = System.nanoTime();
+        final Entry cached = prices.get(componentId);
+        if (cached != null && now - cached.loadedAt < timeToLiveNanos) {
+            hits.increment();
+            return cached.price;
+        }
+        misses.increment();
+        final ComponentPrice price = loader.apply(componentId);
+        prices.put(componentId, new Entry(price, now));
+        return price;
+    }
+
+    // Stores prices read in bulk, keeping any entry already there.
+    public void warm(final List<ComponentPrice> loaded) {
+        final long now = System.nanoTime();
+        for (final ComponentPrice price : loaded) {
+            prices.putIfAbsent(price.getComponentId(), new Entry(price, now));
+        }
+    }
+
+    public void flush() {
+        prices.clear();
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Prices";
+    }
+
+    @Override
+    public long getSize() {
+        return prices.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static final class Entry {
+        private final ComponentPrice price;
+        private final long loadedAt;
+
+        Entry(final ComponentPrice price, final long loadedAt) {
+            this.price = price;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
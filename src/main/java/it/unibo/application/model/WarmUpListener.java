@@ -0,0 +1,8 @@
+package it.unibo.application.model;
+
+// Told about the progress of Model.warmUp, from the warm-up threads.
+@FunctionalInterface
+public interface WarmUpListener {
+
+    void progress(int done, int total);
+}
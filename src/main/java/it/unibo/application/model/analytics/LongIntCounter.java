@@ -0,0 +1,64 @@
+package it.unibo.application.model.analytics;
+
+// Counts by long key in two flat arrays with linear probing, so that a counter costs
+// twelve bytes instead of two boxed objects and a map entry. Counts only go up; a
+// slot with a zero count is free. Not thread safe.
+final class LongIntCounter {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // Adds one to the count of the key and returns the new count.
+    int increment(final long key) {
+        if (size * 2 >= keys.length) {
+            grow();
+        }
+        final int slot = slotOf(keys, counts, key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        return ++counts[slot];
+    }
+
+    int get(final long key) {
+        return counts[slotOf(keys, counts, key)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The slot holding the key, or the free slot where it would go.
+    private static int slotOf(final long[] keys, final int[] counts, final long key) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldCounts.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                final int slot = slotOf(keys, counts, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // Component ids are small and sequential: mix the bits so that they do not fill
+    // consecutive slots.
+    private static int hash(final long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,266 @@
+package it.unibo.application.model.analytics;
+
+import it.unibo.application.data.entities.builds.Build;
+import it.unibo.application.data.entities.builds.BuildParts;
+import it.unibo.application.data.entities.components.Component;
+import it.unibo.application.data.entities.enums.Part;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// How often the CPUs, motherboards, GPUs and RAM kits of the published builds appear,
+// alone and in pairs of different part types, for "frequently paired with"
+// suggestions. The counters are built once from all the builds by ensureLoaded() and
+// then kept up to date by register() as builds are published.
+//
+// Each component also keeps its TOP_PARTNERS most frequent partners of every other
+// tracked part type, updated as the pair counts grow, so a suggestion is read without
+// scanning the pairs. Counts only grow, so a partner can only enter the list by
+// overtaking its last entry, and the lists stay exact.
+public final class PartPairings implements CacheStats {
+    public static final int TOP_PARTNERS = 5;
+    private static final List<Part> TRACKED = List.of(Part.CPU, Part.MOTHERBOARD, Part.GPU, Part.RAM);
+
+    private LongIntCounter usage = new LongIntCounter();
+    private LongIntCounter pairs = new LongIntCounter();
+    private Map<Integer, Partners> partners = new HashMap<>();
+    private volatile boolean loaded;
+    // Held for the whole of a load, so that two loads never overlap.
+    private final Object loadLock = new Object();
+    private boolean loading;
+    // Builds published while the counters were being read from the database.
+    private final List<Build> pending = new ArrayList<>();
+    private long lookups;
+    private long coldLookups;
+
+    // Counts the builds in the database unless that is already done, waiting for a
+    // load in progress on another thread. Returns whether this call loaded them.
+    public boolean ensureLoaded(final Connection connection) {
+        if (loaded) {
+            return false;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return false;
+            }
+            synchronized (this) {
+                loading = true;
+            }
+            try {
+                final PartPairings counted = new PartPairings();
+                int lastBuildId = 0;
+                try (Stream<BuildParts> builds = BuildParts.DAO.stream(connection)) {
+                    for (final BuildParts build : (Iterable<BuildParts>) builds::iterator) {
+                        counted.add(trackedParts(build));
+                        lastBuildId = Math.max(lastBuildId, build.getBuildId());
+                    }
+                }
+                synchronized (this) {
+                    usage = counted.usage;
+                    pairs = counted.pairs;
+                    partners = counted.partners;
+                    for (final Build build : pending) {
+                        // Builds are numbered in order: a lower id was already read.
+                        if (build.getBuildId() > lastBuildId) {
+                            add(trackedParts(build));
+                        }
+                    }
+                    loaded = true;
+                }
+            } finally {
+                synchronized (this) {
+                    loading = false;
+                    pending.clear();
+                }
+            }
+            return true;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Before the counters are loaded, a build is only kept while a load is reading the
+    // database, which may have missed it; a later load counts it anyway.
+    public synchronized void register(final Build build) {
+        if (loaded) {
+            add(trackedParts(build));
+        } else if (loading) {
+            pending.add(build);
+        }
+    }
+
+    // The published builds that use the component.
+    public synchronized int getUsageCount(final int componentId) {
+        lookups++;
+        return usage.get(componentId);
+    }
+
+    // The published builds that use both components.
+    public synchronized int getPairCount(final int first, final int second) {
+        lookups++;
+        return pairs.get(pairKey(first, second));
+    }
+
+    // The ids of the components of the given part most often used together with the
+    // component, most frequent first, at most TOP_PARTNERS.
+    public synchronized int[] getFrequentPartners(final int componentId, final Part part) {
+        lookups++;
+        final Partners top = partners.get(componentId);
+        final int index = TRACKED.indexOf(part);
+        if (top == null || index < 0) {
+            return new int[0];
+        }
+        return top.ids(index);
+    }
+
+    // getFrequentPartners for every tracked part but the component's own.
+    public synchronized Map<Part, int[]> getFrequentPartners(final int componentId) {
+        final Map<Part, int[]> suggestions = new EnumMap<>(Part.class);
+        final Partners top = partners.get(componentId);
+        lookups++;
+        for (int i = 0; i < TRACKED.size(); i++) {
+            final int[] ids = top == null ? new int[0] : top.ids(i);
+            if (ids.length > 0) {
+                suggestions.put(TRACKED.get(i), ids);
+            }
+        }
+        return suggestions;
+    }
+
+    // Counts a lookup that had to count the builds first.
+    public synchronized void recordColdLookup() {
+        coldLookups++;
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Part pairings";
+    }
+
+    @Override
+    public synchronized long getSize() {
+        return pairs.size();
+    }
+
+    @Override
+    public synchronized long getHits() {
+        return lookups - coldLookups;
+    }
+
+    @Override
+    public synchronized long getMisses() {
+        return coldLookups;
+    }
+
+    // The tracked parts of a build as {component id, index in TRACKED} pairs, each
+    // component once however many times it is used.
+    private static int[][] trackedParts(final BuildParts build) {
+        final List<int[]> parts = new ArrayList<>();
+        parts.add(new int[] {build.getCpuId(), 0});
+        parts.add(new int[] {build.getMotherboardId(), 1});
+        build.getGpus().keySet().forEach(id -> parts.add(new int[] {id, 2}));
+        build.getRams().keySet().forEach(id -> parts.add(new int[] {id, 3}));
+        return parts.toArray(new int[0][]);
+    }
+
+    private static int[][] trackedParts(final Build build) {
+        final List<int[]> parts = new ArrayList<>();
+        parts.add(new int[] {build.getCpu().getBaseInfo().getId(), 0});
+        parts.add(new int[] {build.getMotherboard().getBaseInfo().getId(), 1});
+        addDistinct(parts, build.getGpus(), 2);
+        addDistinct(parts, build.getRams(), 3);
+        return parts.toArray(new int[0][]);
+    }
+
+    private static void addDistinct(final List<int[]> parts, final List<Component> components, final int part) {
+        components.stream().mapToInt(c -> c.getBaseInfo().getId()).distinct()
+            .forEach(id -> parts.add(new int[] {id, part}));
+    }
+
+    private void add(final int[][] parts) {
+        for (final int[] part : parts) {
+            usage.increment(part[0]);
+        }
+        for (int i = 0; i < parts.length; i++) {
+            for (int j = i + 1; j < parts.length; j++) {
+                if (parts[i][1] != parts[j][1]) {
+                    addPair(parts[i], parts[j]);
+                }
+            }
+        }
+    }
+
+    private void addPair(final int[] first, final int[] second) {
+        final int count = pairs.increment(pairKey(first[0], second[0]));
+        partnersOf(first[0]).offer(second[1], second[0], count);
+        partnersOf(second[0]).offer(first[1], first[0], count);
+    }
+
+    private Partners partnersOf(final int componentId) {
+        return partners.computeIfAbsent(componentId, id -> new Partners());
+    }
+
+    // The same key whichever component comes first.
+    private static long pairKey(final int first, final int second) {
+        final int low = Math.min(first, second);
+        final int high = Math.max(first, second);
+        return (long) low << 32 | high & 0xFFFFFFFFL;
+    }
+
+    // The top partners of one component, by part, most frequent first.
+    private static final class Partners {
+        private final int[][] ids = new int[TRACKED.size()][TOP_PARTNERS];
+        private final int[][] counts = new int[TRACKED.size()][TOP_PARTNERS];
+        private final int[] sizes = new int[TRACKED.size()];
+
+        int[] ids(final int part) {
+            return Arrays.copyOf(ids[part], sizes[part]);
+        }
+
+        void offer(final int part, final int partnerId, final int count) {
+            final int[] partIds = ids[part];
+            final int[] partCounts = counts[part];
+            int at = indexOf(partIds, sizes[part], partnerId);
+            if (at < 0) {
+                if (sizes[part] < TOP_PARTNERS) {
+                    at = sizes[part]++;
+                } else if (count > partCounts[TOP_PARTNERS - 1]) {
+                    at = TOP_PARTNERS - 1;
+                } else {
+                    return;
+                }
+                partIds[at] = partnerId;
+            }
+            partCounts[at] = count;
+            while (at > 0 && partCounts[at - 1] < partCounts[at]) {
+                swap(partIds, at, at - 1);
+                swap(partCounts, at, at - 1);
+                at--;
+            }
+        }
+
+        private static int indexOf(final int[] values, final int size, final int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static void swap(final int[] values, final int i, final int j) {
+            final int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package it.unibo.application.model.login;
+
+import it.unibo.application.data.entities.ban.Ban;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory view of the active bans, keyed by username, so that a login attempt does
+// not need to query the ban table. It is loaded once from the database and then kept
+// up to date by register(); temporary bans are dropped by a timer wheel when they end.
+public final class BanIndex implements AutoCloseable, CacheStats {
+    private static final long TICK_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int WHEEL_SIZE = 512;
+    // Permanent bans have no end date, but the map cannot hold nulls.
+    private static final LocalDate PERMANENT = LocalDate.MAX;
+
+    private final Map<String, LocalDate> activeBans = new ConcurrentHashMap<>();
+    private final TimerWheel<String> expiries = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    private final ScheduledExecutorService ticker;
+    private volatile boolean loaded;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public BanIndex() {
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "ban-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::expire, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void load(final Connection connection) {
+        for (final Ban ban : Ban.DAO.getActiveBans(connection)) {
+            register(ban);
+        }
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void register(final Ban ban) {
+        final LocalDate end = ban.getEndingDate() == null ? PERMANENT : ban.getEndingDate();
+        if (!isActive(end)) {
+            return;
+        }
+        activeBans.merge(ban.getBannedUser(), end, (current, added) -> current.isAfter(added) ? current : added);
+        if (end != PERMANENT) {
+            expiries.schedule(ban.getBannedUser(), toMillis(end));
+        }
+    }
+
+    public boolean isBanned(final String username) {
+        lookups.increment();
+        final LocalDate end = activeBans.get(username);
+        return end != null && isActive(end);
+    }
+
+    public int size() {
+        return activeBans.size();
+    }
+
+    // Counts a ban check that had to go to the database because the index was not loaded.
+    public void recordFallback() {
+        fallbacks.increment();
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Active bans";
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+
+    @Override
+    public long getHits() {
+        return lookups.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private void expire() {
+        for (final String username : expiries.advance(System.currentTimeMillis())) {
+            // A longer ban may have been registered since this expiry was scheduled.
+            activeBans.computeIfPresent(username, (user, end) -> isActive(end) ? end : null);
+        }
+    }
+
+    // Same semantics as "DataFineBan > NOW()": the ban is lifted at the start of its end date.
+    private static boolean isActive(final LocalDate end) {
+        return end == PERMANENT || LocalDate.now().isBefore(end);
+    }
+
+    private static long toMillis(final LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
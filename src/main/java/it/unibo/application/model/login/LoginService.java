@@ -1,31 +1,80 @@
 package it.unibo.application.model.login;
 
 import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
 
+import it.unibo.application.data.DAOException;
+import it.unibo.application.data.entities.ban.Ban;
 import it.unibo.application.data.entities.login.User;
+import it.unibo.application.monitoring.CacheStats;
 
 public class LoginService {
+    private static final Duration IDLE_TIMEOUT =
+        Duration.ofMinutes(Long.getLong("partpicker.session.idleMinutes", 120));
+
     private final Connection connection;
-    private String loggedUser;
+    private final BanIndex banIndex;
+    private final SessionRegistry sessions;
 
     public LoginService(final Connection connection) {
         this.connection = connection;
+        this.banIndex = new BanIndex();
+        this.sessions = new SessionRegistry(IDLE_TIMEOUT);
+        try {
+            banIndex.load(connection);
+        } catch (final DAOException e) {
+            // Logins fall back to the combined user and ban lookup.
+            e.printStackTrace();
+        }
     }
 
-    public boolean login(final String username, final String password) {
-        if (User.DAO.isUserBanned(connection, username)) {
-            return false;
+    // Returns the token of the new session, or null if the credentials are wrong or
+    // the user is banned.
+    //
+    public String login(final String username, final String password) {
+        final User user;
+        if (banIndex.isLoaded()) {
+            if (banIndex.isBanned(username)) {
+                return null;
+            }
+            user = User.DAO.findByUsername(connection, username);
+        } else {
+            banIndex.recordFallback();
+            user = User.DAO.findUnbannedByUsername(connection, username);
         }
 
-        final User user = User.DAO.findByUsername(connection, username);
         if (user != null && user.getPassword().equals(password)) {
-            this.loggedUser = username;
-            return true;
+            return sessions.open(user);
         }
-        return false;
+        return null;
+    }
+
+    public void logout(final String token) {
+        sessions.close(token);
+    }
+
+    public User getUser(final String token) {
+        return sessions.get(token);
+    }
+
+    public void registerBan(final Ban ban) {
+        banIndex.register(ban);
+        if (banIndex.isBanned(ban.getBannedUser())) {
+            sessions.invalidateUser(ban.getBannedUser());
+        }
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    public List<CacheStats> getCaches() {
+        return List.of(sessions, banIndex);
     }
 
-    public String getCurrentUser() {
-        return this.loggedUser;
+    public void close() {
+        banIndex.close();
+        sessions.close();
     }
 }
@@ -0,0 +1,125 @@
+package it.unibo.application.model.login;
+
+import it.unibo.application.data.entities.login.User;
+import it.unibo.application.monitoring.CacheStats;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Logged in users, one entry per session token. Each session caches the User read at
+// login time, so identity checks never go back to the database; sessions are dropped
+// after a period of inactivity or as soon as their user gets banned.
+public final class SessionRegistry implements AutoCloseable, CacheStats {
+    private static final int TOKEN_BYTES = 24;
+    private static final long SWEEP_PERIOD_SECONDS = 60;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService sweeper;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SessionRegistry(final Duration idleTimeout) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleAtFixedRate(this::sweep, SWEEP_PERIOD_SECONDS, SWEEP_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public String open(final User user) {
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        final String token = encoder.encodeToString(bytes);
+        sessions.put(token, new Session(user, System.nanoTime()));
+        return token;
+    }
+
+    // Returns the user of the session, or null if the token is unknown or has expired.
+    //
+    public User get(final String token) {
+        if (token == null) {
+            return null;
+        }
+        final Session session = sessions.get(token);
+        if (session == null) {
+            misses.increment();
+            return null;
+        }
+        final long now = System.nanoTime();
+        if (now - session.lastAccessNanos > idleTimeoutNanos) {
+            sessions.remove(token, session);
+            misses.increment();
+            return null;
+        }
+        session.lastAccessNanos = now;
+        hits.increment();
+        return session.user;
+    }
+
+    public void close(final String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    public void invalidateUser(final String username) {
+        sessions.values().removeIf(session -> session.user.getUsername().equals(username));
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public String getCacheName() {
+        return "Sessions";
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        sessions.clear();
+    }
+
+    private void sweep() {
+        final long now = System.nanoTime();
+        sessions.values().removeIf(session -> now - session.lastAccessNanos > idleTimeoutNanos);
+    }
+
+    private static final class Session {
+        private final User user;
+        private volatile long lastAccessNanos;
+
+        private Session(final User user, final long lastAccessNanos) {
+            this.user = user;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package it.unibo.application.model.login;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Hashed timing wheel: deadlines are hashed into a fixed ring of buckets by tick, so
+// scheduling is O(1) and each tick only looks at the entries of one bucket. Entries
+// whose deadline is further away than one rotation simply stay in their bucket until
+// a later pass finds them due.
+public final class TimerWheel<K> {
+    private final long tickMillis;
+    private final List<List<Entry<K>>> buckets;
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(final long tickMillis, final int wheelSize, final long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public synchronized void schedule(final K key, final long deadlineMillis) {
+        final long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        buckets.get(bucketOf(tick)).add(new Entry<>(key, deadlineMillis));
+        size++;
+    }
+
+    // Moves the wheel up to the given time and returns the keys whose deadline passed.
+    //
+    public synchronized List<K> advance(final long nowMillis) {
+        final List<K> expired = new ArrayList<>();
+        final long targetTick = nowMillis / tickMillis;
+        // A full rotation visits every bucket, so there is no point in going further.
+        final long steps = Math.min(targetTick - currentTick, buckets.size() - 1L);
+        for (long tick = targetTick - steps; tick <= targetTick; tick++) {
+            final Iterator<Entry<K>> iterator = buckets.get(bucketOf(tick)).iterator();
+            while (iterator.hasNext()) {
+                final Entry<K> entry = iterator.next();
+                if (entry.deadlineMillis <= nowMillis) {
+                    iterator.remove();
+                    size--;
+                    expired.add(entry.key);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int bucketOf(final long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineMillis;
+
+        private Entry(final K key, final long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -7,6 +7,7 @@ public class AppStateController {
     private State currentState;
     private Part requestedPart;
     private int targetBuild;
+    private String sessionToken;
 
     public AppStateController() {
         this.currentState = State.WELCOME;
@@ -45,4 +46,12 @@ public class AppStateController {
     public void setTargetBuild(final int targetBuild) {
         this.targetBuild = targetBuild;
     }
+
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    public void setSessionToken(final String sessionToken) {
+        this.sessionToken = sessionToken;
+    }
 }
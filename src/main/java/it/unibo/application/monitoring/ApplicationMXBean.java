@@ -0,0 +1,15 @@
+package it.unibo.application.monitoring;
+
+// Sessions and write activity, registered as it.unibo.partpicker:type=Application.
+public interface ApplicationMXBean {
+
+    int getActiveSessions();
+
+    long getBuildUploads();
+
+    long getBuildUploadsLastMinute();
+
+    long getReviewWrites();
+
+    long getReviewWritesLastMinute();
+}
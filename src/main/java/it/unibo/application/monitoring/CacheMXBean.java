@@ -0,0 +1,20 @@
+package it.unibo.application.monitoring;
+
+// An in-memory cache or index, registered as it.unibo.partpicker:type=Cache,name=<name>.
+// Caches that cannot be emptied or reloaded throw UnsupportedOperationException.
+public interface CacheMXBean {
+
+    String getName();
+
+    long getSize();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRate();
+
+    void flush();
+
+    void reload();
+}
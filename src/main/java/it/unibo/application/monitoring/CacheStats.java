@@ -0,0 +1,19 @@
+package it.unibo.application.monitoring;
+
+// Size and effectiveness of an in-memory cache or index, as shown on the operations
+// panel.
+public interface CacheStats {
+
+    String getCacheName();
+
+    long getSize();
+
+    long getHits();
+
+    long getMisses();
+
+    default double getHitRate() {
+        final long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0 : (double) getHits() / lookups;
+    }
+}
@@ -0,0 +1,15 @@
+package it.unibo.application.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("partpicker.ChartBuild")
+@Label("Chart Build")
+@Category({ "PartPicker", "Swing" })
+@StackTrace(false)
+public final class ChartBuildEvent extends jdk.jfr.Event {
+    @Label("Points")
+    public int points;
+}
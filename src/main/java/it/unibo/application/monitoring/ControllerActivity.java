@@ -0,0 +1,74 @@
+package it.unibo.application.monitoring;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Which Controller method each thread is running, readable from other threads, and
+// the call that spent the most time in itself (not in nested calls) since the thread
+// last asked. The EdtWatchdog uses both to attribute a stall of the event dispatch
+// thread to a controller call.
+public final class ControllerActivity {
+    private static final Map<Thread, String> ACTIVE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Calls> CALLS = ThreadLocal.withInitial(Calls::new);
+
+    private ControllerActivity() {
+    }
+
+    // Marks the start of a call; nested calls show up as "outer > inner".
+    public static void enter(final String method) {
+        final Calls calls = CALLS.get();
+        final String path = calls.depth == 0 ? method : calls.paths[calls.depth - 1] + " > " + method;
+        calls.push(path);
+        ACTIVE.put(Thread.currentThread(), path);
+    }
+
+    public static void exit(final long elapsedNanos) {
+        final Calls calls = CALLS.get();
+        calls.depth--;
+        final String path = calls.paths[calls.depth];
+        final long selfNanos = elapsedNanos - calls.nestedNanos[calls.depth];
+        if (calls.depth == 0) {
+            ACTIVE.remove(Thread.currentThread());
+        } else {
+            calls.nestedNanos[calls.depth - 1] += elapsedNanos;
+            ACTIVE.put(Thread.currentThread(), calls.paths[calls.depth - 1]);
+        }
+        if (selfNanos > calls.slowestNanos) {
+            calls.slowestNanos = selfNanos;
+            calls.slowest = path;
+        }
+    }
+
+    public static String current(final Thread thread) {
+        return ACTIVE.get(thread);
+    }
+
+    // The call with the most self time completed by the current thread since the
+    // last call to this method, or null.
+    public static String takeSlowest() {
+        final Calls calls = CALLS.get();
+        final String slowest = calls.slowest;
+        calls.slowest = null;
+        calls.slowestNanos = 0;
+        return slowest;
+    }
+
+    private static final class Calls {
+        private String[] paths = new String[8];
+        private long[] nestedNanos = new long[8];
+        private int depth;
+        private String slowest;
+        private long slowestNanos;
+
+        void push(final String path) {
+            if (depth == paths.length) {
+                paths = Arrays.copyOf(paths, depth * 2);
+                nestedNanos = Arrays.copyOf(nestedNanos, depth * 2);
+            }
+            paths[depth] = path;
+            nestedNanos[depth] = 0;
+            depth++;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package it.unibo.application.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("partpicker.ControllerCall")
+@Label("Controller Call")
+@Category({ "PartPicker", "Controller" })
+@StackTrace(false)
+public final class ControllerCallEvent extends jdk.jfr.Event {
+    @Label("Method")
+    public String method;
+}
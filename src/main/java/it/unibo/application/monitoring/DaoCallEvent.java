@@ -0,0 +1,22 @@
+package it.unibo.application.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One statement execution, from executeQuery/executeUpdate until its result set is
+// closed, so reading and mapping the rows is included.
+@Name("partpicker.DaoCall")
+@Label("DAO Call")
+@Category({ "PartPicker", "Database" })
+@Description("Execution of a prepared statement and the reading of its rows")
+@StackTrace(false)
+public final class DaoCallEvent extends jdk.jfr.Event {
+    @Label("Query")
+    public String query;
+
+    @Label("Rows")
+    public long rows;
+}
@@ -0,0 +1,52 @@
+package it.unibo.application.monitoring;
+
+import java.time.Instant;
+
+// One period in which the event dispatch thread was busy for longer than the
+// watchdog threshold.
+public final class EdtStall {
+    private final Instant time;
+    private final String event;
+    private final String controllerMethod;
+    private final long nanos;
+    private final StackTraceElement[] stack;
+
+    EdtStall(final Instant time, final String event, final String controllerMethod, final long nanos,
+            final StackTraceElement[] stack) {
+        this.time = time;
+        this.event = event;
+        this.controllerMethod = controllerMethod;
+        this.nanos = nanos;
+        this.stack = stack;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    // The AWT event being dispatched, e.g. MOUSE_RELEASED on JButton "Save".
+    public String getEvent() {
+        return event;
+    }
+
+    // The Controller call in progress, null if the time went elsewhere.
+    public String getControllerMethod() {
+        return controllerMethod;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    // The stack of the event dispatch thread while it was stalled, or an empty array
+    // if the stall ended before the watchdog sampled it.
+    public StackTraceElement[] getStack() {
+        return stack.clone();
+    }
+
+    // What the stall is ranked under: the controller call if there is one, the event
+    // otherwise.
+    public String getCulprit() {
+        return controllerMethod != null ? controllerMethod : event;
+    }
+}
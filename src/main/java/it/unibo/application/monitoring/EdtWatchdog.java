@@ -0,0 +1,209 @@
+package it.unibo.application.monitoring;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.swing.AbstractButton;
+
+// Measures how long the event dispatch thread stays busy between two waits for the
+// next event. The time spent waiting inside the loop of a modal dialog is therefore
+// not counted, only the work done in listeners. When a busy period passes the
+// threshold a sampler thread captures the stack of the EDT and the Controller call
+// in progress; the stall is logged and kept in a rolling history from which the
+// worst offenders are ranked.
+//
+//     partpicker.edt.watchdog     false turns the watchdog off
+//     partpicker.edt.stallMillis  stall threshold, 200 ms by default
+//
+public final class EdtWatchdog extends EventQueue {
+    private static final Logger LOGGER = Logger.getLogger(EdtWatchdog.class.getName());
+    private static final int HISTORY_SIZE = 512;
+    private static final int LOGGED_FRAMES = 12;
+    private static EdtWatchdog installed;
+
+    private final long thresholdNanos;
+    private final ScheduledExecutorService sampler;
+    private final EdtStall[] history = new EdtStall[HISTORY_SIZE];
+    private int historyNext;
+    private long stallCount;
+
+    // Written by the event dispatch thread, read by the sampler.
+    private volatile Thread dispatchThread;
+    private volatile long busySince;
+    private volatile long busyPeriod;
+    // Written by the sampler, read by the event dispatch thread.
+    private volatile long sampledPeriod = -1;
+    private volatile StackTraceElement[] sampledStack;
+    private volatile String sampledMethod;
+    // Only used by the event dispatch thread.
+    private AWTEvent currentEvent;
+
+    private EdtWatchdog(final long thresholdNanos) {
+        this.thresholdNanos = thresholdNanos;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "edt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized void installIfEnabled() {
+        if (installed != null || "false".equalsIgnoreCase(System.getProperty("partpicker.edt.watchdog"))) {
+            return;
+        }
+        final long threshold = TimeUnit.MILLISECONDS.toNanos(Long.getLong("partpicker.edt.stallMillis", 200));
+        installed = new EdtWatchdog(threshold);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(installed);
+        final long period = Math.max(TimeUnit.MILLISECONDS.toNanos(5), threshold / 4);
+        installed.sampler.scheduleAtFixedRate(installed::sample, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    // The installed watchdog, or null if it is disabled.
+    public static synchronized EdtWatchdog get() {
+        return installed;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        endBusyPeriod();
+        final AWTEvent event = super.getNextEvent();
+        dispatchThread = Thread.currentThread();
+        currentEvent = event;
+        ControllerActivity.takeSlowest();
+        busyPeriod++;
+        busySince = System.nanoTime();
+        return event;
+    }
+
+    private void endBusyPeriod() {
+        final long since = busySince;
+        if (since == 0) {
+            return;
+        }
+        busySince = 0;
+        final long elapsed = System.nanoTime() - since;
+        final String slowest = ControllerActivity.takeSlowest();
+        if (elapsed < thresholdNanos) {
+            return;
+        }
+        final boolean sampled = sampledPeriod == busyPeriod;
+        final String method = sampled && sampledMethod != null ? sampledMethod : slowest;
+        final StackTraceElement[] stack = sampled ? sampledStack : new StackTraceElement[0];
+        record(new EdtStall(Instant.now(), describe(currentEvent), method, elapsed, stack));
+    }
+
+    // Runs on the sampler thread.
+    private void sample() {
+        final long since = busySince;
+        final long period = busyPeriod;
+        if (since == 0 || sampledPeriod == period || System.nanoTime() - since < thresholdNanos) {
+            return;
+        }
+        final Thread thread = dispatchThread;
+        sampledMethod = ControllerActivity.current(thread);
+        sampledStack = thread.getStackTrace();
+        sampledPeriod = period;
+    }
+
+    private void record(final EdtStall stall) {
+        synchronized (history) {
+            history[historyNext] = stall;
+            historyNext = (historyNext + 1) % HISTORY_SIZE;
+            stallCount++;
+        }
+        LOGGER.warning(() -> {
+            final StringBuilder message = new StringBuilder(String.format(Locale.ROOT,
+                "EDT stalled for %d ms by %s during %s", TimeUnit.NANOSECONDS.toMillis(stall.getNanos()),
+                stall.getControllerMethod() == null ? "no controller call" : stall.getControllerMethod(),
+                stall.getEvent()));
+            final StackTraceElement[] stack = stall.getStack();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, stack.length); i++) {
+                message.append("\n\tat ").append(stack[i]);
+            }
+            return message.toString();
+        });
+    }
+
+    public long getStallCount() {
+        synchronized (history) {
+            return stallCount;
+        }
+    }
+
+    // The most recent stalls, newest first.
+    public List<EdtStall> getRecentStalls() {
+        final List<EdtStall> stalls = new ArrayList<>();
+        synchronized (history) {
+            for (int i = 1; i <= HISTORY_SIZE; i++) {
+                final EdtStall stall = history[(historyNext - i + HISTORY_SIZE) % HISTORY_SIZE];
+                if (stall == null) {
+                    break;
+                }
+                stalls.add(stall);
+            }
+        }
+        return stalls;
+    }
+
+    // The culprits of the stalls in the history, the most total blocked time first.
+    public List<StallOffender> getWorstOffenders(final int limit) {
+        final Map<String, StallOffender> offenders = new HashMap<>();
+        for (final EdtStall stall : getRecentStalls()) {
+            offenders.computeIfAbsent(stall.getCulprit(), StallOffender::new).add(stall);
+        }
+        final List<StallOffender> ranking = new ArrayList<>(offenders.values());
+        ranking.sort(Comparator.comparingLong(StallOffender::getTotalNanos).reversed());
+        return ranking.subList(0, Math.min(limit, ranking.size()));
+    }
+
+    public String report(final int limit) {
+        final StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+            "%d EDT stalls over %d ms%n%-60s %6s %10s %10s%n", getStallCount(), getThresholdMillis(),
+            "culprit", "count", "total ms", "max ms"));
+        for (final StallOffender offender : getWorstOffenders(limit)) {
+            report.append(String.format(Locale.ROOT, "%-60s %6d %10d %10d%n", offender.getCulprit(),
+                offender.getCount(), TimeUnit.NANOSECONDS.toMillis(offender.getTotalNanos()),
+                TimeUnit.NANOSECONDS.toMillis(offender.getMaxNanos())));
+        }
+        return report.toString();
+    }
+
+    public static void logReport() {
+        final EdtWatchdog watchdog = get();
+        if (watchdog != null && watchdog.getStallCount() > 0) {
+            LOGGER.info(() -> "Worst EDT stalls:\n" + watchdog.report(10));
+        }
+    }
+
+    private static String describe(final AWTEvent event) {
+        if (event == null) {
+            return "unknown event";
+        }
+        final String params = event.paramString();
+        final int comma = params.indexOf(',');
+        final String type = comma < 0 ? params : params.substring(0, comma);
+        final Object source = event.getSource();
+        String description = (type.isEmpty() ? event.getClass().getSimpleName() : type)
+            + " on " + (source == null ? "null" : source.getClass().getSimpleName());
+        if (source instanceof AbstractButton && ((AbstractButton) source).getText() != null) {
+            description += " \"" + ((AbstractButton) source).getText() + "\"";
+        }
+        return description;
+    }
+}
@@ -0,0 +1,50 @@
+package it.unibo.application.monitoring;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+// Starts a Flight Recorder recording when the application is launched with
+// -Dpartpicker.jfr=<file>. The JDK "profile" settings are combined with the bundled
+// partpicker.jfc, which enables the PartPicker events, and the recording is written
+// to the file when the JVM exits:
+//
+//     ./gradlew run -Dpartpicker.jfr=build/partpicker.jfr
+//     jfr print --categories PartPicker build/partpicker.jfr
+//
+public final class FlightRecording {
+    private static final String SETTINGS = "/partpicker.jfc";
+
+    private FlightRecording() {
+    }
+
+    public static void startIfRequested() {
+        final String destination = System.getProperty("partpicker.jfr");
+        if (destination == null || destination.isBlank()) {
+            return;
+        }
+        try {
+            final Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("profile").getSettings());
+            try (Reader reader = new InputStreamReader(
+                    FlightRecording.class.getResourceAsStream(SETTINGS), StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+            final Recording recording = new Recording(settings);
+            recording.setName("PartPicker");
+            recording.setToDisk(true);
+            recording.setDestination(Path.of(destination));
+            recording.setDumpOnExit(true);
+            recording.start();
+        } catch (final IOException | ParseException e) {
+            e.printStackTrace();
+        }
+    }
+}
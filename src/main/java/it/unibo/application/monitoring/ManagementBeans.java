@@ -0,0 +1,275 @@
+package it.unibo.application.monitoring;
+
+import it.unibo.application.data.monitoring.LatencyHistogram;
+import it.unibo.application.data.monitoring.QueryMetrics;
+import it.unibo.application.data.monitoring.QueryStats;
+import it.unibo.application.data.monitoring.SlowQuery;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Registers the application's MXBeans on the platform MBean server, under the
+// it.unibo.partpicker domain, so that jconsole or a JMX scraper can read query, cache
+// and session figures and change the slow query threshold at run time. Beans left by
+// an earlier instance are replaced; close() unregisters everything registered here.
+//
+//     partpicker.jmx   false registers nothing
+//
+public final class ManagementBeans implements AutoCloseable {
+    public static final String DOMAIN = "it.unibo.partpicker";
+    private static final Logger LOGGER = Logger.getLogger(ManagementBeans.class.getName());
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("partpicker.jmx"));
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    // The instrumentation settings and one bean per Queries constant. Queries that
+    // have not run yet report zeros.
+    public void registerQueries() {
+        register("type=QueryMetrics", new QueryMetricsBean());
+        for (final String name : QueryMetrics.getQueryNames()) {
+            register("type=Query,name=" + name, new QueryBean(QueryMetrics.statsFor(name)));
+        }
+    }
+
+    // flush and reload may be null for caches that do not support them.
+    public void registerCache(final CacheStats cache, final Runnable flush, final Runnable reload) {
+        register("type=Cache,name=" + ObjectName.quote(cache.getCacheName()), new CacheBean(cache, flush, reload));
+    }
+
+    public void registerApplication(final IntSupplier activeSessions, final RateMeter buildUploads,
+            final RateMeter reviewWrites) {
+        register("type=Application", new ApplicationBean(activeSessions, buildUploads, reviewWrites));
+    }
+
+    @Override
+    public void close() {
+        for (final ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (final JMException e) {
+                LOGGER.log(Level.FINE, "Could not unregister " + name, e);
+            }
+        }
+        registered.clear();
+    }
+
+    // Monitoring must not keep the application from starting, so failures are logged.
+    private void register(final String properties, final Object bean) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            final ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(bean, name);
+            registered.add(name);
+        } catch (final JMException e) {
+            LOGGER.log(Level.WARNING, "Could not register MBean " + properties, e);
+        }
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class QueryBean implements QueryMXBean {
+        private final QueryStats stats;
+
+        QueryBean(final QueryStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public String getName() {
+            return stats.getName();
+        }
+
+        @Override
+        public long getCount() {
+            return stats.getCount();
+        }
+
+        @Override
+        public long getRows() {
+            return stats.getRows();
+        }
+
+        @Override
+        public long getErrors() {
+            return stats.getErrors();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return millis(latency().getMeanNanos());
+        }
+
+        @Override
+        public double getP50Millis() {
+            return millis(latency().getPercentileNanos(0.5));
+        }
+
+        @Override
+        public double getP99Millis() {
+            return millis(latency().getPercentileNanos(0.99));
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return millis(latency().getMaxNanos());
+        }
+
+        private LatencyHistogram latency() {
+            return stats.getLatency();
+        }
+    }
+
+    private static final class QueryMetricsBean implements QueryMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return QueryMetrics.isEnabled();
+        }
+
+        @Override
+        public int getOpenStatements() {
+            return QueryMetrics.getOpenStatements();
+        }
+
+        @Override
+        public long getSlowQueryThresholdMillis() {
+            return QueryMetrics.getSlowQueryThresholdMillis();
+        }
+
+        @Override
+        public void setSlowQueryThresholdMillis(final long millis) {
+            if (millis < 0) {
+                throw new IllegalArgumentException("The threshold cannot be negative: " + millis);
+            }
+            QueryMetrics.setSlowQueryThresholdMillis(millis);
+        }
+
+        @Override
+        public String[] getRecentSlowQueries() {
+            final List<SlowQuery> slowQueries = QueryMetrics.getRecentSlowQueries();
+            final String[] lines = new String[slowQueries.size()];
+            for (int i = 0; i < lines.length; i++) {
+                final SlowQuery slowQuery = slowQueries.get(i);
+                lines[i] = slowQuery.getTime() + " " + slowQuery.getQuery() + " "
+                    + TimeUnit.NANOSECONDS.toMillis(slowQuery.getNanos()) + " ms " + slowQuery.getParameters();
+            }
+            return lines;
+        }
+
+        @Override
+        public String report() {
+            return QueryMetrics.report();
+        }
+
+        @Override
+        public void resetStatistics() {
+            QueryMetrics.reset();
+        }
+    }
+
+    private static final class CacheBean implements CacheMXBean {
+        private final CacheStats cache;
+        private final Runnable flush;
+        private final Runnable reload;
+
+        CacheBean(final CacheStats cache, final Runnable flush, final Runnable reload) {
+            this.cache = cache;
+            this.flush = flush;
+            this.reload = reload;
+        }
+
+        @Override
+        public String getName() {
+            return cache.getCacheName();
+        }
+
+        @Override
+        public long getSize() {
+            return cache.getSize();
+        }
+
+        @Override
+        public long getHits() {
+            return cache.getHits();
+        }
+
+        @Override
+        public long getMisses() {
+            return cache.getMisses();
+        }
+
+        @Override
+        public double getHitRate() {
+            return cache.getHitRate();
+        }
+
+        @Override
+        public void flush() {
+            if (flush == null) {
+                throw new UnsupportedOperationException(cache.getCacheName() + " cannot be flushed");
+            }
+            flush.run();
+        }
+
+        @Override
+        public void reload() {
+            if (reload == null) {
+                throw new UnsupportedOperationException(cache.getCacheName() + " cannot be reloaded");
+            }
+            reload.run();
+        }
+    }
+
+    private static final class ApplicationBean implements ApplicationMXBean {
+        private final IntSupplier activeSessions;
+        private final RateMeter buildUploads;
+        private final RateMeter reviewWrites;
+
+        ApplicationBean(final IntSupplier activeSessions, final RateMeter buildUploads, final RateMeter reviewWrites) {
+            this.activeSessions = activeSessions;
+            this.buildUploads = buildUploads;
+            this.reviewWrites = reviewWrites;
+        }
+
+        @Override
+        public int getActiveSessions() {
+            return activeSessions.getAsInt();
+        }
+
+        @Override
+        public long getBuildUploads() {
+            return buildUploads.getCount();
+        }
+
+        @Override
+        public long getBuildUploadsLastMinute() {
+            return buildUploads.getLastMinuteCount();
+        }
+
+        @Override
+        public long getReviewWrites() {
+            return reviewWrites.getCount();
+        }
+
+        @Override
+        public long getReviewWritesLastMinute() {
+            return reviewWrites.getLastMinuteCount();
+        }
+    }
+}
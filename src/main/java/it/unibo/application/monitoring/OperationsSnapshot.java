@@ -0,0 +1,75 @@
+package it.unibo.application.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+import it.unibo.application.data.monitoring.QueryMetrics;
+import it.unibo.application.data.monitoring.QueryStats;
+import it.unibo.application.data.monitoring.SlowQuery;
+
+// The figures of the operations panel, gathered in one go. The query, cache and
+// stall objects are live counters, so the snapshot is meant to be read right away
+// by the thread that took it, not kept.
+public final class OperationsSnapshot {
+    private static final int OFFENDERS = 10;
+
+    private final PoolStats pool;
+    private final int activeSessions;
+    private final int openStatements;
+    private final MemoryUsage heap;
+    private final List<QueryStats> queries;
+    private final List<CacheStats> caches;
+    private final List<SlowQuery> slowQueries;
+    private final long stallCount;
+    private final List<StallOffender> stallOffenders;
+
+    public OperationsSnapshot(final PoolStats pool, final int activeSessions, final List<CacheStats> caches) {
+        final EdtWatchdog watchdog = EdtWatchdog.get();
+        this.pool = pool;
+        this.activeSessions = activeSessions;
+        this.openStatements = QueryMetrics.getOpenStatements();
+        this.heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        this.queries = QueryMetrics.getStats();
+        this.caches = List.copyOf(caches);
+        this.slowQueries = QueryMetrics.getRecentSlowQueries();
+        this.stallCount = watchdog == null ? 0 : watchdog.getStallCount();
+        this.stallOffenders = watchdog == null ? List.of() : watchdog.getWorstOffenders(OFFENDERS);
+    }
+
+    public PoolStats getPool() {
+        return pool;
+    }
+
+    public int getActiveSessions() {
+        return activeSessions;
+    }
+
+    public int getOpenStatements() {
+        return openStatements;
+    }
+
+    public MemoryUsage getHeap() {
+        return heap;
+    }
+
+    public List<QueryStats> getQueries() {
+        return queries;
+    }
+
+    public List<CacheStats> getCaches() {
+        return caches;
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries;
+    }
+
+    public long getStallCount() {
+        return stallCount;
+    }
+
+    public List<StallOffender> getStallOffenders() {
+        return stallOffenders;
+    }
+}
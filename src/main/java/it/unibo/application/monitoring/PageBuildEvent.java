@@ -0,0 +1,24 @@
+package it.unibo.application.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// A page switch in View: the construction of the page, which is where the pages load
+// their data, followed by the layout of the frame.
+@Name("partpicker.PageBuild")
+@Label("Page Build")
+@Category({ "PartPicker", "Swing" })
+@Description("Construction and layout of a page when the application state changes")
+@StackTrace(false)
+public final class PageBuildEvent extends jdk.jfr.Event {
+    @Label("State")
+    public String state;
+
+    @Label("Construction")
+    @Timespan(Timespan.NANOSECONDS)
+    public long construction;
+}
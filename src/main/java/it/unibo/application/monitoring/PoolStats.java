@@ -0,0 +1,16 @@
+package it.unibo.application.monitoring;
+
+// Usage of the database connections.
+public interface PoolStats {
+
+    int getTotalConnections();
+
+    int getActiveConnections();
+
+    // Threads waiting for a connection to become free.
+    int getWaitingThreads();
+
+    default int getIdleConnections() {
+        return getTotalConnections() - getActiveConnections();
+    }
+}
@@ -0,0 +1,22 @@
+package it.unibo.application.monitoring;
+
+// One query of Queries, registered as it.unibo.partpicker:type=Query,name=<constant>.
+// Latencies are in milliseconds.
+public interface QueryMXBean {
+
+    String getName();
+
+    long getCount();
+
+    long getRows();
+
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
@@ -0,0 +1,21 @@
+package it.unibo.application.monitoring;
+
+// Settings and totals of the query instrumentation, registered as
+// it.unibo.partpicker:type=QueryMetrics.
+public interface QueryMetricsMXBean {
+
+    boolean isEnabled();
+
+    int getOpenStatements();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    // The most recent slow queries, newest first.
+    String[] getRecentSlowQueries();
+
+    String report();
+
+    void resetStatistics();
+}
@@ -0,0 +1,45 @@
+package it.unibo.application.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts events in total and over the last minute, in one second slots. A slot is
+// reset by the first event of a new second, so the per minute figure can miss the
+// odd concurrent event at a second boundary; it is meant for dashboards.
+public final class RateMeter {
+    private static final int SLOTS = 60;
+
+    private final LongAdder total = new LongAdder();
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray seconds = new AtomicLongArray(SLOTS);
+
+    public void mark() {
+        total.increment();
+        final long second = currentSecond();
+        final int slot = (int) (second % SLOTS);
+        final long stamp = seconds.get(slot);
+        if (stamp != second && seconds.compareAndSet(slot, stamp, second)) {
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getLastMinuteCount() {
+        final long oldest = currentSecond() - SLOTS;
+        long count = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (seconds.get(slot) > oldest) {
+                count += counts.get(slot);
+            }
+        }
+        return count;
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,41 @@
+package it.unibo.application.monitoring;
+
+// The stalls of one culprit aggregated over the watchdog history.
+public final class StallOffender {
+    private final String culprit;
+    private int count;
+    private long totalNanos;
+    private EdtStall worst;
+
+    StallOffender(final String culprit) {
+        this.culprit = culprit;
+    }
+
+    void add(final EdtStall stall) {
+        count++;
+        totalNanos += stall.getNanos();
+        if (worst == null || stall.getNanos() > worst.getNanos()) {
+            worst = stall;
+        }
+    }
+
+    public String getCulprit() {
+        return culprit;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return worst.getNanos();
+    }
+
+    public EdtStall getWorst() {
+        return worst;
+    }
+}
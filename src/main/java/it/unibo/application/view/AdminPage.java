@@ -17,11 +17,13 @@ import it.unibo.application.view.insertion.StorageInsertDialog;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
 
 public class AdminPage extends JPanel {
     private final JComboBox<Part> partComboBox;
     private final JButton addButton;
     private final JButton backButton;
+    private final JButton rebuildStatsButton;
 
     public AdminPage(final Controller controller) {
 
@@ -83,11 +85,50 @@ public class AdminPage extends JPanel {
                 }
             }
         });
+        rebuildStatsButton = new JButton("Rebuild Review Stats");
+        rebuildStatsButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                rebuildReviewStats(controller);
+            }
+        });
+
         mainPanel.add(new JLabel("Select type of component to add:"));
         mainPanel.add(partComboBox);
         mainPanel.add(addButton);
+        mainPanel.add(rebuildStatsButton);
+
+        final JPanel centerPanel = new JPanel(new BorderLayout());
+        centerPanel.add(mainPanel, BorderLayout.NORTH);
+        centerPanel.add(new OperationsPanel(controller), BorderLayout.CENTER);
 
         add(backButtonPanel, BorderLayout.PAGE_START);
-        add(mainPanel, BorderLayout.CENTER);
+        add(centerPanel, BorderLayout.CENTER);
+    }
+
+    // Rebuilds both projections from every review, which takes a while on a large
+    // database: it runs on a SwingWorker thread, with the button disabled until it ends.
+    private void rebuildReviewStats(final Controller controller) {
+        rebuildStatsButton.setEnabled(false);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                controller.rebuildAuthorStats();
+                controller.rebuildReviewSummaries();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                rebuildStatsButton.setEnabled(true);
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(AdminPage.this, "Review statistics rebuilt");
+                } catch (final InterruptedException | ExecutionException e) {
+                    JOptionPane.showMessageDialog(AdminPage.this, "Could not rebuild the review statistics: "
+                        + e.getCause(), "Rebuild Review Stats", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 }
\ No newline at end of file
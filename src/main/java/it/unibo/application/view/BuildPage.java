@@ -1,9 +1,10 @@
 package it.unibo.application.view;
 
 import it.unibo.application.controller.Controller;
-import it.unibo.application.data.entities.ban.Ban;
+import it.unibo.application.data.entities.builds.AuthorStats;
 import it.unibo.application.data.entities.builds.Build;
 import it.unibo.application.data.entities.builds.Review;
+import it.unibo.application.data.entities.builds.ReviewSummary;
 import it.unibo.application.data.entities.components.Component;
 import it.unibo.application.data.entities.login.User;
 import it.unibo.application.data.entities.price.ComponentPrice;
@@ -11,7 +12,6 @@ import it.unibo.application.data.entities.price.ComponentPrice;
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
-import java.util.List;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
@@ -43,8 +43,10 @@ public class BuildPage extends JPanel {
         if (build != null) {
             mainPanel.add(createInfoPanel(build), BorderLayout.NORTH);
             mainPanel.add(createComponentsAndCommentsPanel(build), BorderLayout.CENTER);
-            if (!build.getAuthor().equals(controller.getLoggedUser().getUsername())) {
-                mainPanel.add(createReviewButtonPanel(build), BorderLayout.SOUTH);
+            // The session may have expired since the page was opened.
+            final User loggedUser = controller.getLoggedUser();
+            if (loggedUser != null && !build.getAuthor().equals(loggedUser.getUsername())) {
+                mainPanel.add(createReviewButtonPanel(build, loggedUser), BorderLayout.SOUTH);
             }
         } else {
             mainPanel.add(new JLabel("Build not found"), BorderLayout.CENTER);
@@ -130,62 +132,31 @@ public class BuildPage extends JPanel {
 
     private JPanel createCommentsPanel(final Build build) {
         final JPanel commentsPanel = new JPanel(new BorderLayout());
-        commentsPanel.add(new JLabel("Comments:"), BorderLayout.NORTH);
-
-        final List<Review> reviews = controller.getReviewsByBuild(build.getBuildId());
-        final JPanel reviewsPanel = new JPanel();
-        reviewsPanel.setLayout(new BoxLayout(reviewsPanel, BoxLayout.Y_AXIS));
-        reviewsPanel.setBackground(Color.WHITE);
-
-        for (final Review review : reviews) {
-            reviewsPanel.add(createReviewPanel(review));
-            reviewsPanel.add(Box.createVerticalStrut(10));
+        final ReviewSummary summary = controller.getReviewSummary(build.getBuildId());
+
+        final JPanel headerPanel = new JPanel(new GridLayout(2, 1));
+        headerPanel.add(new JLabel(String.format("Comments: %d (average rating %.2f)",
+            summary.getReviewCount(), summary.getAverageRating())));
+        final StringBuilder histogram = new StringBuilder("Ratings:");
+        for (int rating = ReviewSummary.MIN_RATING; rating <= ReviewSummary.MAX_RATING; rating++) {
+            histogram.append("  ").append(rating).append(": ").append(summary.getCount(rating));
         }
+        headerPanel.add(new JLabel(histogram.toString()));
+        commentsPanel.add(headerPanel, BorderLayout.NORTH);
 
-        commentsPanel.add(new JScrollPane(reviewsPanel), BorderLayout.CENTER);
+        commentsPanel.add(new ReviewList(controller, build.getBuildId()), BorderLayout.CENTER);
         return commentsPanel;
     }
 
-    private JPanel createReviewPanel(final Review review) {
-        final JPanel reviewPanel = new JPanel(new BorderLayout());
-        reviewPanel.setBackground(new Color(245, 245, 245));
-        reviewPanel.setPreferredSize(new Dimension(500, 100));
-        reviewPanel.setMaximumSize(new Dimension(600, 120));
-
-        final JLabel userLabel = new JLabel(review.getUsername());
-        userLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        reviewPanel.add(userLabel, BorderLayout.NORTH);
-
-        final JPanel ratingAndDatePanel = new JPanel(new BorderLayout());
-        ratingAndDatePanel.setBackground(new Color(245, 245, 245));
-        final JLabel ratingLabel = new JLabel("Rating: " + review.getReviewRating());
-        ratingLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        ratingAndDatePanel.add(ratingLabel, BorderLayout.WEST);
-
-        final JLabel dateLabel = new JLabel(review.getLastEditDate().toString());
-        dateLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        dateLabel.setHorizontalAlignment(SwingConstants.RIGHT);
-        ratingAndDatePanel.add(dateLabel, BorderLayout.EAST);
-        reviewPanel.add(ratingAndDatePanel, BorderLayout.CENTER);
-
-        final JLabel commentLabel = new JLabel("<html><p style=\"width:400px;\">" + review.getComment() + "</p></html>");
-        commentLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        reviewPanel.add(commentLabel, BorderLayout.SOUTH);
-
-        return reviewPanel;
-    }
-
-    private JPanel createReviewButtonPanel(final Build build) {
+    private JPanel createReviewButtonPanel(final Build build, final User loggedUser) {
         final JPanel buttonPanel = new JPanel();
-        final String loggedInUsername = controller.getLoggedUser().getUsername();
-        final boolean hasReview = controller.getReviewsByBuild(build.getBuildId()).stream()
-                .anyMatch(r -> r.getUsername().equals(loggedInUsername));
+        final Review existingReview = controller.getReview(build.getBuildId(), loggedUser.getUsername());
 
-        final JButton reviewButton = new JButton(hasReview ? "Update Review" : "Insert Review");
+        final JButton reviewButton = new JButton(existingReview != null ? "Update Review" : "Insert Review");
         reviewButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(final ActionEvent e) {
-                showReviewDialog(build.getBuildId(), loggedInUsername, hasReview);
+                showReviewDialog(build.getBuildId(), existingReview);
             }
         });
 
@@ -194,6 +165,7 @@ public class BuildPage extends JPanel {
     }
 
     private void showUserDetails(final User user) {
+        final AuthorStats stats = controller.getAuthorStats(user.getUsername());
         final JPanel panel = new JPanel(new BorderLayout());
         final JTextArea textArea = new JTextArea();
         textArea.setEditable(false);
@@ -202,11 +174,14 @@ public class BuildPage extends JPanel {
                         "Registration Date: " + user.getSignUpDate() + "\n" +
                         "Email: " + user.getEmail() + "\n" +
                         "Moderator: " + (user.isModerator() ? "Yes" : "No") + "\n" +
-                        String.format("Average Rating: %.2f", controller.getUserRating(user.getUsername()))
+                        "Published Builds: " + stats.getBuildCount() + "\n" +
+                        "Reviews Received: " + stats.getReviewCount() + "\n" +
+                        String.format("Average Rating: %.2f", stats.getAverageRating())
         );
         panel.add(new JScrollPane(textArea), BorderLayout.CENTER);
 
-        if (controller.getLoggedUser().isModerator()) {
+        final User loggedUser = controller.getLoggedUser();
+        if (loggedUser != null && loggedUser.isModerator()) {
             final JButton banButton = new JButton("Ban User");
             banButton.addActionListener(new ActionListener() {
                 @Override
@@ -236,38 +211,36 @@ public class BuildPage extends JPanel {
             final String motive = motiveField.getText();
             final LocalDate endDate = "1 week".equals(banLength) ? LocalDate.now().plus(1, ChronoUnit.WEEKS) : null;
 
-            final Ban ban = new Ban(user.getUsername(), LocalDate.now(), endDate, motive, controller.getLoggedUser().getUsername());
-            controller.banUser(ban);
+            controller.banUser(user.getUsername(), endDate, motive);
         }
     }
 
-    private void showReviewDialog(final int buildId, final String username, final boolean isUpdate) {
+    private void showReviewDialog(final int buildId, final Review existingReview) {
         final JPanel panel = new JPanel(new GridLayout(3, 2));
         final JComboBox<Integer> ratingComboBox = new JComboBox<>();
         for (int i = 1; i <= 10; i++) {
             ratingComboBox.addItem(i);
         }
         final JTextArea commentField = new JTextArea();
+        if (existingReview != null) {
+            ratingComboBox.setSelectedItem(existingReview.getReviewRating());
+            commentField.setText(existingReview.getComment());
+        }
 
         panel.add(new JLabel("Rating:"));
         panel.add(ratingComboBox);
         panel.add(new JLabel("Comment:"));
         panel.add(new JScrollPane(commentField));
 
-        final int result = JOptionPane.showConfirmDialog(this, panel, isUpdate ? "Update Review" : "Insert Review", JOptionPane.OK_CANCEL_OPTION);
+        final int result = JOptionPane.showConfirmDialog(this, panel, existingReview != null ? "Update Review" : "Insert Review", JOptionPane.OK_CANCEL_OPTION);
 
         if (result == JOptionPane.OK_OPTION) {
             final int rating = (int) ratingComboBox.getSelectedItem();
             final String comment = commentField.getText();
-            final LocalDate date = LocalDate.now();
 
-            final Review review = new Review(buildId, username, rating, comment, date);
-            if (isUpdate) {
-                controller.updateReview(review);
-            } else {
-                controller.insertReview(review);
+            if (controller.upsertReview(buildId, rating, comment)) {
+                initializeUI();
             }
-            initializeUI();
         }
     }
 
@@ -1,13 +1,13 @@
 package it.unibo.application.view;
 
 import it.unibo.application.controller.Controller;
-import it.unibo.application.data.entities.builds.Build;
 import it.unibo.application.data.entities.compatibility.ComponentCompatibilityChecker;
 import it.unibo.application.data.entities.components.Component;
 import it.unibo.application.data.entities.enums.Part;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.ArrayList;
 import java.awt.*;
@@ -16,6 +16,10 @@ import javax.swing.border.TitledBorder;
 import java.awt.event.*;
 
 public class BuilderPage extends JPanel {
+    private static final int SUGGESTIONS_PER_PART = 3;
+    private static final Map<Part, String> SUGGESTED_PARTS = new EnumMap<>(Map.of(
+        Part.MOTHERBOARD, "Motherboard", Part.GPU, "GPU", Part.RAM, "RAM"));
+
     private final Controller controller;
     private final ComponentCompatibilityChecker ccc;
     private final JPanel mainPanel;
@@ -30,6 +34,8 @@ public class BuilderPage extends JPanel {
     private final JPanel bottomPanel;
     private final JLabel totalPriceLabel;
     private final JButton uploadBuildButton;
+    private final JLabel popularWithCpuLabel;
+    private final Map<Integer, Component> componentsById = new HashMap<>();
 
     private Component selectedCpu;
     private Component selectedCooler;
@@ -72,6 +78,19 @@ public class BuilderPage extends JPanel {
         this.ramPanel = createScrollablePanelWithAddRemove("RAM", rams);
         this.storagePanel = createScrollablePanelWithAddRemove("Storage", storage);
 
+        for (final List<Component> partComponents : List.of(motherboards, gpus, rams)) {
+            for (final Component component : partComponents) {
+                componentsById.put(component.getBaseInfo().getId(), component);
+            }
+        }
+        this.popularWithCpuLabel = new JLabel();
+        this.cpuPanel.add(popularWithCpuLabel, BorderLayout.CENTER);
+        final JComboBox<Component> cpuComboBox = getComboBox(cpuPanel);
+        if (cpuComboBox != null) {
+            cpuComboBox.addActionListener(e -> showPopularWithCpu((Component) cpuComboBox.getSelectedItem()));
+            showPopularWithCpu((Component) cpuComboBox.getSelectedItem());
+        }
+
         this.mainPanel.add(cpuPanel);
         this.mainPanel.add(coolerPanel);
         this.mainPanel.add(casePanel);
@@ -112,11 +131,9 @@ public class BuilderPage extends JPanel {
                     selectedRam.stream().allMatch(ram -> ccc.areRamMoboCompatible(ram, selectedMotherboard)) &&
                     selectedRam.stream().allMatch(ram -> ccc.checkCompatibility(ram, selectedCpu))) {
         
-                    int id = controller.getLatestBuildId() + 1;
-                    Build build = new Build(id, selectedCooler, selectedCase,
+                    controller.insertBuild(selectedCooler, selectedCase,
                         selectedPsu, selectedCpu, selectedMotherboard, selectedGpu,
-                        selectedRam, selectedStorage, controller.getLoggedUser().getUsername());
-                    controller.insertBuild(build, controller.getLoggedUser());
+                        selectedRam, selectedStorage);
         
                 } else {
                     JOptionPane.showMessageDialog(null,
@@ -348,6 +365,27 @@ public class BuilderPage extends JPanel {
         JOptionPane.showMessageDialog(this, details.toString(), "Component Details", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    // The motherboards, GPUs and RAM kits most often published with the CPU.
+    private void showPopularWithCpu(final Component cpu) {
+        final StringBuilder lines = new StringBuilder();
+        if (cpu != null) {
+            final Map<Part, int[]> partners = controller.getFrequentPartners(cpu.getBaseInfo().getId());
+            for (final Map.Entry<Part, String> part : SUGGESTED_PARTS.entrySet()) {
+                final List<String> names = new ArrayList<>();
+                for (final int id : partners.getOrDefault(part.getKey(), new int[0])) {
+                    final Component partner = componentsById.get(id);
+                    if (partner != null && names.size() < SUGGESTIONS_PER_PART) {
+                        names.add(partner.getBaseInfo().getName());
+                    }
+                }
+                if (!names.isEmpty()) {
+                    lines.append("<br>").append(part.getValue()).append(": ").append(String.join(", ", names));
+                }
+            }
+        }
+        popularWithCpuLabel.setText(lines.length() == 0 ? "" : "<html>Popular with this CPU:" + lines + "</html>");
+    }
+
     private void updateTotalPrice() {
         float totalPrice = 0;
         for (final JLabel priceLabel : comboBoxToPriceLabelMap.values()) {
@@ -364,6 +402,20 @@ public class BuilderPage extends JPanel {
         totalPriceLabel.setText("Total Price: €" + String.format("%.2f", totalPrice));
     }
 
+    @SuppressWarnings("unchecked")
+    private JComboBox<Component> getComboBox(final JPanel panel) {
+        for (final java.awt.Component comp : panel.getComponents()) {
+            if (comp instanceof JPanel) {
+                for (final java.awt.Component innerComp : ((JPanel) comp).getComponents()) {
+                    if (innerComp instanceof JComboBox) {
+                        return (JComboBox<Component>) innerComp;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
     private Component getSelectedComponent(final JPanel panel) {
         for (final java.awt.Component comp : panel.getComponents()) {
             if (comp instanceof JPanel) {
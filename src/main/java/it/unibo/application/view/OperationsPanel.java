@@ -0,0 +1,190 @@
+package it.unibo.application.view;
+
+import it.unibo.application.controller.Controller;
+import it.unibo.application.data.monitoring.LatencyHistogram;
+import it.unibo.application.data.monitoring.QueryStats;
+import it.unibo.application.data.monitoring.SlowQuery;
+import it.unibo.application.monitoring.CacheStats;
+import it.unibo.application.monitoring.OperationsSnapshot;
+import it.unibo.application.monitoring.PoolStats;
+import it.unibo.application.monitoring.StallOffender;
+
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+
+// Live operations figures for moderators: connections, heap, query latencies, caches,
+// slow queries and EDT stalls. A Swing timer asks for a snapshot every few seconds;
+// the snapshot is taken and turned into table rows on a SwingWorker thread, so the
+// EDT only swaps the rows in.
+public class OperationsPanel extends JPanel {
+    private static final int REFRESH_MILLIS = 2000;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final Controller controller;
+    private final Timer timer;
+    private final JLabel summaryLabel = new JLabel(" ");
+    private final DefaultTableModel queryModel = readOnlyModel("Query", "Count", "p50 ms", "p99 ms", "Max ms", "Rows", "Errors");
+    private final DefaultTableModel cacheModel = readOnlyModel("Cache", "Size", "Hits", "Misses", "Hit rate");
+    private final DefaultTableModel slowQueryModel = readOnlyModel("Time", "Query", "ms", "Parameters");
+    private final DefaultTableModel stallModel = readOnlyModel("Culprit", "Stalls", "Total ms", "Max ms");
+    private SwingWorker<Rows, Void> refresh;
+
+    public OperationsPanel(final Controller controller) {
+        this.controller = controller;
+        setLayout(new BorderLayout());
+        setBorder(BorderFactory.createTitledBorder("Operations"));
+
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(4, 4, 4, 4));
+        add(summaryLabel, BorderLayout.NORTH);
+
+        final JPanel tables = new JPanel(new GridLayout(2, 2, 6, 6));
+        tables.add(titled("Query latency", queryModel));
+        tables.add(titled("Caches", cacheModel));
+        tables.add(titled("Recent slow queries", slowQueryModel));
+        tables.add(titled("EDT stalls by culprit", stallModel));
+        add(tables, BorderLayout.CENTER);
+
+        timer = new Timer(REFRESH_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                refresh();
+            }
+        });
+        timer.setInitialDelay(0);
+    }
+
+    // The timer only runs while the panel is on screen.
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+        if (refresh != null && !refresh.isDone()) {
+            return;
+        }
+        refresh = new SwingWorker<Rows, Void>() {
+            @Override
+            protected Rows doInBackground() {
+                return new Rows(controller.getOperationsSnapshot());
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get().apply();
+                } catch (final InterruptedException | ExecutionException e) {
+                    summaryLabel.setText("Operations data unavailable: " + e.getCause());
+                }
+            }
+        };
+        refresh.execute();
+    }
+
+    private static DefaultTableModel readOnlyModel(final String... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(final int row, final int column) {
+                return false;
+            }
+        };
+    }
+
+    private static JComponent titled(final String title, final DefaultTableModel model) {
+        final JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        final JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createTitledBorder(title));
+        return scrollPane;
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.1f", nanos / NANOS_PER_MILLI);
+    }
+
+    // The contents of the panel, computed off the EDT.
+    private final class Rows {
+        private final String summary;
+        private final Object[][] queries;
+        private final Object[][] caches;
+        private final Object[][] slowQueries;
+        private final Object[][] stalls;
+
+        Rows(final OperationsSnapshot snapshot) {
+            final PoolStats pool = snapshot.getPool();
+            final long mb = 1024 * 1024;
+            summary = String.format("Connections %d/%d busy, %d waiting  |  Open statements %d  |  Sessions %d"
+                + "  |  Heap %d/%d MB (max %d)  |  EDT stalls %d",
+                pool.getActiveConnections(), pool.getTotalConnections(), pool.getWaitingThreads(),
+                snapshot.getOpenStatements(), snapshot.getActiveSessions(),
+                snapshot.getHeap().getUsed() / mb, snapshot.getHeap().getCommitted() / mb, snapshot.getHeap().getMax() / mb,
+                snapshot.getStallCount());
+
+            final List<QueryStats> queryStats = snapshot.getQueries();
+            queries = new Object[queryStats.size()][];
+            for (int i = 0; i < queries.length; i++) {
+                final QueryStats stats = queryStats.get(i);
+                final LatencyHistogram latency = stats.getLatency();
+                queries[i] = new Object[] { stats.getName(), stats.getCount(), millis(latency.getPercentileNanos(0.5)),
+                    millis(latency.getPercentileNanos(0.99)), millis(latency.getMaxNanos()), stats.getRows(),
+                    stats.getErrors() };
+            }
+
+            final List<CacheStats> cacheStats = snapshot.getCaches();
+            caches = new Object[cacheStats.size()][];
+            for (int i = 0; i < caches.length; i++) {
+                final CacheStats cache = cacheStats.get(i);
+                caches[i] = new Object[] { cache.getCacheName(), cache.getSize(), cache.getHits(), cache.getMisses(),
+                    String.format("%.1f%%", cache.getHitRate() * 100) };
+            }
+
+            final List<SlowQuery> recentSlowQueries = snapshot.getSlowQueries();
+            slowQueries = new Object[recentSlowQueries.size()][];
+            for (int i = 0; i < slowQueries.length; i++) {
+                final SlowQuery slowQuery = recentSlowQueries.get(i);
+                slowQueries[i] = new Object[] {
+                    LocalTime.ofInstant(slowQuery.getTime(), ZoneId.systemDefault()).format(TIME_FORMAT),
+                    slowQuery.getQuery(), millis(slowQuery.getNanos()), slowQuery.getParameters() };
+            }
+
+            final List<StallOffender> offenders = snapshot.getStallOffenders();
+            stalls = new Object[offenders.size()][];
+            for (int i = 0; i < stalls.length; i++) {
+                final StallOffender offender = offenders.get(i);
+                stalls[i] = new Object[] { offender.getCulprit(), offender.getCount(),
+                    millis(offender.getTotalNanos()), millis(offender.getMaxNanos()) };
+            }
+        }
+
+        void apply() {
+            summaryLabel.setText(summary);
+            replaceRows(queryModel, queries);
+            replaceRows(cacheModel, caches);
+            replaceRows(slowQueryModel, slowQueries);
+            replaceRows(stallModel, stalls);
+        }
+
+        private void replaceRows(final DefaultTableModel model, final Object[][] rows) {
+            model.setRowCount(0);
+            for (final Object[] row : rows) {
+                model.addRow(row);
+            }
+        }
+    }
+}
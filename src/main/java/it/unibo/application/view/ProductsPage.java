@@ -5,6 +5,7 @@ import it.unibo.application.data.entities.components.BaseInfo;
 import it.unibo.application.data.entities.components.Component;
 import it.unibo.application.data.entities.enums.Specs;
 import it.unibo.application.data.entities.price.ComponentPrice;
+import it.unibo.application.monitoring.ChartBuildEvent;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -32,6 +33,8 @@ import java.time.ZoneId;
 
 public class ProductsPage extends JPanel {
 
+    private static final int MAX_LISTED_BUILDS = 20;
+
     private final Controller controller;
 
     public ProductsPage(final Controller controller) {
@@ -46,7 +49,8 @@ public class ProductsPage extends JPanel {
             return;
         }
 
-        final List<String> baseInfoColumns = List.of("ID", "Name", "Manufacturer", "Launch Year", "MSRP");
+        final List<String> baseInfoColumns = List.of("ID", "Name", "Manufacturer", "Launch Year", "MSRP", "Builds");
+        final Map<Integer, Integer> buildCounts = controller.countBuildsUsing(controller.getDesiredPart());
 
         final Map<Specs, String> firstComponentSpecs = components.get(0).getSpecificAttributes();
         final List<String> columnNames = new ArrayList<>(baseInfoColumns);
@@ -71,6 +75,7 @@ public class ProductsPage extends JPanel {
             rowData.add(baseInfo.getManufacturer());
             rowData.add(String.valueOf(baseInfo.getLaunchYear()));
             rowData.add(String.format("%.2f €", baseInfo.getMsrp()));
+            rowData.add(String.valueOf(buildCounts.getOrDefault(baseInfo.getId(), 0)));
 
             for (final Specs spec : firstComponentSpecs.keySet()) {
                 final String value = specs.getOrDefault(spec, "N/A");
@@ -103,11 +108,12 @@ public class ProductsPage extends JPanel {
 
         final List<ComponentPrice> amazonPrices = controller.getRecentComponentPricesByReseller("Amazon", baseInfo.getId());
         final List<ComponentPrice> ebayPrices = controller.getRecentComponentPricesByReseller("Ebay", baseInfo.getId());
+        final JLabel usedIn = new JLabel(describeBuilds(controller.getBuildIdsUsing(baseInfo.getId())));
 
         if (amazonPrices.isEmpty() && ebayPrices.isEmpty()) {
             JOptionPane.showMessageDialog(
                     this,
-                    "No price data available for chart.",
+                    new Object[] {"No price data available for chart.", usedIn},
                     "Price History",
                     JOptionPane.PLAIN_MESSAGE
             );
@@ -118,14 +124,32 @@ public class ProductsPage extends JPanel {
     
             JOptionPane.showMessageDialog(
                     this,
-                    chartPanel,
+                    new Object[] {chartPanel, usedIn},
                     "Price History",
                     JOptionPane.PLAIN_MESSAGE
             );
         }
     }
 
+    // "Used in 3 builds: #4, #9, #12", listing at most the first MAX_LISTED_BUILDS.
+    private static String describeBuilds(final int[] buildIds) {
+        if (buildIds.length == 0) {
+            return "Not used in any published build";
+        }
+        final StringBuilder text = new StringBuilder("Used in " + buildIds.length
+            + (buildIds.length == 1 ? " build: " : " builds: "));
+        for (int i = 0; i < Math.min(buildIds.length, MAX_LISTED_BUILDS); i++) {
+            text.append(i == 0 ? "#" : ", #").append(buildIds[i]);
+        }
+        if (buildIds.length > MAX_LISTED_BUILDS) {
+            text.append(", ...");
+        }
+        return text.toString();
+    }
+
     private JFreeChart createChart(final List<ComponentPrice> amazonPrices, final List<ComponentPrice> ebayPrices) {
+        final ChartBuildEvent event = new ChartBuildEvent();
+        event.begin();
         final XYSeries amazonSeries = new XYSeries("Amazon", false, false);
         final XYSeries ebaySeries = new XYSeries("eBay", false, false);
     
@@ -160,7 +184,9 @@ public class ProductsPage extends JPanel {
     
         final XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true, true);
         plot.setRenderer(renderer);
-    
+
+        event.points = amazonPrices.size() + ebayPrices.size();
+        event.commit();
         return chart;
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package it.unibo.application.view;
+
+import it.unibo.application.controller.Controller;
+import it.unibo.application.data.entities.builds.Review;
+
+import java.awt.*;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.AdjustmentListener;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+
+// Scrollable list of the reviews of a build. Reviews are fetched one page at a time
+// as the user scrolls, and the JList only paints the rows that are visible through
+// a single reused renderer, so a build with thousands of reviews costs the same to
+// open as one with a handful.
+public class ReviewList extends JScrollPane {
+    private static final int PAGE_SIZE = 50;
+    private static final int CELL_HEIGHT = 110;
+    private static final int PREFETCH_ROWS = 10;
+
+    private final Controller controller;
+    private final int buildId;
+    private final ReviewListModel listModel = new ReviewListModel();
+    private boolean exhausted;
+    private boolean loading;
+
+    public ReviewList(final Controller controller, final int buildId) {
+        this.controller = controller;
+        this.buildId = buildId;
+
+        final JList<Review> list = new JList<>(listModel);
+        list.setFixedCellHeight(CELL_HEIGHT);
+        list.setCellRenderer(new ReviewCellRenderer());
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setBackground(Color.WHITE);
+        this.setViewportView(list);
+
+        this.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
+            @Override
+            public void adjustmentValueChanged(final AdjustmentEvent e) {
+                final BoundedRangeModel range = getVerticalScrollBar().getModel();
+                if (range.getValue() + range.getExtent() >= range.getMaximum() - CELL_HEIGHT * PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (exhausted || loading) {
+            return;
+        }
+        loading = true;
+        try {
+            final String after = listModel.getSize() == 0 ? "" : listModel.getElementAt(listModel.getSize() - 1).getUsername();
+            final List<Review> page = controller.getReviewsPage(buildId, after, PAGE_SIZE);
+            exhausted = page.size() < PAGE_SIZE;
+            listModel.append(page);
+        } finally {
+            loading = false;
+        }
+    }
+
+    private static final class ReviewListModel extends AbstractListModel<Review> {
+        private final List<Review> reviews = new ArrayList<>();
+
+        @Override
+        public int getSize() {
+            return reviews.size();
+        }
+
+        @Override
+        public Review getElementAt(final int index) {
+            return reviews.get(index);
+        }
+
+        private void append(final List<Review> page) {
+            if (!page.isEmpty()) {
+                final int first = reviews.size();
+                reviews.addAll(page);
+                fireIntervalAdded(this, first, reviews.size() - 1);
+            }
+        }
+    }
+
+    private static final class ReviewCellRenderer extends JPanel implements ListCellRenderer<Review> {
+        private static final Color BACKGROUND = new Color(245, 245, 245);
+        private static final Color SELECTED_BACKGROUND = new Color(225, 230, 245);
+
+        private final JPanel ratingAndDatePanel = new JPanel(new BorderLayout());
+        private final JLabel userLabel = new JLabel();
+        private final JLabel ratingLabel = new JLabel();
+        private final JLabel dateLabel = new JLabel();
+        private final JLabel commentLabel = new JLabel();
+
+        ReviewCellRenderer() {
+            super(new BorderLayout());
+            this.setBorder(BorderFactory.createMatteBorder(0, 0, 10, 0, Color.WHITE));
+
+            userLabel.setFont(new Font("Arial", Font.BOLD, 14));
+            this.add(userLabel, BorderLayout.NORTH);
+
+            ratingLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+            ratingAndDatePanel.add(ratingLabel, BorderLayout.WEST);
+            dateLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+            dateLabel.setHorizontalAlignment(SwingConstants.RIGHT);
+            ratingAndDatePanel.add(dateLabel, BorderLayout.EAST);
+            this.add(ratingAndDatePanel, BorderLayout.CENTER);
+
+            commentLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+            this.add(commentLabel, BorderLayout.SOUTH);
+        }
+
+        @Override
+        public java.awt.Component getListCellRendererComponent(final JList<? extends Review> list, final Review review,
+                final int index, final boolean isSelected, final boolean cellHasFocus) {
+            final Color background = isSelected ? SELECTED_BACKGROUND : BACKGROUND;
+            this.setBackground(background);
+            ratingAndDatePanel.setBackground(background);
+            userLabel.setText(review.getUsername());
+            ratingLabel.setText("Rating: " + review.getReviewRating());
+            dateLabel.setText(review.getLastEditDate().toString());
+            commentLabel.setText("<html><p style=\"width:400px;\">" + review.getComment() + "</p></html>");
+            return this;
+        }
+    }
+}
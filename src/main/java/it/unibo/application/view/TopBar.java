@@ -22,7 +22,10 @@ public class TopBar extends JPanel {
 
         final JLabel currentUserLabel = new JLabel();
         final User currentUser = controller.getLoggedUser();
-        currentUserLabel.setText(currentUser.getUsername() + (currentUser.isModerator() ? " (Moderator)" : ""));
+        // The session may have expired since the page was opened.
+        if (currentUser != null) {
+            currentUserLabel.setText(currentUser.getUsername() + (currentUser.isModerator() ? " (Moderator)" : ""));
+        }
         currentUserLabel.setForeground(TEXT_COLOR);
 
         backButton.addActionListener(new ActionListener() {
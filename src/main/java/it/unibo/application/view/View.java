@@ -2,6 +2,8 @@ package it.unibo.application.view;
 
 import it.unibo.application.controller.Controller;
 import it.unibo.application.data.entities.enums.State;
+import it.unibo.application.monitoring.EdtWatchdog;
+import it.unibo.application.monitoring.PageBuildEvent;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,6 +16,8 @@ public class View {
     private static final String APP_NAME = "Part Picker";
     private static final Dimension SIZE = new Dimension(1280, 720);
     private final JFrame frame = new JFrame();
+    private final JProgressBar warmUpProgress = new JProgressBar();
+    private JComponent page;
     private Controller controller;
 
     public View() {
@@ -26,6 +30,7 @@ public class View {
 
         frame.addWindowListener(new WindowAdapter() {
             public void windowClosing(final WindowEvent e) {
+                EdtWatchdog.logReport();
                 if (controller != null) {
                     controller.closeConnection();
                 }
@@ -38,42 +43,101 @@ public class View {
     }
 
     public void switchPanel(final State state) {
-        this.frame.getContentPane().removeAll();
+        final PageBuildEvent event = new PageBuildEvent();
+        event.begin();
+        final long start = System.nanoTime();
         switch (state) {
             case WELCOME:
-                this.frame.add(new WelcomePage(controller));
+                showPage(new WelcomePage(controller));
                 break;
             case OVERVIEW:
-                this.frame.add(new OverviewPage(controller));
+                showPage(new OverviewPage(controller));
                 break;
             case BUILDING:
-                this.frame.add(new BuilderPage(controller));
+                showPage(new BuilderPage(controller));
                 break;
             case PRODUCTS:
-                this.frame.add(new ProductsPage(controller));
+                showPage(new ProductsPage(controller));
                 break;
             case VIEW_BUILD:
-                this.frame.add(new BuildPage(controller));
+                showPage(new BuildPage(controller));
                 break;
             case ADMIN:
-                this.frame.add(new AdminPage(controller));
+                showPage(new AdminPage(controller));
                 break;
             default:
                 break;
         }
+        final long construction = System.nanoTime() - start;
         this.frame.revalidate();
+        // Lay the page out now rather than on the next paint, so that the event covers it
+        if (event.isEnabled()) {
+            this.frame.validate();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.state = state.name();
+            event.construction = construction;
+            event.commit();
+        }
         frame.repaint();
     }
 
+    // Shows the window straight away; the welcome page replaces the placeholder once
+    // the database is connected.
     public void setUp() {
         frame.setTitle(APP_NAME);
         frame.setLocationRelativeTo(null);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setSize(SIZE);
-        frame.add(new WelcomePage(controller));
+        showPage(createStartupPanel());
         frame.setVisible(true);
     }
 
+    public void showStartupFailure(final Throwable error) {
+        JOptionPane.showMessageDialog(frame, "Could not connect to the database:\n" + error.getMessage(),
+            APP_NAME, JOptionPane.ERROR_MESSAGE);
+        frame.dispose();
+    }
+
+    // Shows the cache warm-up at the bottom of the window, whatever the page, until it
+    // is done. Called from the warm-up threads.
+    public void showWarmUpProgress(final int done, final int total) {
+        SwingUtilities.invokeLater(() -> {
+            if (done >= total) {
+                frame.getContentPane().remove(warmUpProgress);
+            } else {
+                warmUpProgress.setMaximum(total);
+                warmUpProgress.setValue(done);
+                warmUpProgress.setString("Loading catalog " + done + "/" + total);
+                warmUpProgress.setStringPainted(true);
+                frame.getContentPane().add(warmUpProgress, BorderLayout.SOUTH);
+            }
+            frame.revalidate();
+            frame.repaint();
+        });
+    }
+
+    // Replaces the current page, leaving the warm-up progress bar in place.
+    private void showPage(final JComponent newPage) {
+        if (page != null) {
+            frame.getContentPane().remove(page);
+        }
+        page = newPage;
+        frame.getContentPane().add(page, BorderLayout.CENTER);
+    }
+
+    private JComponent createStartupPanel() {
+        final JPanel startupPanel = new JPanel(new GridBagLayout());
+        final JPanel content = new JPanel(new BorderLayout(0, 8));
+        content.add(new JLabel("Connecting to the database...", SwingConstants.CENTER), BorderLayout.NORTH);
+        final JProgressBar connecting = new JProgressBar();
+        connecting.setIndeterminate(true);
+        content.add(connecting, BorderLayout.CENTER);
+        startupPanel.add(content);
+        return startupPanel;
+    }
+
     public void showDialog(final String message) {
         JOptionPane.showMessageDialog(null, message);
     }
@@ -0,0 +1,15 @@
+-- Indexes for the hot queries that the primary keys of PartPicker.sql do not serve.
+-- The foreign keys of PartPicker.sql need no migration: MySQL and H2 both index the
+-- referencing columns of a foreign key, so Build to its parts, Componenti to
+-- Produttori and Pubblicazioni to Utenti are already indexed.
+
+-- The primary key starts with NomeRivenditore, but the latest lowest price queries
+-- (FIND_RECENT_LOWEST_PRICE, GET_RECENT_LOWEST_PRICES) look prices up by component
+-- and latest date. Covering, so the price is read from the index.
+create index PrezziComponenti_Componente_Data
+	on PrezziComponenti (CodiceComponente, DataRilevamentoPrezzo, PrezzoComponente);
+
+-- The builds of an author, counted when StatisticheAutori is rebuilt, without reading
+-- the table rows.
+create index Pubblicazioni_Username_Build
+	on Pubblicazioni (Username, CodiceBuild, DataModificaBuild);
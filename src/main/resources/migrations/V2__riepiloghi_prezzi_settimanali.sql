@@ -0,0 +1,18 @@
+-- The cold tier of the price history. Scrapes older than the retention period are
+-- compacted by WeeklyPrice.DAO.compactBefore into one row per component, reseller
+-- and week (starting on Monday) and removed from PrezziComponenti, which keeps only
+-- the recent raw scrapes. The average is SommaPrezzi / NumeroRilevazioni, so that a
+-- week compacted in two runs still averages correctly.
+create table PrezziSettimanali (
+	CodiceComponente int not null,
+	NomeRivenditore varchar(255) not null,
+	InizioSettimana date not null,
+	PrezzoMinimo float not null,
+	PrezzoMassimo float not null,
+	SommaPrezzi double not null,
+	NumeroRilevazioni int not null,
+	constraint primary key (CodiceComponente, NomeRivenditore, InizioSettimana)
+);
+
+alter table PrezziSettimanali
+	add constraint foreign key (CodiceComponente) references Componenti (CodiceComponente);
@@ -0,0 +1,37 @@
+-- The review projections that AuthorStats and ReviewSummary keep up to date, for
+-- databases set up from a PartPicker.sql that predates them: building and review
+-- writes fail without these tables. A database set up from the current PartPicker.sql
+-- already has them, so they are only created if missing.
+create table if not exists StatisticheAutori (
+	Username varchar(255) not null,
+	NumeroBuild int not null default 0,
+	NumeroRecensioni int not null default 0,
+	SommaRating int not null default 0,
+	constraint primary key (Username),
+	foreign key (Username) references Utenti (Username)
+);
+
+create table if not exists DistribuzioneRecensioni (
+	CodiceBuild int not null,
+	RatingRecensione int not null,
+	NumeroRecensioni int not null default 0,
+	constraint primary key (CodiceBuild, RatingRecensione),
+	constraint chk_rating_distribuzione check (RatingRecensione between 1 and 10),
+	foreign key (CodiceBuild) references Build (CodiceBuild)
+);
+
+-- Backfilled the same way as Model.rebuildAuthorStats and rebuildReviewSummaries;
+-- rebuilding projections that are already there leaves them as they were.
+delete from StatisticheAutori;
+
+insert into StatisticheAutori (Username, NumeroBuild, NumeroRecensioni, SommaRating)
+select p.Username, count(distinct p.CodiceBuild), count(r.Username), coalesce(sum(r.RatingRecensione), 0)
+from Pubblicazioni p left join Recensioni r on r.CodiceBuild = p.CodiceBuild
+group by p.Username;
+
+delete from DistribuzioneRecensioni;
+
+insert into DistribuzioneRecensioni (CodiceBuild, RatingRecensione, NumeroRecensioni)
+select CodiceBuild, RatingRecensione, count(*)
+from Recensioni
+group by CodiceBuild, RatingRecensione;